@@ -6,9 +6,11 @@ import top.katton.network.ServerItemRenderMarkerManager;
 import top.katton.pack.ScriptPackManager;
 import top.katton.pack.ScriptPackScope;
 import top.katton.engine.ScriptEngine;
+import top.katton.engine.ScriptPackWatcher;
 import top.katton.engine.ScriptReloadManager;
 import top.katton.registry.KattonRegistry;
 import top.katton.util.Event;
+import top.katton.util.HandlerBudget;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -67,6 +69,7 @@ public class Katton {
         ScriptEngine.setCacheDirectory(gameDirectory == null ? null : gameDirectory.resolve(".katton").resolve("compiled-script-cache"));
         ScriptPackManager.INSTANCE.refreshGlobalPacks();
         ScriptReloadManager.initializeGlobalPacks();
+        ScriptEngine.warmUpInBackground();
         Path globalDir = ScriptPackManager.INSTANCE.getGlobalScriptDirectory();
         if (globalDir != null) {
             try {
@@ -84,10 +87,13 @@ public class Katton {
 
     /**
      * Clears world-scoped and server-cache-scoped event handlers.
-     * Called on world disconnect or server stop.
+     * Called on world disconnect or server stop, which also stops the pack watcher
+     * and the handler budget clock.
      * Global-scoped handlers persist.
      */
     public static void clearWorldAndServerEvents() {
+        ScriptPackWatcher.stop();
+        HandlerBudget.stop();
         Event.clearHandlersByScope(ScriptPackScope.WORLD);
         Event.clearHandlersByScope(ScriptPackScope.SERVER_CACHE);
         ManagedEventsKt.clearManagedByScope(ScriptPackScope.WORLD);
@@ -3,6 +3,7 @@ package top.katton.engine;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Handle;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
@@ -17,44 +18,76 @@ import java.util.Map;
 final class MethodInjectionTransformer {
     private static final Type INJECTION_MANAGER_TYPE = Type.getObjectType("top/katton/engine/InjectionManager");
     private static final Type OBJECT_TYPE = Type.getType(Object.class);
-    private static final Type OBJECT_ARRAY_TYPE = Type.getType(Object[].class);
     private static final Type THROWABLE_TYPE = Type.getType(Throwable.class);
-    private static final Type ENTER_RESULT_TYPE = Type.getObjectType("top/katton/engine/InjectionManager$MethodEnterResult");
-    private static final Type EXIT_RESULT_TYPE = Type.getObjectType("top/katton/engine/InjectionManager$MethodExitResult");
-    private static final Type ENTER_STATE_TYPE = Type.getObjectType("top/katton/engine/InjectionManager$EnterState");
-    private static final Method DISPATCH_ENTER = new Method(
-            "dispatchMethodEnterByKey",
-            "(Ljava/lang/String;Ljava/lang/Object;[Ljava/lang/Object;)Ltop/katton/engine/InjectionManager$MethodEnterResult;"
+    private static final Type FRAME_TYPE = Type.getObjectType("top/katton/engine/InjectionManager$MethodFrame");
+    private static final Handle BOOTSTRAP_ENTER = new Handle(
+            Opcodes.H_INVOKESTATIC,
+            INJECTION_MANAGER_TYPE.getInternalName(),
+            "bootstrapMethodEnter",
+            "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/invoke/MethodType;Ljava/lang/String;)Ljava/lang/invoke/CallSite;",
+            false
     );
-    private static final Method DISPATCH_EXIT = new Method(
-            "dispatchMethodExitByKey",
-            "(Ljava/lang/String;Ljava/lang/Object;[Ljava/lang/Object;Ljava/lang/Object;Ljava/lang/Throwable;Ltop/katton/engine/InjectionManager$EnterState;)Ltop/katton/engine/InjectionManager$MethodExitResult;"
+    private static final Handle BOOTSTRAP_CONSTRUCTOR = new Handle(
+            Opcodes.H_INVOKESTATIC,
+            INJECTION_MANAGER_TYPE.getInternalName(),
+            "bootstrapConstructor",
+            "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/invoke/MethodType;Ljava/lang/String;)Ljava/lang/invoke/CallSite;",
+            false
     );
-    private static final Method GET_ENTER_ARGUMENTS = new Method(
-            "methodEnterArguments",
-            "(Ltop/katton/engine/InjectionManager$MethodEnterResult;)[Ljava/lang/Object;"
+    private static final Method FRAME_ARGUMENTS_MODIFIED = new Method(
+            "frameArgumentsModified",
+            "(Ltop/katton/engine/InjectionManager$MethodFrame;)Z"
     );
-    private static final Method GET_ENTER_STATE = new Method(
-            "methodEnterState",
-            "(Ltop/katton/engine/InjectionManager$MethodEnterResult;)Ltop/katton/engine/InjectionManager$EnterState;"
+    private static final Method FRAME_ARGUMENTS = new Method(
+            "frameArguments",
+            "(Ltop/katton/engine/InjectionManager$MethodFrame;)[Ljava/lang/Object;"
     );
-    private static final Method GET_EXIT_RESULT = new Method(
-            "methodExitResult",
-            "(Ltop/katton/engine/InjectionManager$MethodExitResult;)Ljava/lang/Object;"
+    private static final Method FRAME_SKIPS_ORIGINAL = new Method(
+            "frameSkipsOriginal",
+            "(Ltop/katton/engine/InjectionManager$MethodFrame;)Z"
     );
-    private static final Method GET_EXIT_THROWABLE = new Method(
-            "methodExitThrowable",
-            "(Ltop/katton/engine/InjectionManager$MethodExitResult;)Ljava/lang/Throwable;"
+    private static final Method EXIT_METHOD = new Method(
+            "exitMethod",
+            "(Ltop/katton/engine/InjectionManager$MethodFrame;Ljava/lang/Object;Ljava/lang/Throwable;)Ljava/lang/Object;"
     );
 
+    /**
+     * Typed exit helper for {@code returnType}, or null when results go
+     * through the boxed {@link #EXIT_METHOD}.
+     */
+    private static Method typedExit(Type returnType) {
+        String name = switch (returnType.getSort()) {
+            case Type.BOOLEAN -> "exitMethodBoolean";
+            case Type.INT -> "exitMethodInt";
+            case Type.LONG -> "exitMethodLong";
+            case Type.FLOAT -> "exitMethodFloat";
+            case Type.DOUBLE -> "exitMethodDouble";
+            default -> null;
+        };
+        if (name == null) {
+            return null;
+        }
+        String descriptor = "(Ltop/katton/engine/InjectionManager$MethodFrame;" + returnType.getDescriptor()
+                + "Ljava/lang/Throwable;)" + returnType.getDescriptor();
+        return new Method(name, descriptor);
+    }
+
     private MethodInjectionTransformer() {
     }
 
-    static byte[] transform(byte[] originalBytes, Collection<java.lang.reflect.Method> methods) {
+    static byte[] transform(
+            byte[] originalBytes,
+            Collection<java.lang.reflect.Method> methods,
+            Collection<java.lang.reflect.Constructor<?>> constructors
+    ) {
         Map<String, String> methodKeys = new HashMap<>();
         for (java.lang.reflect.Method method : methods) {
             methodKeys.put(method.getName() + Type.getMethodDescriptor(method), InjectionManager.methodKeyForVisitor(method));
         }
+        Map<String, String> constructorKeys = new HashMap<>();
+        for (java.lang.reflect.Constructor<?> constructor : constructors) {
+            constructorKeys.put(Type.getConstructorDescriptor(constructor), InjectionManager.constructorKeyForVisitor(constructor));
+        }
 
         ClassReader classReader = new ClassReader(originalBytes);
         ClassWriter classWriter = new ClassWriter(classReader, ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
@@ -62,6 +95,13 @@ final class MethodInjectionTransformer {
             @Override
             public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
                 MethodVisitor methodVisitor = super.visitMethod(access, name, descriptor, signature, exceptions);
+                if ("<init>".equals(name)) {
+                    String constructorKey = constructorKeys.get(descriptor);
+                    if (constructorKey == null) {
+                        return methodVisitor;
+                    }
+                    return new InjectingConstructorVisitor(methodVisitor, access, name, descriptor, constructorKey);
+                }
                 String methodKey = methodKeys.get(name + descriptor);
                 if (methodKey == null) {
                     return methodVisitor;
@@ -73,17 +113,26 @@ final class MethodInjectionTransformer {
         return classWriter.toByteArray();
     }
 
+    /**
+     * Enters through an {@code invokedynamic} call site linked by
+     * {@code InjectionManager.bootstrapMethodEnter}. The site returns a frame
+     * only while the target has handlers; a null frame runs the original body
+     * and every return without touching the injection machinery.
+     *
+     * Arguments are passed to the site unboxed. They are only written back when
+     * a handler materialised the boxed argument array, and boolean, int, long,
+     * float and double results reach their typed exit helper without boxing.
+     */
     private static final class InjectingMethodVisitor extends AdviceAdapter {
         private final String methodKey;
         private final Type[] argumentTypes;
         private final Type returnType;
+        private final Method exit;
+        private final Type resultType;
         private final boolean isStaticMethod;
         private boolean syntheticExitEmission;
         private final Label skipOriginal = new Label();
-        private int argsLocal;
-        private int enterResultLocal;
-        private int enterStateLocal;
-        private int exitResultLocal;
+        private int frameLocal;
         private int resultLocal;
         private int throwableLocal;
 
@@ -92,58 +141,55 @@ final class MethodInjectionTransformer {
             this.methodKey = methodKey;
             this.argumentTypes = Type.getArgumentTypes(descriptor);
             this.returnType = Type.getReturnType(descriptor);
+            Method typed = typedExit(returnType);
+            this.exit = typed != null ? typed : EXIT_METHOD;
+            this.resultType = typed != null ? returnType : OBJECT_TYPE;
             this.isStaticMethod = (access & Opcodes.ACC_STATIC) != 0;
         }
 
         @Override
         protected void onMethodEnter() {
-            argsLocal = newLocal(OBJECT_ARRAY_TYPE);
-            enterResultLocal = newLocal(ENTER_RESULT_TYPE);
-            enterStateLocal = newLocal(ENTER_STATE_TYPE);
-            exitResultLocal = newLocal(EXIT_RESULT_TYPE);
-            resultLocal = newLocal(OBJECT_TYPE);
+            frameLocal = newLocal(FRAME_TYPE);
+            resultLocal = newLocal(resultType);
             throwableLocal = newLocal(THROWABLE_TYPE);
 
-            push(argumentTypes.length);
-            newArray(OBJECT_TYPE);
-            storeLocal(argsLocal);
-
-            for (int index = 0; index < argumentTypes.length; index++) {
-                loadLocal(argsLocal);
-                push(index);
-                loadArg(index);
-                box(argumentTypes[index]);
-                arrayStore(OBJECT_TYPE);
-            }
-
-            visitLdcInsn(methodKey);
+            Type[] siteArguments;
             if (isStaticMethod) {
-                visitInsn(ACONST_NULL);
+                siteArguments = argumentTypes;
             } else {
+                siteArguments = new Type[argumentTypes.length + 1];
+                siteArguments[0] = OBJECT_TYPE;
+                System.arraycopy(argumentTypes, 0, siteArguments, 1, argumentTypes.length);
                 loadThis();
             }
-            loadLocal(argsLocal);
-            invokeStatic(INJECTION_MANAGER_TYPE, DISPATCH_ENTER);
-            storeLocal(enterResultLocal);
+            loadArgs();
+            invokeDynamic("enter", Type.getMethodDescriptor(OBJECT_TYPE, siteArguments), BOOTSTRAP_ENTER, methodKey);
+            checkCast(FRAME_TYPE);
+            storeLocal(frameLocal);
 
-            loadLocal(enterResultLocal);
-            invokeStatic(INJECTION_MANAGER_TYPE, GET_ENTER_ARGUMENTS);
-            storeLocal(argsLocal);
+            Label runOriginal = new Label();
+            loadLocal(frameLocal);
+            ifNull(runOriginal);
 
+            Label argumentsUnchanged = new Label();
+            loadLocal(frameLocal);
+            invokeStatic(INJECTION_MANAGER_TYPE, FRAME_ARGUMENTS_MODIFIED);
+            ifZCmp(EQ, argumentsUnchanged);
             for (int index = 0; index < argumentTypes.length; index++) {
-                loadLocal(argsLocal);
+                loadLocal(frameLocal);
+                invokeStatic(INJECTION_MANAGER_TYPE, FRAME_ARGUMENTS);
                 push(index);
                 arrayLoad(OBJECT_TYPE);
                 unbox(argumentTypes[index]);
                 storeArg(index);
             }
+            visitLabel(argumentsUnchanged);
 
-            loadLocal(enterResultLocal);
-            invokeStatic(INJECTION_MANAGER_TYPE, GET_ENTER_STATE);
-            storeLocal(enterStateLocal);
+            loadLocal(frameLocal);
+            invokeStatic(INJECTION_MANAGER_TYPE, FRAME_SKIPS_ORIGINAL);
+            ifZCmp(NE, skipOriginal);
 
-            loadLocal(enterStateLocal);
-            ifNonNull(skipOriginal);
+            visitLabel(runOriginal);
         }
 
         @Override
@@ -152,29 +198,35 @@ final class MethodInjectionTransformer {
                 return;
             }
 
+            // Without a frame, fall through to the original return or throw
+            // with its operand still on the stack.
+            Label plainExit = new Label();
+            loadLocal(frameLocal);
+            ifNull(plainExit);
+
             if (opcode == ATHROW) {
                 storeLocal(throwableLocal);
-                visitInsn(ACONST_NULL);
+                pushDefaultResult();
                 storeLocal(resultLocal);
             } else {
                 if (opcode == RETURN) {
                     visitInsn(ACONST_NULL);
-                    storeLocal(resultLocal);
-                } else {
+                } else if (resultType == OBJECT_TYPE) {
                     box(returnType);
-                    storeLocal(resultLocal);
                 }
+                storeLocal(resultLocal);
                 visitInsn(ACONST_NULL);
                 storeLocal(throwableLocal);
             }
 
             emitExitAndTerminate();
+            visitLabel(plainExit);
         }
 
         @Override
         public void visitMaxs(int maxStack, int maxLocals) {
             mark(skipOriginal);
-            visitInsn(ACONST_NULL);
+            pushDefaultResult();
             storeLocal(resultLocal);
             visitInsn(ACONST_NULL);
             storeLocal(throwableLocal);
@@ -183,41 +235,74 @@ final class MethodInjectionTransformer {
         }
 
         private void emitExitAndTerminate() {
+            // The return emitted below must not be instrumented again.
             syntheticExitEmission = true;
 
-            visitLdcInsn(methodKey);
-            if (isStaticMethod) {
-                visitInsn(ACONST_NULL);
-            } else {
-                loadThis();
-            }
-            loadLocal(argsLocal);
+            loadLocal(frameLocal);
             loadLocal(resultLocal);
             loadLocal(throwableLocal);
-            loadLocal(enterStateLocal);
-            invokeStatic(INJECTION_MANAGER_TYPE, DISPATCH_EXIT);
-            storeLocal(exitResultLocal);
-
-            loadLocal(exitResultLocal);
-            invokeStatic(INJECTION_MANAGER_TYPE, GET_EXIT_THROWABLE);
-            storeLocal(throwableLocal);
+            invokeStatic(INJECTION_MANAGER_TYPE, exit);
 
-            Label noThrowable = new Label();
-            loadLocal(throwableLocal);
-            ifNull(noThrowable);
-            loadLocal(throwableLocal);
-            throwException();
-
-            visitLabel(noThrowable);
             if (returnType.equals(Type.VOID_TYPE)) {
+                pop();
                 visitInsn(RETURN);
-                return;
+            } else {
+                if (resultType == OBJECT_TYPE) {
+                    unbox(returnType);
+                }
+                visitInsn(returnType.getOpcode(IRETURN));
+            }
+
+            syntheticExitEmission = false;
+        }
+
+        private void pushDefaultResult() {
+            switch (resultType.getSort()) {
+                case Type.BOOLEAN, Type.INT -> push(0);
+                case Type.LONG -> push(0L);
+                case Type.FLOAT -> push(0f);
+                case Type.DOUBLE -> push(0d);
+                default -> visitInsn(ACONST_NULL);
             }
+        }
+    }
+
+    /**
+     * Calls the {@code enter} site of {@code InjectionManager.bootstrapConstructor}
+     * with the arguments before the super constructor call, and its {@code exit}
+     * site with the instance and the arguments before each normal return. Both
+     * sites are empty handles while their phase has no handler.
+     */
+    private static final class InjectingConstructorVisitor extends AdviceAdapter {
+        private final String constructorKey;
+        private final Type[] argumentTypes;
 
-            loadLocal(exitResultLocal);
-            invokeStatic(INJECTION_MANAGER_TYPE, GET_EXIT_RESULT);
-            unbox(returnType);
-            visitInsn(returnType.getOpcode(IRETURN));
+        private InjectingConstructorVisitor(MethodVisitor methodVisitor, int access, String name, String descriptor, String constructorKey) {
+            super(Opcodes.ASM9, methodVisitor, access, name, descriptor);
+            this.constructorKey = constructorKey;
+            this.argumentTypes = Type.getArgumentTypes(descriptor);
+        }
+
+        @Override
+        public void visitCode() {
+            super.visitCode();
+            // Emitted through the generator helpers, which write to the next
+            // visitor and so stay out of the super constructor call tracking.
+            loadArgs();
+            invokeDynamic("enter", Type.getMethodDescriptor(Type.VOID_TYPE, argumentTypes), BOOTSTRAP_CONSTRUCTOR, constructorKey);
+        }
+
+        @Override
+        protected void onMethodExit(int opcode) {
+            if (opcode == ATHROW) {
+                return;
+            }
+            Type[] siteArguments = new Type[argumentTypes.length + 1];
+            siteArguments[0] = OBJECT_TYPE;
+            System.arraycopy(argumentTypes, 0, siteArguments, 1, argumentTypes.length);
+            loadThis();
+            loadArgs();
+            invokeDynamic("exit", Type.getMethodDescriptor(Type.VOID_TYPE, siteArguments), BOOTSTRAP_CONSTRUCTOR, constructorKey);
         }
     }
-}
\ No newline at end of file
+}
@@ -89,3 +89,18 @@ val server: MinecraftServer?
 fun requireServer(): MinecraftServer =
     server ?: error("MinecraftServer is not available (client-side or not started)")
 
+/**
+ * Runs [action] on the server thread with the calling script's context.
+ *
+ * Meant for handing results back from async event handlers (see
+ * [top.katton.util.registerAsync]), which must not touch the world themselves.
+ *
+ * @throws IllegalStateException if the server is not available
+ */
+fun runOnServer(action: () -> Unit) {
+    val context = ScriptExecutionContext.current()
+    requireServer().execute {
+        ScriptExecutionContext.withContext(context, action)
+    }
+}
+
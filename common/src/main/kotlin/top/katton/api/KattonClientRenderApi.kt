@@ -12,6 +12,7 @@ import net.minecraft.client.renderer.state.level.CameraRenderState
 import net.minecraft.network.chat.Component
 import net.minecraft.resources.Identifier
 import org.joml.Vector3f
+import top.katton.util.ScriptContext
 import top.katton.util.ScriptExecutionContext
 import java.util.concurrent.ConcurrentHashMap
 
@@ -82,14 +83,18 @@ private data class HudRendererEntry(
     val layer: HudRenderLayer,
     val priority: Int,
     val render: (HudRenderContext) -> Unit
-)
+) {
+    val context = ScriptContext.of(owner, null)
+}
 
 private data class WorldRendererEntry(
     val owner: String?,
     val layer: WorldRenderLayer,
     val priority: Int,
     val render: (WorldRenderContext) -> Unit
-)
+) {
+    val context = ScriptContext.of(owner, null)
+}
 
 private val hudRenderers = ConcurrentHashMap<String, HudRendererEntry>()
 private val worldRenderers = ConcurrentHashMap<String, WorldRendererEntry>()
@@ -215,7 +220,7 @@ fun dispatchHudRender(graphics: GuiGraphicsExtractor, tickDelta: Float) {
         .sortedWith(compareBy({ it.layer.ordinal }, { it.priority }))
     for (entry in ordered) {
         runCatching {
-            ScriptExecutionContext.withOwner(entry.owner) {
+            ScriptExecutionContext.withContext(entry.context) {
                 entry.render(ctx)
             }
         }.onFailure {
@@ -237,7 +242,7 @@ fun dispatchWorldRender(camera: CameraRenderState?, tickDelta: Float) {
         .sortedWith(compareBy({ it.layer.ordinal }, { it.priority }))
     for (entry in ordered) {
         runCatching {
-            ScriptExecutionContext.withOwner(entry.owner) {
+            ScriptExecutionContext.withContext(entry.context) {
                 entry.render(ctx)
             }
         }.onFailure {
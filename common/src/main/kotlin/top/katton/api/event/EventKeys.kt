@@ -0,0 +1,79 @@
+package top.katton.api.event
+
+import net.minecraft.resources.ResourceKey
+import net.minecraft.world.entity.Entity
+import net.minecraft.world.entity.EntityType
+import net.minecraft.world.level.Level
+import net.minecraft.world.level.block.Block
+import net.minecraft.world.level.block.state.BlockState
+import top.katton.util.Event
+import top.katton.util.EventKey
+import top.katton.util.HandlerPriority
+
+/*
+ * Keyed subscriptions for Katton events.
+ *
+ * Event arguments that expose an entity, a block state or a level implement the
+ * marker interfaces below, which lets scripts subscribe to a single entity type,
+ * block or dimension:
+ *
+ * ```
+ * onLivingFall.forType(EntityType.ZOMBIE) { it.cancel() }
+ * onBeforeBlockBreak.forBlock(Blocks.DIAMOND_ORE) { false }
+ * onEntityLoad.forDimension(Level.NETHER) { ... }
+ * ```
+ *
+ * The event looks the key up in a hash index before any handler runs, so
+ * handlers registered for other keys are never called.
+ */
+
+/** Event argument that concerns a single entity. */
+interface EntityEventArg {
+    val entity: Entity
+}
+
+/** Event argument that concerns a single block state. */
+interface BlockStateEventArg {
+    val state: BlockState
+}
+
+/** Event argument that happens in a single level. */
+interface LevelEventArg {
+    val world: Level
+}
+
+/** Keys [EntityEventArg] dispatches by the entity's type. */
+val ENTITY_TYPE_KEY = EventKey<EntityEventArg, EntityType<*>>("entity_type") { it.entity.type }
+
+/** Keys [BlockStateEventArg] dispatches by the block of the state. */
+val BLOCK_KEY = EventKey<BlockStateEventArg, Block>("block") { it.state.block }
+
+/** Keys [LevelEventArg] dispatches by the level's dimension. */
+val DIMENSION_KEY = EventKey<LevelEventArg, ResourceKey<Level>>("dimension") { it.world.dimension() }
+
+/**
+ * Registers [handler] for dispatches whose entity is of [type].
+ */
+fun <Arg : EntityEventArg, R> Event<Arg, R>.forType(
+    type: EntityType<*>,
+    priority: HandlerPriority = HandlerPriority.NORMAL,
+    handler: (Arg) -> R
+) = register(ENTITY_TYPE_KEY, type, priority, handler)
+
+/**
+ * Registers [handler] for dispatches whose block state belongs to [block].
+ */
+fun <Arg : BlockStateEventArg, R> Event<Arg, R>.forBlock(
+    block: Block,
+    priority: HandlerPriority = HandlerPriority.NORMAL,
+    handler: (Arg) -> R
+) = register(BLOCK_KEY, block, priority, handler)
+
+/**
+ * Registers [handler] for dispatches in the [dimension] level.
+ */
+fun <Arg : LevelEventArg, R> Event<Arg, R>.forDimension(
+    dimension: ResourceKey<Level>,
+    priority: HandlerPriority = HandlerPriority.NORMAL,
+    handler: (Arg) -> R
+) = register(DIMENSION_KEY, dimension, priority, handler)
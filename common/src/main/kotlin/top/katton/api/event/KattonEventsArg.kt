@@ -33,7 +33,9 @@ import net.minecraft.world.phys.BlockHitResult
 import net.minecraft.world.phys.EntityHitResult
 import net.minecraft.world.phys.Vec3
 import top.katton.bridger.EnchantingContext
+import top.katton.util.AsyncEventArg
 import top.katton.util.CancellableEventArg
+import java.util.UUID
 
 /**
  * Event argument data classes for server-side events.
@@ -99,7 +101,9 @@ data class ServerSaveArg(
     val server: MinecraftServer,
     val flush: Boolean,
     val force: Boolean
-)
+) : AsyncEventArg<AsyncServerSaveArg> {
+    override fun detach() = AsyncServerSaveArg(flush, force)
+}
 
 /**
  * Argument for server tick event.
@@ -127,9 +131,9 @@ value class WorldTickArg(val world: ServerLevel)
  * @property world The ServerLevel the entity is loading into
  */
 data class EntityLoadArg(
-    val entity: Entity,
-    val world: ServerLevel
-): CancellableEventArg()
+    override val entity: Entity,
+    override val world: ServerLevel
+) : CancellableEventArg(), EntityEventArg, LevelEventArg
 
 /**
  * Argument for entity unload event.
@@ -140,9 +144,9 @@ data class EntityLoadArg(
  * @property world The ServerLevel the entity is unloading from
  */
 data class EntityUnloadArg(
-    val entity: Entity,
-    val world: ServerLevel
-)
+    override val entity: Entity,
+    override val world: ServerLevel
+) : EntityEventArg, LevelEventArg
 
 /**
  * Argument for equipment change event.
@@ -155,11 +159,11 @@ data class EntityUnloadArg(
  * @property to The new ItemStack in the slot
  */
 data class EquipmentChangeArg(
-    val entity: LivingEntity,
+    override val entity: LivingEntity,
     val slot: EquipmentSlot,
     val from: ItemStack,
     val to: ItemStack
-)
+) : EntityEventArg
 
 /**
  * Argument for chunk load event.
@@ -169,10 +173,10 @@ data class EquipmentChangeArg(
  * @property generated Whether the chunk was newly generated
  */
 data class ChunkLoadArg(
-    val world: ServerLevel,
+    override val world: ServerLevel,
     val chunk: LevelChunk,
     val generated: Boolean = false
-)
+) : LevelEventArg
 
 /**
  * Argument for chunk unload event.
@@ -181,9 +185,9 @@ data class ChunkLoadArg(
  * @property chunk The LevelChunk being unloaded
  */
 data class ChunkUnloadArg(
-    val world: ServerLevel,
+    override val world: ServerLevel,
     val chunk: LevelChunk
-)
+) : LevelEventArg
 
 /**
  * Argument for chunk status change event.
@@ -196,11 +200,11 @@ data class ChunkUnloadArg(
  * @property newStatus The new chunk status
  */
 data class ChunkStatusChangeArg(
-    val world: ServerLevel,
+    override val world: ServerLevel,
     val chunk: LevelChunk,
     val oldStatus: FullChunkStatus,
     val newStatus: FullChunkStatus
-)
+) : LevelEventArg
 
 /**
  * Argument for block entity load event.
@@ -210,8 +214,8 @@ data class ChunkStatusChangeArg(
  */
 data class BlockEntityLoadArg(
     val blockEntity: BlockEntity,
-    val world: ServerLevel
-)
+    override val world: ServerLevel
+) : LevelEventArg
 
 /**
  * Argument for block break event.
@@ -225,12 +229,14 @@ data class BlockEntityLoadArg(
  * @property blockEntity The BlockEntity at the position, if any
  */
 data class BlockBreakArg(
-    val world: Level,
+    override val world: Level,
     val player: Player,
     val pos: BlockPos,
-    val state: BlockState,
+    override val state: BlockState,
     val blockEntity: BlockEntity? = null,
-) : CancellableEventArg()
+) : CancellableEventArg(), BlockStateEventArg, LevelEventArg, AsyncEventArg<AsyncBlockBreakArg> {
+    override fun detach() = AsyncBlockBreakArg(world.dimension(), player.scoreboardName, player.uuid, pos.immutable(), state)
+}
 
 /**
  * Argument for block place event.
@@ -244,12 +250,12 @@ data class BlockBreakArg(
  * @property blockEntity The BlockEntity being placed, if any
  */
 data class BlockPlaceArg(
-    val world: Level,
+    override val world: Level,
     val player: Player?,
     val pos: BlockPos,
-    val state: BlockState,
+    override val state: BlockState,
     val blockEntity: BlockEntity? = null
-): CancellableEventArg()
+) : CancellableEventArg(), BlockStateEventArg, LevelEventArg
 
 /**
  * Argument for item use on block event.
@@ -320,7 +326,7 @@ data class ModifyEnchantmentArg(
  *
  * @property entity The entity attempting to use elytra flight
  */
-data class ElytraAllowArg(val entity: LivingEntity)
+data class ElytraAllowArg(override val entity: LivingEntity) : EntityEventArg
 
 /**
  * Argument for custom elytra flight event.
@@ -329,9 +335,9 @@ data class ElytraAllowArg(val entity: LivingEntity)
  * @property tickElytra Whether vanilla elytra tick logic should run
  */
 data class ElytraCustomArg(
-    val entity: LivingEntity,
+    override val entity: LivingEntity,
     val tickElytra: Boolean
-)
+) : EntityEventArg
 
 /**
  * Argument for sleeping allowance check.
@@ -672,10 +678,10 @@ data class AfterPlayerChangeLevelArg(
  * @property amount The damage amount
  */
 data class AllowDamageArg(
-    val entity: LivingEntity,
+    override val entity: LivingEntity,
     val source: DamageSource,
     val amount: Float
-)
+) : EntityEventArg
 
 /**
  * Argument for after damage event.
@@ -687,12 +693,12 @@ data class AllowDamageArg(
  * @property handled Whether the damage was handled
  */
 data class AfterDamageArg(
-    val entity: LivingEntity,
+    override val entity: LivingEntity,
     val source: DamageSource,
     val initialDamage: Float,
     val finalDamage: Float,
     val handled: Boolean
-)
+) : EntityEventArg
 
 /**
  * Argument for death allowance check.
@@ -702,10 +708,10 @@ data class AfterDamageArg(
  * @property amount The damage amount
  */
 data class AllowDeathArg(
-    val entity: LivingEntity,
+    override val entity: LivingEntity,
     val source: DamageSource,
     val amount: Float
-)
+) : EntityEventArg
 
 /**
  * Argument for after death event.
@@ -714,9 +720,9 @@ data class AllowDeathArg(
  * @property source The damage source that caused death
  */
 data class AfterDeathArg(
-    val entity: LivingEntity,
+    override val entity: LivingEntity,
     val source: DamageSource
-)
+) : EntityEventArg
 
 /**
  * Argument for mob conversion event.
@@ -781,7 +787,9 @@ data class ChatMessageArg(
     val message: PlayerChatMessage,
     val sender: ServerPlayer,
     val params: Bound
-)
+) : AsyncEventArg<AsyncChatMessageArg> {
+    override fun detach() = AsyncChatMessageArg(sender.scoreboardName, sender.uuid, message.signedContent())
+}
 
 /**
  * Argument for game message event.
@@ -794,7 +802,9 @@ data class GameMessageArg(
     val server: MinecraftServer,
     val message: Component,
     val overlay: Boolean
-)
+) : AsyncEventArg<AsyncGameMessageArg> {
+    override fun detach() = AsyncGameMessageArg(message.string, overlay)
+}
 
 /**
  * Argument for command message event.
@@ -807,14 +817,18 @@ data class CommandMessageArg(
     val message: PlayerChatMessage,
     val source: CommandSourceStack,
     val params: Bound
-)
+) : AsyncEventArg<AsyncCommandMessageArg> {
+    override fun detach() = AsyncCommandMessageArg(source.textName, message.signedContent())
+}
 
 /**
  * Argument for player-related events.
  *
  * @property player The ServerPlayer involved in the event
  */
-data class PlayerArg(val player: ServerPlayer)
+data class PlayerArg(val player: ServerPlayer) : AsyncEventArg<AsyncPlayerArg> {
+    override fun detach() = AsyncPlayerArg(player.scoreboardName, player.uuid)
+}
 
 /**
  * Argument for player respawn event.
@@ -923,14 +937,14 @@ data class PlayerWakeUpArg(
  * @property toZ The destination Z coordinate
  */
 data class EntityTeleportArg(
-    val entity: Entity,
+    override val entity: Entity,
     val fromX: Double,
     val fromY: Double,
     val fromZ: Double,
     val toX: Double,
     val toY: Double,
     val toZ: Double
-): CancellableEventArg()
+) : CancellableEventArg(), EntityEventArg
 
 /**
  * Argument for enderman anger event.
@@ -1006,11 +1020,11 @@ data class PlayerDestroyItemArg(
  * @property duration The initial use duration in ticks
  */
 data class LivingUseItemStartArg(
-    val entity: LivingEntity,
+    override val entity: LivingEntity,
     val item: ItemStack,
     val hand: InteractionHand,
     val duration: Int
-): CancellableEventArg()
+) : CancellableEventArg(), EntityEventArg
 
 /**
  * Argument for item use tick event.
@@ -1020,10 +1034,10 @@ data class LivingUseItemStartArg(
  * @property duration The remaining use duration (modifiable)
  */
 data class LivingUseItemTickArg(
-    val entity: LivingEntity,
+    override val entity: LivingEntity,
     val item: ItemStack,
     var duration: Int
-): CancellableEventArg()
+) : CancellableEventArg(), EntityEventArg
 
 /**
  * Argument for item use stop event.
@@ -1033,16 +1047,16 @@ data class LivingUseItemTickArg(
  * @property duration The remaining use duration when stopped
  */
 data class LivingUseItemStopArg(
-    val entity: LivingEntity,
+    override val entity: LivingEntity,
     val item: ItemStack,
     val duration: Int
-): CancellableEventArg()
+) : CancellableEventArg(), EntityEventArg
 
 data class PaperLivingUseItemStopArg(
-    val entity: LivingEntity,
+    override val entity: LivingEntity,
     val item: ItemStack,
     val duration: Int
-)
+) : EntityEventArg
 
 /**
  * Argument for item use finish event.
@@ -1053,11 +1067,11 @@ data class PaperLivingUseItemStopArg(
  * @property result The resulting ItemStack (modifiable)
  */
 data class LivingUseItemFinishArg(
-    val entity: LivingEntity,
+    override val entity: LivingEntity,
     val item: ItemStack,
     val duration: Int,
     var result: ItemStack
-)
+) : EntityEventArg
 
 /**
  * Argument for NeoForge player attack entity event.
@@ -1181,10 +1195,10 @@ data class PlayerPickupXpArg(
  * @property amount The damage amount
  */
 data class LivingHurtArg(
-    val entity: LivingEntity,
+    override val entity: LivingEntity,
     val source: DamageSource,
     val amount: Float
-): CancellableEventArg()
+) : CancellableEventArg(), EntityEventArg
 
 /**
  * Argument for NeoForge living damage event.
@@ -1194,10 +1208,10 @@ data class LivingHurtArg(
  * @property amount The damage amount
  */
 data class NeoLivingDamageArg(
-    val entity: LivingEntity,
+    override val entity: LivingEntity,
     val source: DamageSource,
     val amount: Float
-)
+) : EntityEventArg
 
 /**
  * Argument for NeoForge living death event.
@@ -1206,9 +1220,9 @@ data class NeoLivingDamageArg(
  * @property source The DamageSource that caused death
  */
 data class NeoLivingDeathArg(
-    val entity: LivingEntity,
+    override val entity: LivingEntity,
     val source: DamageSource
-)
+) : EntityEventArg
 
 /**
  * Argument for living entity drops event.
@@ -1220,10 +1234,10 @@ data class NeoLivingDeathArg(
  * @property drops The list of ItemStacks being dropped
  */
 data class LivingDropsArg(
-    val entity: LivingEntity,
+    override val entity: LivingEntity,
     val source: DamageSource,
     val drops: List<ItemStack>
-): CancellableEventArg()
+) : CancellableEventArg(), EntityEventArg
 
 /**
  * Argument for living entity fall event.
@@ -1235,10 +1249,10 @@ data class LivingDropsArg(
  * @property damageMultiplier The damage multiplier
  */
 data class LivingFallArg(
-    val entity: LivingEntity,
+    override val entity: LivingEntity,
     val distance: Double,
     val damageMultiplier: Float
-): CancellableEventArg()
+) : CancellableEventArg(), EntityEventArg
 
 /**
  * Argument for living entity jump event.
@@ -1272,11 +1286,11 @@ data class ServerChatArg(
  * @property originalBlockedState Whether the shield was originally blocking
  */
 data class ShieldBlockArg(
-    val entity: LivingEntity,
+    override val entity: LivingEntity,
     val source: DamageSource,
     val blockedDamage: Float,
     val originalBlockedState: Boolean
-)
+) : EntityEventArg
 
 /** Placeholder mob effect argument stubs */
 data class MobEffectAllowAddArg(val entity: Any, val effect: Any)
@@ -1284,3 +1298,82 @@ data class MobEffectAddArg(val entity: Any, val effect: Any)
 data class MobEffectAllowEarlyRemoveArg(val entity: Any, val effect: Any)
 data class MobEffectBeforeRemoveArg(val entity: Any, val effect: Any)
 data class MobEffectAfterRemoveArg(val entity: Any, val effect: Any)
+
+/*
+ * Detached arguments handed to async handlers (see [top.katton.util.registerAsync]).
+ * They hold plain values only and are safe to read from any thread.
+ */
+
+/**
+ * Detached [ServerSaveArg].
+ *
+ * @property flush Whether the save flushed to disk
+ * @property force Whether the save was forced
+ */
+data class AsyncServerSaveArg(
+    val flush: Boolean,
+    val force: Boolean
+)
+
+/**
+ * Detached [BlockBreakArg].
+ *
+ * @property dimension The dimension of the level the block was broken in
+ * @property playerName The name of the player who broke the block
+ * @property playerId The UUID of the player who broke the block
+ * @property pos The position of the block
+ * @property state The BlockState that was broken
+ */
+data class AsyncBlockBreakArg(
+    val dimension: ResourceKey<Level>,
+    val playerName: String,
+    val playerId: UUID,
+    val pos: BlockPos,
+    val state: BlockState
+)
+
+/**
+ * Detached [ChatMessageArg].
+ *
+ * @property senderName The name of the player who sent the message
+ * @property senderId The UUID of the player who sent the message
+ * @property content The plain message text
+ */
+data class AsyncChatMessageArg(
+    val senderName: String,
+    val senderId: UUID,
+    val content: String
+)
+
+/**
+ * Detached [GameMessageArg].
+ *
+ * @property message The message as plain text
+ * @property overlay Whether the message was shown as an overlay
+ */
+data class AsyncGameMessageArg(
+    val message: String,
+    val overlay: Boolean
+)
+
+/**
+ * Detached [CommandMessageArg].
+ *
+ * @property sourceName The name of the command source
+ * @property content The plain message text
+ */
+data class AsyncCommandMessageArg(
+    val sourceName: String,
+    val content: String
+)
+
+/**
+ * Detached [PlayerArg].
+ *
+ * @property name The player's name
+ * @property id The player's UUID
+ */
+data class AsyncPlayerArg(
+    val name: String,
+    val id: UUID
+)
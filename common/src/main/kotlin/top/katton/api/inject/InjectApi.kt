@@ -56,10 +56,18 @@ class InjectionInvocationContext internal constructor(
     val instance: Any? get() = delegate.instance
 
     /**
-     * Raw argument array.
+     * Raw argument array. Primitive arguments are boxed on first access;
+     * prefer [argument] when reading a few of them.
      */
     val arguments: Array<Any?> get() = delegate.arguments
 
+    /**
+     * Reads the argument at [index] without building [arguments].
+     *
+     * @param index The argument index to read
+     */
+    fun argument(index: Int): Any? = delegate.getArgument(index)
+
     /**
      * Bound script owner for this invocation.
      */
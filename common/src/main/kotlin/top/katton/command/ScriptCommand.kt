@@ -25,9 +25,11 @@ import top.katton.api.ClientItemRenderEasing
 import top.katton.config.KattonConfigManager
 import top.katton.engine.ScriptReloadManager
 import top.katton.registry.KattonRegistry
+import top.katton.util.EventProfiler
 import top.katton.api.clearItemRenderMarkersInRange
 import top.katton.api.itemRenderMarker
 import top.katton.api.showItemRenderMarker
+import java.nio.file.Path
 
 object ScriptCommand {
 
@@ -322,6 +324,40 @@ object ScriptCommand {
                                 )
                         )
                 )
+                .then(
+                    literal("profile")
+                        .requires(Commands.hasPermission(Commands.LEVEL_GAMEMASTERS))
+                        .then(
+                            literal("events")
+                                .executes {
+                                    sendEventProfile(it.source)
+                                }
+                                .then(
+                                    literal("on")
+                                        .executes {
+                                            EventProfiler.enabled = true
+                                            it.source.sendSuccess({ tr("commands.katton.profile.events.state", true) }, true)
+                                            1
+                                        }
+                                )
+                                .then(
+                                    literal("off")
+                                        .executes {
+                                            EventProfiler.enabled = false
+                                            it.source.sendSuccess({ tr("commands.katton.profile.events.state", false) }, true)
+                                            1
+                                        }
+                                )
+                                .then(
+                                    literal("reset")
+                                        .executes {
+                                            EventProfiler.reset()
+                                            it.source.sendSuccess({ tr("commands.katton.profile.events.reset") }, true)
+                                            1
+                                        }
+                                )
+                        )
+                )
                 .then(
                     literal("debug")
                         .requires(Commands.hasPermission(Commands.LEVEL_GAMEMASTERS))
@@ -357,6 +393,34 @@ object ScriptCommand {
         return 1
     }
 
+    private fun sendEventProfile(source: CommandSourceStack): Int {
+        val rows = EventProfiler.snapshot()
+        if (rows.isEmpty()) {
+            source.sendSuccess({ tr("commands.katton.profile.events.none", EventProfiler.enabled) }, false)
+            return 1
+        }
+        val lines = rows.take(PROFILE_ROWS).map { row ->
+            tr(
+                "commands.katton.profile.events.row",
+                row.event,
+                row.owner,
+                row.callCount,
+                formatMillis(row.totalTimeNanos),
+                formatMillis(row.maxTimeNanos),
+                row.failureCount
+            )
+        }
+        source.sendSuccess(
+            { tr("commands.katton.profile.events.summary", EventProfiler.enabled, joinComponents(lines, "\n")) },
+            false
+        )
+        return 1
+    }
+
+    private const val PROFILE_ROWS = 15
+
+    private fun formatMillis(nanos: Long): String = "%.3f".format(nanos / 1_000_000.0)
+
     private fun spawnItemRenderMarker(
         source: CommandSourceStack,
         itemId: Identifier,
@@ -460,10 +524,16 @@ object ScriptCommand {
     }
 
     @JvmStatic
-    fun reloadScript(server: MinecraftServer): Boolean {
+    fun reloadScript(server: MinecraftServer): Boolean = reloadScript(server, null)
+
+    /**
+     * Reloads scripts, rescanning only [changedWorldPacks] when it is not null.
+     */
+    @JvmStatic
+    fun reloadScript(server: MinecraftServer, changedWorldPacks: Set<Path>?): Boolean {
         val isDedicated = server.isDedicatedServer
 
-        ScriptReloadManager.reloadScriptsAsync(server) { serverOk ->
+        ScriptReloadManager.reloadScriptsAsync(server, changedWorldPacks) { serverOk ->
             server.execute {
                 if (serverOk) {
                     syncCommandTree(server)
@@ -0,0 +1,50 @@
+package top.katton.engine
+
+import top.katton.api.LOGGER
+
+/**
+ * Least-recently-used cache bounded by entry count and by an estimated weight
+ * in bytes. Used for compile results, which hold class bytes and, once executed,
+ * keep a whole script generation reachable.
+ *
+ * The most recently inserted entry is never evicted, even when it alone exceeds
+ * [maxWeight], so the current generation always stays cached.
+ */
+internal class BoundedArtifactCache<V : Any>(
+    private val name: String,
+    private val maxEntries: Int,
+    private val maxWeight: Long,
+    private val weigher: (V) -> Long
+) {
+    private val entries = LinkedHashMap<String, V>(16, 0.75f, true)
+    private var totalWeight = 0L
+
+    @Synchronized
+    operator fun get(key: String): V? = entries[key]
+
+    @Synchronized
+    fun containsKey(key: String): Boolean = entries.containsKey(key)
+
+    @Synchronized
+    operator fun set(key: String, value: V) {
+        entries.put(key, value)?.let { totalWeight -= weigher(it) }
+        totalWeight += weigher(value)
+        val iterator = entries.entries.iterator()
+        while ((entries.size > maxEntries || totalWeight > maxWeight) && entries.size > 1) {
+            val eldest = iterator.next()
+            if (eldest.key == key) continue
+            iterator.remove()
+            totalWeight -= weigher(eldest.value)
+            LOGGER.debug("Evicted {} cache entry {}", name, eldest.key)
+        }
+    }
+
+    @Synchronized
+    fun keys(): Set<String> = entries.keys.toSet()
+
+    @Synchronized
+    fun size(): Int = entries.size
+
+    @Synchronized
+    fun weight(): Long = totalWeight
+}
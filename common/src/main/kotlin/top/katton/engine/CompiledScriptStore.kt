@@ -0,0 +1,232 @@
+package top.katton.engine
+
+import com.google.gson.JsonArray
+import com.google.gson.JsonObject
+import com.google.gson.JsonParser
+import top.katton.api.LOGGER
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardCopyOption
+import java.nio.file.attribute.FileTime
+import java.util.concurrent.TimeUnit
+import java.util.jar.Attributes
+import java.util.jar.JarEntry
+import java.util.jar.JarFile
+import java.util.jar.JarOutputStream
+import java.util.jar.Manifest
+
+/**
+ * A static entrypoint discovered in a compiled script class.
+ */
+internal data class EntrypointDescriptor(
+    val className: String,
+    val methodName: String,
+    val methodDescriptor: String
+)
+
+/**
+ * Everything needed to execute a source compilation unit without running
+ * the Kotlin compiler: the raw compiler output, the name of the synthetic root
+ * script class and the entrypoint index for every [ScriptEnvironment].
+ *
+ * [classHashes] maps every scanned class to the SHA-256 of its bytes, so a later
+ * compilation can reuse the scan result of classes whose bytes did not change.
+ */
+@Suppress("ArrayInDataClass")
+internal data class PersistedScriptArtifact(
+    val cacheKey: String,
+    val rootClassName: String,
+    val outputFiles: Map<String, ByteArray>,
+    val entrypoints: Map<ScriptEnvironment, Map<String, List<EntrypointDescriptor>>>,
+    val classHashes: Map<String, String> = emptyMap()
+)
+
+/**
+ * On-disk format for compiled source packs.
+ *
+ * An artifact is a plain jar containing the compiler output files followed by
+ * `META-INF/katton/compiled-artifact.json`. The metadata entry is written last
+ * and the jar is moved into place atomically, so a missing or unreadable
+ * metadata entry always means the artifact is incomplete and must be rebuilt.
+ */
+internal object CompiledScriptStore {
+
+    private const val FORMAT_VERSION = 1
+    private const val METADATA_ENTRY = "META-INF/katton/compiled-artifact.json"
+
+    /** Unused artifacts older than this are removed during stale cache cleanup. */
+    private val STALE_ARTIFACT_AGE_MILLIS = TimeUnit.DAYS.toMillis(7)
+
+    fun write(artifact: PersistedScriptArtifact, targetJar: Path) {
+        runCatching {
+            Files.createDirectories(targetJar.parent)
+            val manifest = Manifest().apply {
+                mainAttributes[Attributes.Name.MANIFEST_VERSION] = "1.0"
+                mainAttributes.putValue("Created-By", "Katton ScriptEngine")
+            }
+            val tempJar = Files.createTempFile(targetJar.parent, targetJar.fileName.toString(), ".tmp")
+            try {
+                JarOutputStream(Files.newOutputStream(tempJar), manifest).use { jos ->
+                    for ((entryName, bytes) in artifact.outputFiles.toSortedMap()) {
+                        if (entryName == JarFile.MANIFEST_NAME || entryName == METADATA_ENTRY) continue
+                        jos.putNextEntry(JarEntry(entryName))
+                        jos.write(bytes)
+                        jos.closeEntry()
+                    }
+                    jos.putNextEntry(JarEntry(METADATA_ENTRY))
+                    jos.write(encodeMetadata(artifact).toString().toByteArray(StandardCharsets.UTF_8))
+                    jos.closeEntry()
+                }
+                Files.move(tempJar, targetJar, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE)
+            } finally {
+                Files.deleteIfExists(tempJar)
+            }
+            LOGGER.info("Persisted compiled source artifact to {}", targetJar)
+        }.onFailure {
+            LOGGER.warn("Failed to persist compiled source artifact to {}", targetJar, it)
+        }
+    }
+
+    /**
+     * Reads a previously persisted artifact. Returns null when the jar does not
+     * exist, was written by another format version or belongs to another key.
+     */
+    fun read(sourceJar: Path, expectedCacheKey: String): PersistedScriptArtifact? {
+        if (!Files.isRegularFile(sourceJar)) return null
+        return runCatching {
+            JarFile(sourceJar.toFile()).use { jar ->
+                val metadataEntry = jar.getJarEntry(METADATA_ENTRY) ?: return@use null
+                val metadata = jar.getInputStream(metadataEntry).use { input ->
+                    JsonParser.parseString(input.readAllBytes().toString(StandardCharsets.UTF_8)).asJsonObject
+                }
+                if (metadata.get("format")?.asInt != FORMAT_VERSION) return@use null
+                if (metadata.get("cacheKey")?.asString != expectedCacheKey) return@use null
+
+                val outputFiles = LinkedHashMap<String, ByteArray>()
+                jar.entries().asSequence()
+                    .filter { !it.isDirectory && it.name != METADATA_ENTRY && it.name != JarFile.MANIFEST_NAME }
+                    .forEach { entry ->
+                        outputFiles[entry.name] = jar.getInputStream(entry).use { it.readAllBytes() }
+                    }
+
+                PersistedScriptArtifact(
+                    cacheKey = expectedCacheKey,
+                    rootClassName = metadata.get("rootClass").asString,
+                    outputFiles = outputFiles,
+                    entrypoints = decodeEntrypoints(metadata.getAsJsonObject("entrypoints")),
+                    classHashes = metadata.getAsJsonObject("classHashes")
+                        ?.entrySet()
+                        ?.associate { (className, hash) -> className to hash.asString }
+                        .orEmpty()
+                )
+            }
+        }.getOrElse {
+            LOGGER.warn("Ignoring unreadable compiled source artifact {}", sourceJar, it)
+            null
+        }?.also {
+            // Refresh the timestamp so actively used artifacts survive stale cleanup.
+            runCatching { Files.setLastModifiedTime(sourceJar, FileTime.fromMillis(System.currentTimeMillis())) }
+        }
+    }
+
+    /**
+     * Deletes `source-*.jar` artifacts that are neither in [liveFileNames] nor
+     * recently used. Artifacts of the other scope (global vs. world) are kept
+     * so that both survive a restart.
+     */
+    fun cleanStale(directory: Path, liveFileNames: Set<String>) {
+        val threshold = System.currentTimeMillis() - STALE_ARTIFACT_AGE_MILLIS
+        runCatching {
+            Files.newDirectoryStream(directory, "source-*").use { stream ->
+                stream.filter { it.fileName.toString() !in liveFileNames }
+                    .filter { Files.getLastModifiedTime(it).toMillis() < threshold }
+                    .forEach { Files.deleteIfExists(it) }
+            }
+        }
+    }
+
+    private fun encodeMetadata(artifact: PersistedScriptArtifact): JsonObject {
+        val entrypoints = JsonObject()
+        for ((environment, byClass) in artifact.entrypoints) {
+            val classes = JsonObject()
+            for ((className, descriptors) in byClass.toSortedMap()) {
+                classes.add(className, JsonArray().apply {
+                    descriptors.forEach { descriptor ->
+                        add(JsonObject().apply {
+                            addProperty("method", descriptor.methodName)
+                            addProperty("descriptor", descriptor.methodDescriptor)
+                        })
+                    }
+                })
+            }
+            entrypoints.add(environment.name.lowercase(), classes)
+        }
+        return JsonObject().apply {
+            addProperty("format", FORMAT_VERSION)
+            addProperty("cacheKey", artifact.cacheKey)
+            addProperty("rootClass", artifact.rootClassName)
+            add("entrypoints", entrypoints)
+            add("classHashes", JsonObject().apply {
+                artifact.classHashes.toSortedMap().forEach { (className, hash) -> addProperty(className, hash) }
+            })
+        }
+    }
+
+    private fun decodeEntrypoints(json: JsonObject?): Map<ScriptEnvironment, Map<String, List<EntrypointDescriptor>>> {
+        if (json == null) return emptyMap()
+        return ScriptEnvironment.entries.associateWith { environment ->
+            val classes = json.getAsJsonObject(environment.name.lowercase()) ?: return@associateWith emptyMap()
+            classes.entrySet().associate { (className, methods) ->
+                className to methods.asJsonArray.map { element ->
+                    val method = element.asJsonObject
+                    EntrypointDescriptor(
+                        className = className,
+                        methodName = method.get("method").asString,
+                        methodDescriptor = method.get("descriptor").asString
+                    )
+                }
+            }
+        }
+    }
+}
+
+/**
+ * Defines classes of a [PersistedScriptArtifact] straight from its stored bytes.
+ * Delegation is parent-first, matching the loader used by the Kotlin scripting host.
+ */
+internal class PersistedScriptClassLoader(
+    private val outputFiles: Map<String, ByteArray>,
+    parent: ClassLoader?
+) : ClassLoader(parent) {
+
+    override fun findClass(name: String): Class<*> {
+        val bytes = outputFiles["${name.replace('.', '/')}.class"] ?: throw ClassNotFoundException(name)
+        return defineClass(name, bytes, 0, bytes.size)
+    }
+
+    override fun getResourceAsStream(name: String): java.io.InputStream? {
+        return super.getResourceAsStream(name) ?: outputFiles[name]?.inputStream()
+    }
+}
+
+/**
+ * Parent of a unit's [PersistedScriptClassLoader] when the unit depends on other
+ * units: classes are looked up in [parent] first and then in each dependency
+ * unit's loader, in declaration order.
+ */
+internal class DependencyUnitClassLoader(
+    parent: ClassLoader,
+    private val dependencies: List<ClassLoader>
+) : ClassLoader(parent) {
+
+    override fun findClass(name: String): Class<*> {
+        for (dependency in dependencies) {
+            try {
+                return dependency.loadClass(name)
+            } catch (_: ClassNotFoundException) {
+            }
+        }
+        throw ClassNotFoundException(name)
+    }
+}
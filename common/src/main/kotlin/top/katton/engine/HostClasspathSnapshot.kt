@@ -0,0 +1,79 @@
+package top.katton.engine
+
+import com.google.gson.JsonArray
+import com.google.gson.JsonObject
+import com.google.gson.JsonParser
+import top.katton.api.LOGGER
+import java.io.File
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardCopyOption
+import java.security.MessageDigest
+
+/**
+ * Persists the resolved host classpath between JVM launches.
+ *
+ * Resolution canonicalises every launcher classpath entry, which is slow with the
+ * hundreds of jars loaders expose. The snapshot is keyed by a fingerprint of the
+ * raw, uncanonicalised candidates (path, size and modification time), so it is
+ * reused only while the launcher classpath and the installed mods are unchanged.
+ */
+internal object HostClasspathSnapshot {
+
+    private const val FORMAT_VERSION = 1
+    private const val FILE_NAME = "host-classpath.json"
+
+    fun fingerprint(candidates: Collection<File>, hostFingerprint: String): String {
+        val digest = MessageDigest.getInstance("SHA-256")
+        digest.update("katton-host-classpath-v$FORMAT_VERSION".toByteArray(StandardCharsets.UTF_8))
+        digest.update(hostFingerprint.toByteArray(StandardCharsets.UTF_8))
+        digest.update(0)
+        candidates.forEach { file ->
+            digest.update(file.path.toByteArray(StandardCharsets.UTF_8))
+            digest.update(0)
+            digest.update("${file.length()}:${file.lastModified()}".toByteArray(StandardCharsets.UTF_8))
+            digest.update(0)
+        }
+        return digest.digest().joinToString("") { "%02x".format(it) }
+    }
+
+    /**
+     * Returns the stored entries when the snapshot in [directory] was written for
+     * [fingerprint], or null when it is missing, stale or unreadable.
+     */
+    fun read(directory: Path, fingerprint: String): List<File>? {
+        val file = directory.resolve(FILE_NAME)
+        if (!Files.isRegularFile(file)) return null
+        return runCatching {
+            val root = JsonParser.parseString(Files.readString(file, StandardCharsets.UTF_8)).asJsonObject
+            if (root.get("format")?.asInt != FORMAT_VERSION) return null
+            if (root.get("fingerprint")?.asString != fingerprint) return null
+            root.getAsJsonArray("entries").map { File(it.asString) }
+        }.getOrElse {
+            LOGGER.warn("Ignoring unreadable host classpath snapshot {}", file, it)
+            null
+        }
+    }
+
+    fun write(directory: Path, fingerprint: String, entries: List<File>) {
+        val file = directory.resolve(FILE_NAME)
+        runCatching {
+            Files.createDirectories(directory)
+            val json = JsonObject().apply {
+                addProperty("format", FORMAT_VERSION)
+                addProperty("fingerprint", fingerprint)
+                add("entries", JsonArray().apply { entries.forEach { add(it.path) } })
+            }
+            val tempFile = Files.createTempFile(directory, FILE_NAME, ".tmp")
+            try {
+                Files.writeString(tempFile, json.toString(), StandardCharsets.UTF_8)
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE)
+            } finally {
+                Files.deleteIfExists(tempFile)
+            }
+        }.onFailure {
+            LOGGER.warn("Failed to persist host classpath snapshot to {}", file, it)
+        }
+    }
+}
@@ -1,14 +1,15 @@
 package top.katton.engine
 
 import com.mojang.logging.LogUtils
-import net.bytebuddy.ByteBuddy
 import net.bytebuddy.agent.ByteBuddyAgent
-import net.bytebuddy.asm.Advice
 import net.bytebuddy.dynamic.ClassFileLocator
-import net.bytebuddy.dynamic.loading.ClassReloadingStrategy
-import net.bytebuddy.implementation.bytecode.assign.Assigner
-import net.bytebuddy.matcher.ElementMatchers
 import java.lang.instrument.ClassDefinition
+import java.lang.invoke.CallSite
+import java.lang.invoke.ConstantCallSite
+import java.lang.invoke.MethodHandle
+import java.lang.invoke.MethodHandles
+import java.lang.invoke.MethodType
+import java.lang.invoke.MutableCallSite
 import java.lang.reflect.Constructor
 import java.lang.reflect.Method
 import java.util.UUID
@@ -19,8 +20,19 @@ import java.util.concurrent.CopyOnWriteArrayList
  * Runtime method injection manager for `unsafe` APIs.
  *
  * Method hooks are applied by rewriting the target bytecode with ASM and then
- * redefining the declaring class in place. Constructor hooks still use
- * ByteBuddy Advice because their current requirements are simpler.
+ * redefining the declaring class in place. The rewritten method enters through
+ * an `invokedynamic` call site bound to a [MutableCallSite] of its [MethodTarget];
+ * the site is relinked whenever the target's handlers change, and while no
+ * handler is registered it is a constant `null` the JIT folds away. Constructor
+ * hooks go through the same transformer: only the hooked constructor gets an
+ * `invokedynamic` site at its start and before each return, bound to its
+ * [ConstructorTarget].
+ *
+ * Every redefinition starts from the bytes a class had before it was first
+ * instrumented. Members whose last handler is rolled back lose their hooks, and
+ * a class with no hooked member left is redefined back to its original bytecode.
+ * Between [beginReload] and [endReload] class changes are queued and applied in
+ * one `redefineClasses` call.
  *
  * Notes:
  * - This is experimental and intentionally has no extra sandbox.
@@ -34,123 +46,270 @@ internal object InjectionManager {
      *
      * @property method reflected method object being invoked
      * @property instance receiver instance; null for static methods
-     * @property arguments raw argument array
      * @property owner script owner used for reload lifecycle management
      */
-    data class InjectionInvocation(
+    class InjectionInvocation internal constructor(
         val method: Method,
         val instance: Any?,
-        val arguments: Array<Any?>,
-        val owner: String?
+        val owner: String?,
+        private val frame: MethodFrame,
+        private val exitPhase: Boolean
     ) {
-        override fun equals(other: Any?): Boolean {
-            if (this === other) return true
-            if (javaClass != other?.javaClass) return false
+        /**
+         * Raw argument array. Primitive arguments are boxed on first access, and
+         * changes made to the array during the before phase are applied to the call.
+         */
+        val arguments: Array<Any?> get() = frame.arguments
 
-            other as InjectionInvocation
+        /** Reads the argument at [index] without materialising [arguments]. */
+        fun getArgument(index: Int): Any? = frame.argument(index)
 
-            if (method != other.method) return false
-            if (instance != other.instance) return false
-            if (!arguments.contentEquals(other.arguments)) return false
-            if (owner != other.owner) return false
+        /** Mutates target argument at [index] for current invocation. */
+        fun setArgument(index: Int, value: Any?) {
+            arguments[index] = value
+        }
 
-            return true
+        /** Cancels current method execution. */
+        fun cancel() {
+            if (exitPhase) return
+            frame.skip = true
         }
 
-        override fun hashCode(): Int {
-            var result = method.hashCode()
-            result = 31 * result + (instance?.hashCode() ?: 0)
-            result = 31 * result + arguments.contentHashCode()
-            result = 31 * result + (owner?.hashCode() ?: 0)
-            return result
+        /** Cancels current method execution and sets replacement return value. */
+        fun cancelWith(returnValue: Any?) {
+            if (exitPhase) return
+            frame.skip = true
+            frame.overrideReturn = true
+            frame.returnValue = returnValue
         }
 
-        private var enterControl: EnterControl? = null
-        private var exitControl: ExitControl? = null
+        /** Overrides method return value in after phase. */
+        fun setReturnValue(returnValue: Any?) {
+            if (!exitPhase) return
+            frame.exitOverride = true
+            frame.exitValue = returnValue
+        }
+    }
 
-        internal fun bindEnter(control: EnterControl): InjectionInvocation {
-            this.enterControl = control
-            return this
+    /**
+     * State of one intercepted call, shared by its enter and exit dispatch.
+     * Only created while the target has handlers.
+     *
+     * Arguments arrive unboxed: primitives as raw bits in [primitives],
+     * references in [references], laid out by the target. The boxed array is
+     * only built when a handler asks for it.
+     */
+    class MethodFrame internal constructor(
+        internal val target: MethodTarget,
+        internal val instance: Any?,
+        private val primitives: LongArray,
+        private val references: Array<Any?>
+    ) {
+        internal var skip = false
+        internal var overrideReturn = false
+        internal var returnValue: Any? = null
+        internal var exitOverride = false
+        internal var exitValue: Any? = null
+        private var boxed: Array<Any?>? = null
+
+        /** Whether handlers saw the boxed arguments and may have changed them. */
+        internal val argumentsMaterialized: Boolean get() = boxed != null
+
+        internal val arguments: Array<Any?>
+            get() = boxed ?: Array(target.argumentCount) { argument(it) }.also { boxed = it }
+
+        internal fun argument(index: Int): Any? {
+            boxed?.let { return it[index] }
+            val slot = target.argumentSlots[index]
+            val bits = if (target.argumentKinds[index] == KIND_REFERENCE) 0L else primitives[slot]
+            return when (target.argumentKinds[index]) {
+                KIND_BOOLEAN -> bits != 0L
+                KIND_BYTE -> bits.toByte()
+                KIND_CHAR -> bits.toInt().toChar()
+                KIND_SHORT -> bits.toShort()
+                KIND_INT -> bits.toInt()
+                KIND_LONG -> bits
+                KIND_FLOAT -> Float.fromBits(bits.toInt())
+                KIND_DOUBLE -> Double.fromBits(bits)
+                else -> references[slot]
+            }
         }
 
-        internal fun bindExit(control: ExitControl): InjectionInvocation {
-            this.exitControl = control
-            return this
+        /** Whether the exit can return the original outcome without dispatching. */
+        internal fun passesThrough(): Boolean = !skip && target.after.isEmpty()
+    }
+
+    /**
+     * An instrumented method: its handlers and the call site its trampoline
+     * enters through. Handlers are changed through [InjectionManager], which
+     * then [relink]s the call site.
+     */
+    internal class MethodTarget(val key: String, val method: Method) {
+        val before = CopyOnWriteArrayList<BeforeEntry>()
+        val after = CopyOnWriteArrayList<AfterEntry>()
+        val replace = CopyOnWriteArrayList<ReplaceEntry>()
+        val redirect = CopyOnWriteArrayList<RedirectEntry>()
+        val defaultReturn: Any? = defaultReturnValue(method.returnType)
+        private val isStatic = java.lang.reflect.Modifier.isStatic(method.modifiers)
+        private var callSite: MutableCallSite? = null
+
+        // Where each argument lives in a frame: its kind and its index in the
+        // primitive or the reference array.
+        val argumentCount = method.parameterCount
+        val argumentKinds = IntArray(argumentCount) { argumentKind(method.parameterTypes[it]) }
+        val argumentSlots = IntArray(argumentCount)
+        private val primitiveCount: Int
+        private val referenceCount: Int
+
+        init {
+            var primitives = 0
+            var references = 0
+            for (index in 0 until argumentCount) {
+                argumentSlots[index] = if (argumentKinds[index] == KIND_REFERENCE) references++ else primitives++
+            }
+            primitiveCount = primitives
+            referenceCount = references
         }
 
-        /** Mutates target argument at [index] for current invocation. */
-        fun setArgument(index: Int, value: Any?) {
-            arguments[index] = value
-            enterControl?.argumentsModified = true
+        fun isActive(): Boolean =
+            before.isNotEmpty() || after.isNotEmpty() || replace.isNotEmpty() || redirect.isNotEmpty()
+
+        fun clear() {
+            before.clear()
+            after.clear()
+            replace.clear()
+            redirect.clear()
         }
 
-        /** Cancels current method execution. */
-        fun cancel() {
-            val control = enterControl ?: return
-            control.skip = true
+        @Synchronized
+        fun bindCallSite(type: MethodType): CallSite {
+            callSite?.let { if (it.type() == type) return it }
+            val site = MutableCallSite(type)
+            site.target = linkTarget(type)
+            callSite = site
+            return site
         }
 
-        /** Cancels current method execution and sets replacement return value. */
-        fun cancelWith(returnValue: Any?) {
-            val control = enterControl ?: return
-            control.skip = true
-            control.overrideReturn = true
-            control.returnValue = returnValue
+        @Synchronized
+        fun relink() {
+            val site = callSite ?: return
+            site.target = linkTarget(site.type())
+            MutableCallSite.syncAll(arrayOf(site))
         }
 
-        /** Overrides method return value in after phase. */
-        fun setReturnValue(returnValue: Any?) {
-            val control = exitControl ?: return
-            control.overrideReturn = true
-            control.returnValue = returnValue
+        private fun linkTarget(type: MethodType): MethodHandle {
+            if (!isActive()) {
+                return MethodHandles.dropArguments(
+                    MethodHandles.constant(Any::class.java, null).asType(MethodType.methodType(type.returnType())),
+                    0,
+                    type.parameterList()
+                )
+            }
+            // (Object instance, long[] primitives, Object[] references)Object
+            var handle = MethodHandles.insertArguments(ENTER_METHOD, 0, this)
+            handle = if (referenceCount == 0) {
+                MethodHandles.insertArguments(handle, 2, NO_REFERENCES)
+            } else {
+                handle.asCollector(2, Array<Any?>::class.java, referenceCount)
+            }
+            handle = if (primitiveCount == 0) {
+                MethodHandles.insertArguments(handle, 1, NO_PRIMITIVES)
+            } else {
+                handle.asCollector(1, LongArray::class.java, primitiveCount)
+            }
+
+            // (Object, long x primitiveCount, Object x referenceCount) -> declaration order
+            val declared = ArrayList<Class<*>>(argumentCount + 1)
+            declared += Any::class.java
+            val reorder = IntArray(argumentCount + 1)
+            val filters = arrayOfNulls<MethodHandle>(argumentCount)
+            for (index in 0 until argumentCount) {
+                if (argumentKinds[index] == KIND_REFERENCE) {
+                    declared += Any::class.java
+                    reorder[1 + primitiveCount + argumentSlots[index]] = index + 1
+                } else {
+                    declared += java.lang.Long.TYPE
+                    reorder[1 + argumentSlots[index]] = index + 1
+                    filters[index] = PRIMITIVE_BITS[argumentKinds[index]]
+                }
+            }
+            handle = MethodHandles.permuteArguments(handle, MethodType.methodType(Any::class.java, declared), *reorder)
+            handle = MethodHandles.filterArguments(handle, 1, *filters)
+            if (isStatic) {
+                handle = MethodHandles.insertArguments(handle, 0, null)
+            }
+            return handle.asType(type)
         }
     }
 
-    data class MethodEnterResult(
-        val enterState: EnterState?,
-        val arguments: Array<Any?>
-    )
+    /**
+     * An instrumented constructor: its handlers and the call sites at its start
+     * and at its returns. Each site is an empty handle while its phase has no
+     * handler.
+     */
+    internal class ConstructorTarget(val key: String, val constructor: Constructor<*>) {
+        val before = CopyOnWriteArrayList<ConstructorBeforeEntry>()
+        val after = CopyOnWriteArrayList<ConstructorAfterEntry>()
+        private var enterSite: MutableCallSite? = null
+        private var exitSite: MutableCallSite? = null
 
-    data class MethodExitResult(
-        val result: Any?,
-        val throwable: Throwable?
-    )
+        fun isActive(): Boolean = before.isNotEmpty() || after.isNotEmpty()
 
-    internal data class EnterControl(
-        var skip: Boolean = false,
-        var overrideReturn: Boolean = false,
-        var returnValue: Any? = null,
-        var argumentsModified: Boolean = false
-    )
+        fun clear() {
+            before.clear()
+            after.clear()
+        }
 
-    internal data class ExitControl(
-        var overrideReturn: Boolean = false,
-        var returnValue: Any? = null
-    )
+        @Synchronized
+        fun bindCallSite(name: String, type: MethodType): CallSite {
+            val exit = name == CONSTRUCTOR_EXIT
+            (if (exit) exitSite else enterSite)?.let { if (it.type() == type) return it }
+            val site = MutableCallSite(type)
+            site.target = linkTarget(exit, type)
+            if (exit) exitSite = site else enterSite = site
+            return site
+        }
 
-    internal data class EnterState(
-        val returnValue: Any?
-    )
+        @Synchronized
+        fun relink() {
+            val sites = listOfNotNull(enterSite, exitSite)
+            if (sites.isEmpty()) return
+            for (site in sites) {
+                site.target = linkTarget(site === exitSite, site.type())
+            }
+            MutableCallSite.syncAll(sites.toTypedArray())
+        }
 
-    private data class BeforeEntry(
+        private fun linkTarget(exit: Boolean, type: MethodType): MethodHandle {
+            if ((if (exit) after else before).isEmpty()) {
+                return MethodHandles.empty(type)
+            }
+            // The exit site also takes the constructed instance before the arguments.
+            val handle = MethodHandles.insertArguments(if (exit) EXIT_CONSTRUCTOR else ENTER_CONSTRUCTOR, 0, this)
+            val argumentCount = type.parameterCount() - if (exit) 1 else 0
+            return handle.asCollector(Array<Any?>::class.java, argumentCount).asType(type)
+        }
+    }
+
+    internal data class BeforeEntry(
         val id: String,
         val owner: String?,
         val handler: (InjectionInvocation) -> Unit
     )
 
-    private data class AfterEntry(
+    internal data class AfterEntry(
         val id: String,
         val owner: String?,
         val handler: (InjectionInvocation, Any?, Throwable?) -> Unit
     )
 
-    private data class ReplaceEntry(
+    internal data class ReplaceEntry(
         val id: String,
         val owner: String?,
         val handler: (InjectionInvocation) -> Any?
     )
 
-    private data class RedirectEntry(
+    internal data class RedirectEntry(
         val id: String,
         val owner: String?,
         val target: Method
@@ -185,13 +344,13 @@ internal object InjectionManager {
         }
     }
 
-    private data class ConstructorBeforeEntry(
+    internal data class ConstructorBeforeEntry(
         val id: String,
         val owner: String?,
         val handler: (ConstructorInvocation) -> Unit
     )
 
-    private data class ConstructorAfterEntry(
+    internal data class ConstructorAfterEntry(
         val id: String,
         val owner: String?,
         val handler: (ConstructorInvocation) -> Unit
@@ -200,6 +359,7 @@ internal object InjectionManager {
     private data class HandleMeta(
         val id: String,
         val owner: String?,
+        val targetClass: Class<*>,
         val targetKey: String,
         val phase: Phase
     )
@@ -225,15 +385,26 @@ internal object InjectionManager {
         val phase: Phase
     )
 
-    private val instrumentedTargets = ConcurrentHashMap.newKeySet<String>()
-    private val instrumentedMethodsByClass = ConcurrentHashMap<String, CopyOnWriteArrayList<Method>>()
-    private val instrumentedMethodRegistry = ConcurrentHashMap<String, Method>()
-    private val beforeHandlers = ConcurrentHashMap<String, CopyOnWriteArrayList<BeforeEntry>>()
-    private val afterHandlers = ConcurrentHashMap<String, CopyOnWriteArrayList<AfterEntry>>()
-    private val replaceHandlers = ConcurrentHashMap<String, CopyOnWriteArrayList<ReplaceEntry>>()
-    private val redirectHandlers = ConcurrentHashMap<String, CopyOnWriteArrayList<RedirectEntry>>()
-    private val constructorBeforeHandlers = ConcurrentHashMap<String, CopyOnWriteArrayList<ConstructorBeforeEntry>>()
-    private val constructorAfterHandlers = ConcurrentHashMap<String, CopyOnWriteArrayList<ConstructorAfterEntry>>()
+    /**
+     * A class redefined by this manager, with the bytes it had before the first
+     * redefinition and the members currently instrumented in it.
+     */
+    private class InstrumentedClass(val type: Class<*>, val originalBytes: ByteArray) {
+        val methods = CopyOnWriteArrayList<Method>()
+        val constructors = CopyOnWriteArrayList<Constructor<*>>()
+
+        fun isEmpty(): Boolean = methods.isEmpty() && constructors.isEmpty()
+    }
+
+    private val instrumentedClasses = ConcurrentHashMap<Class<*>, InstrumentedClass>()
+
+    /** Whether a reload is running scripts; class redefinitions wait for [endReload]. */
+    private var reloadBatch = false
+
+    /** Classes whose hooks changed during the current reload batch, with the members the batch hooked in them. */
+    private val pendingClasses = LinkedHashMap<InstrumentedClass, BatchMembers>()
+    private val methodTargets = ConcurrentHashMap<String, MethodTarget>()
+    private val constructorTargets = ConcurrentHashMap<String, ConstructorTarget>()
     private val handles = ConcurrentHashMap<String, HandleMeta>()
 
     private fun targetKey(method: Method): String {
@@ -249,6 +420,9 @@ internal object InjectionManager {
         return "${constructor.declaringClass.name}#<init>($params)"
     }
 
+    @JvmStatic
+    fun constructorKeyForVisitor(constructor: Constructor<*>): String = constructorKey(constructor)
+
     private fun findMethod(targetClass: Class<*>, methodName: String, parameterTypes: List<Class<*>>): Method {
         var current: Class<*>? = targetClass
         while (current != null) {
@@ -280,7 +454,6 @@ internal object InjectionManager {
         }
     }
 
-    @Suppress("RemoveRedundantQualifierName")
     private fun defaultReturnValue(type: Class<*>): Any? {
         if (!type.isPrimitive || type == Void.TYPE) return null
         return when (type) {
@@ -296,104 +469,411 @@ internal object InjectionManager {
         }
     }
 
+    private const val KIND_REFERENCE = 0
+    private const val KIND_BOOLEAN = 1
+    private const val KIND_BYTE = 2
+    private const val KIND_CHAR = 3
+    private const val KIND_SHORT = 4
+    private const val KIND_INT = 5
+    private const val KIND_LONG = 6
+    private const val KIND_FLOAT = 7
+    private const val KIND_DOUBLE = 8
+
+    private fun argumentKind(type: Class<*>): Int = when (type) {
+        java.lang.Boolean.TYPE -> KIND_BOOLEAN
+        java.lang.Byte.TYPE -> KIND_BYTE
+        java.lang.Character.TYPE -> KIND_CHAR
+        java.lang.Short.TYPE -> KIND_SHORT
+        java.lang.Integer.TYPE -> KIND_INT
+        java.lang.Long.TYPE -> KIND_LONG
+        java.lang.Float.TYPE -> KIND_FLOAT
+        java.lang.Double.TYPE -> KIND_DOUBLE
+        else -> KIND_REFERENCE
+    }
+
+    private val NO_PRIMITIVES = LongArray(0)
+    private val NO_REFERENCES = arrayOfNulls<Any?>(0)
+
+    private val ENTER_METHOD: MethodHandle = MethodHandles.lookup().findStatic(
+        InjectionManager::class.java,
+        "enterMethod",
+        MethodType.methodType(
+            Any::class.java,
+            MethodTarget::class.java,
+            Any::class.java,
+            LongArray::class.java,
+            Array<Any?>::class.java
+        )
+    )
+
+    /**
+     * Converts a primitive argument of each kind to the raw bits stored in a
+     * frame. Null where `asType` widening already does it.
+     */
+    private val PRIMITIVE_BITS: Array<MethodHandle?> = arrayOfNulls<MethodHandle>(KIND_DOUBLE + 1).also {
+        val lookup = MethodHandles.lookup()
+        fun bits(name: String, type: Class<*>) = lookup.findStatic(
+            InjectionManager::class.java,
+            name,
+            MethodType.methodType(java.lang.Long.TYPE, type)
+        )
+        it[KIND_BOOLEAN] = bits("booleanBits", java.lang.Boolean.TYPE)
+        it[KIND_FLOAT] = bits("floatBits", java.lang.Float.TYPE)
+        it[KIND_DOUBLE] = bits("doubleBits", java.lang.Double.TYPE)
+    }
+
     @JvmStatic
-    fun createEnterControl(): EnterControl = EnterControl()
+    private fun booleanBits(value: Boolean): Long = if (value) 1L else 0L
 
     @JvmStatic
-    fun createExitControl(): ExitControl = ExitControl()
+    private fun floatBits(value: Float): Long = value.toRawBits().toLong()
 
     @JvmStatic
-    fun defaultReturnValueFor(type: Class<*>): Any? = defaultReturnValue(type)
+    private fun doubleBits(value: Double): Long = value.toRawBits()
 
+    /**
+     * Bootstrap of the `invokedynamic` instruction at the start of each
+     * instrumented method. The call site takes the receiver (instance methods
+     * only) and the arguments, and returns a [MethodFrame] or null when the
+     * original body should run untouched.
+     */
     @JvmStatic
-    fun dispatchMethodEnterByKey(methodKey: String, instance: Any?, args: Array<Any?>): MethodEnterResult {
-        val method = instrumentedMethodRegistry[methodKey] ?: error("Instrumented method not found: $methodKey")
-        val enterControl = createEnterControl()
-        dispatchBefore(method, instance, args, enterControl)
-        val enterState = if (enterControl.skip) {
-            val returnValue = if (enterControl.overrideReturn) {
-                enterControl.returnValue
-            } else {
-                defaultReturnValueFor(method.returnType)
+    fun bootstrapMethodEnter(lookup: MethodHandles.Lookup, name: String, type: MethodType, methodKey: String): CallSite {
+        // A site still linking while its class is being restored, or after a
+        // failed restore, must not fail the calling thread: it runs the original body.
+        val target = methodTargets[methodKey] ?: return unlinked(methodKey, type)
+        return target.bindCallSite(type)
+    }
+
+    private const val CONSTRUCTOR_EXIT = "exit"
+
+    private val ENTER_CONSTRUCTOR: MethodHandle = MethodHandles.lookup().findStatic(
+        InjectionManager::class.java,
+        "enterConstructor",
+        MethodType.methodType(Void.TYPE, ConstructorTarget::class.java, Array<Any?>::class.java)
+    )
+
+    private val EXIT_CONSTRUCTOR: MethodHandle = MethodHandles.lookup().findStatic(
+        InjectionManager::class.java,
+        "exitConstructor",
+        MethodType.methodType(Void.TYPE, ConstructorTarget::class.java, Any::class.java, Array<Any?>::class.java)
+    )
+
+    /**
+     * Bootstrap of the `invokedynamic` instructions of an instrumented
+     * constructor: `enter` before the super constructor call, taking the
+     * arguments, and `exit` before each return, taking the instance and the
+     * arguments.
+     */
+    @JvmStatic
+    fun bootstrapConstructor(lookup: MethodHandles.Lookup, name: String, type: MethodType, constructorKey: String): CallSite {
+        val target = constructorTargets[constructorKey] ?: return unlinked(constructorKey, type)
+        return target.bindCallSite(name, type)
+    }
+
+    private fun unlinked(key: String, type: MethodType): CallSite {
+        logger.debug("[Katton Unsafe] no injection target for {}, linking a no-op site", key)
+        return ConstantCallSite(MethodHandles.empty(type))
+    }
+
+    @JvmStatic
+    private fun enterConstructor(target: ConstructorTarget, args: Array<Any?>) {
+        for (entry in target.before) {
+            runCatching {
+                entry.handler(ConstructorInvocation(target.constructor, null, args, entry.owner))
+            }.onFailure {
+                logger.error("[Katton Unsafe] constructor before handler failed at {}", target.key, it)
+            }
+        }
+    }
+
+    @JvmStatic
+    private fun exitConstructor(target: ConstructorTarget, instance: Any?, args: Array<Any?>) {
+        for (entry in target.after) {
+            runCatching {
+                entry.handler(ConstructorInvocation(target.constructor, instance, args, entry.owner))
+            }.onFailure {
+                logger.error("[Katton Unsafe] constructor after handler failed at {}", target.key, it)
             }
-            EnterState(returnValue)
-        } else {
-            null
         }
-        return MethodEnterResult(enterState, args)
     }
 
     @JvmStatic
-    fun methodEnterArguments(result: MethodEnterResult): Array<Any?> = result.arguments
+    private fun enterMethod(target: MethodTarget, instance: Any?, primitives: LongArray, references: Array<Any?>): Any {
+        val frame = MethodFrame(target, instance, primitives, references)
+        dispatchBefore(frame)
+        if (frame.skip && !frame.overrideReturn) {
+            frame.returnValue = target.defaultReturn
+        }
+        return frame
+    }
+
+    @JvmStatic
+    fun frameArgumentsModified(frame: MethodFrame): Boolean = frame.argumentsMaterialized
+
+    @JvmStatic
+    fun frameArguments(frame: MethodFrame): Array<Any?> = frame.arguments
 
     @JvmStatic
-    fun methodEnterState(result: MethodEnterResult): EnterState? = result.enterState
+    fun frameSkipsOriginal(frame: MethodFrame): Boolean = frame.skip
 
+    /**
+     * Runs the after handlers of [frame] and returns the value the method
+     * returns, or throws what it throws.
+     */
     @JvmStatic
-    fun dispatchMethodExitByKey(
-        methodKey: String,
-        instance: Any?,
-        args: Array<Any?>,
-        result: Any?,
-        throwable: Throwable?,
-        enterState: EnterState?
-    ): MethodExitResult {
-        val method = instrumentedMethodRegistry[methodKey] ?: error("Instrumented method not found: $methodKey")
+    fun exitMethod(frame: MethodFrame, result: Any?, throwable: Throwable?): Any? {
         var mutableResult = result
         var mutableThrowable = throwable
 
-        if (enterState != null) {
-            mutableResult = enterState.returnValue
+        if (frame.skip) {
+            mutableResult = frame.returnValue
             mutableThrowable = null
         }
 
-        val exitControl = createExitControl()
-        dispatchAfter(method, instance, args, mutableResult, mutableThrowable, exitControl)
+        dispatchAfter(frame, mutableResult, mutableThrowable)
 
-        if (exitControl.overrideReturn) {
-            mutableResult = exitControl.returnValue
+        if (frame.exitOverride) {
+            mutableResult = frame.exitValue
             mutableThrowable = null
         }
 
-        return MethodExitResult(mutableResult, mutableThrowable)
+        if (mutableThrowable != null) throw mutableThrowable
+        return mutableResult
+    }
+
+    // Typed exits for the common primitive return types: without after
+    // handlers or a skipped body the result is returned without boxing.
+
+    @JvmStatic
+    fun exitMethodBoolean(frame: MethodFrame, result: Boolean, throwable: Throwable?): Boolean {
+        if (frame.passesThrough()) {
+            if (throwable != null) throw throwable
+            return result
+        }
+        return exitMethod(frame, result, throwable) as Boolean
+    }
+
+    @JvmStatic
+    fun exitMethodInt(frame: MethodFrame, result: Int, throwable: Throwable?): Int {
+        if (frame.passesThrough()) {
+            if (throwable != null) throw throwable
+            return result
+        }
+        return (exitMethod(frame, result, throwable) as Number).toInt()
+    }
+
+    @JvmStatic
+    fun exitMethodLong(frame: MethodFrame, result: Long, throwable: Throwable?): Long {
+        if (frame.passesThrough()) {
+            if (throwable != null) throw throwable
+            return result
+        }
+        return (exitMethod(frame, result, throwable) as Number).toLong()
     }
 
     @JvmStatic
-    fun methodExitResult(result: MethodExitResult): Any? = result.result
+    fun exitMethodFloat(frame: MethodFrame, result: Float, throwable: Throwable?): Float {
+        if (frame.passesThrough()) {
+            if (throwable != null) throw throwable
+            return result
+        }
+        return (exitMethod(frame, result, throwable) as Number).toFloat()
+    }
 
     @JvmStatic
-    fun methodExitThrowable(result: MethodExitResult): Throwable? = result.throwable
+    fun exitMethodDouble(frame: MethodFrame, result: Double, throwable: Throwable?): Double {
+        if (frame.passesThrough()) {
+            if (throwable != null) throw throwable
+            return result
+        }
+        return (exitMethod(frame, result, throwable) as Number).toDouble()
+    }
 
-    private fun ensureInstrumented(targetClass: Class<*>, method: Method) {
+    private fun ensureInstrumented(targetClass: Class<*>, method: Method): MethodTarget {
         val key = targetKey(method)
-        if (!instrumentedTargets.add(key)) return
+        methodTargets[key]?.let { return it }
+        val target = MethodTarget(key, method)
+        methodTargets.putIfAbsent(key, target)?.let { return it }
+
+        val instrumented = instrumentedClass(targetClass)
+        instrumented.methods.add(method)
+        if (reloadBatch) {
+            pendingClasses.getOrPut(instrumented, ::BatchMembers).methods += method
+            return target
+        }
+        try {
+            redefine(definition(instrumented))
+        } catch (t: Throwable) {
+            instrumented.methods.remove(method)
+            methodTargets.remove(key)
+            throw t
+        }
+        return target
+    }
 
-        val className = targetClass.name
-        val methods = instrumentedMethodsByClass.computeIfAbsent(className) { CopyOnWriteArrayList() }
-        methods.add(method)
-        instrumentedMethodRegistry[key] = method
+    private fun ensureConstructorInstrumented(targetClass: Class<*>, constructor: Constructor<*>): ConstructorTarget {
+        val key = constructorKey(constructor)
+        constructorTargets[key]?.let { return it }
+        val target = ConstructorTarget(key, constructor)
+        constructorTargets.putIfAbsent(key, target)?.let { return it }
+
+        val instrumented = instrumentedClass(targetClass)
+        instrumented.constructors.add(constructor)
+        if (reloadBatch) {
+            pendingClasses.getOrPut(instrumented, ::BatchMembers).constructors += constructor
+            return target
+        }
+        try {
+            redefine(definition(instrumented))
+        } catch (t: Throwable) {
+            instrumented.constructors.remove(constructor)
+            constructorTargets.remove(key)
+            throw t
+        }
+        return target
+    }
 
+    private fun instrumentedClass(targetClass: Class<*>): InstrumentedClass {
+        return instrumentedClasses.computeIfAbsent(targetClass) {
+            val locator = ClassFileLocator.ForClassLoader.of(it.classLoader)
+            InstrumentedClass(it, locator.locate(it.name).resolve())
+        }
+    }
+
+    /**
+     * Builds the definition of [instrumented]'s class from its original bytes
+     * with the hooks of its current members, which is the original bytecode
+     * when it has none left.
+     */
+    private fun definition(instrumented: InstrumentedClass): ClassDefinition {
+        if (instrumented.isEmpty()) {
+            return ClassDefinition(instrumented.type, instrumented.originalBytes)
+        }
+        val bytes = MethodInjectionTransformer.transform(
+            instrumented.originalBytes,
+            instrumented.methods,
+            instrumented.constructors
+        )
+        return ClassDefinition(instrumented.type, bytes)
+    }
+
+    private fun redefine(vararg definitions: ClassDefinition) {
         // Install agent lazily (reuses existing installation if present).
         val instrumentation = ByteBuddyAgent.install()
-        val locator = ClassFileLocator.ForClassLoader.of(targetClass.classLoader)
-        val originalBytes = locator.locate(targetClass.name).resolve()
-        val transformedBytes = MethodInjectionTransformer.transform(originalBytes, methods)
-        instrumentation.redefineClasses(ClassDefinition(targetClass, transformedBytes))
+        instrumentation.redefineClasses(*definitions)
     }
 
-    private fun ensureConstructorInstrumented(targetClass: Class<*>, constructor: Constructor<*>) {
-        val key = constructorKey(constructor)
-        if (!instrumentedTargets.add(key)) return
+    /** Members whose hooks are being dropped from a class. */
+    private class IdleMembers(val methods: List<Method>, val constructors: List<Constructor<*>>)
 
-        ByteBuddyAgent.install()
+    /** Members first hooked during the current reload batch. */
+    private class BatchMembers {
+        val methods = mutableListOf<Method>()
+        val constructors = mutableListOf<Constructor<*>>()
 
-        ByteBuddy()
-            .redefine(targetClass)
-            .visit(
-                Advice.to(UniversalConstructorAdvice::class.java).on(ElementMatchers.isConstructor())
-            )
-            .make()
-            .load(targetClass.classLoader, ClassReloadingStrategy.fromInstalledAgent())
+        fun isEmpty(): Boolean = methods.isEmpty() && constructors.isEmpty()
+    }
+
+    /**
+     * Takes the members of [instrumented] that have no handler left out of its
+     * hooked set, or returns null when there are none. Their targets stay
+     * registered until [finishRelease] confirms the class was redefined.
+     */
+    private fun dropIdle(instrumented: InstrumentedClass): IdleMembers? {
+        val idleMethods = instrumented.methods.filter { methodTargets[targetKey(it)]?.isActive() != true }
+        val idleConstructors = instrumented.constructors.filter { constructorTargets[constructorKey(it)]?.isActive() != true }
+        if (idleMethods.isEmpty() && idleConstructors.isEmpty()) return null
+
+        instrumented.methods.removeAll(idleMethods.toSet())
+        instrumented.constructors.removeAll(idleConstructors.toSet())
+        return IdleMembers(idleMethods, idleConstructors)
+    }
+
+    /** The class was redefined without the [idle] members: forget their targets. */
+    private fun finishRelease(instrumented: InstrumentedClass, idle: IdleMembers?) {
+        if (idle != null) {
+            for (method in idle.methods) {
+                methodTargets.remove(targetKey(method))
+            }
+            for (constructor in idle.constructors) {
+                constructorTargets.remove(constructorKey(constructor))
+            }
+        }
+        if (instrumented.isEmpty()) {
+            instrumentedClasses.remove(instrumented.type)
+        }
+    }
+
+    /** The class could not be redefined and keeps the hooks of the [idle] members. */
+    private fun abortRelease(instrumented: InstrumentedClass, idle: IdleMembers?) {
+        if (idle == null) return
+        instrumented.methods.addAll(idle.methods)
+        instrumented.constructors.addAll(idle.constructors)
+    }
+
+    /**
+     * The batch could not hook the [added] members of [instrumented]: drops them
+     * with their targets and the handles injected into them, so later
+     * redefinitions of the class do not carry them, and reports the failure to
+     * the owning scripts.
+     */
+    private fun discardBatchMembers(instrumented: InstrumentedClass, added: BatchMembers?, error: Throwable) {
+        if (added == null || added.isEmpty()) return
+        instrumented.methods.removeAll(added.methods.toSet())
+        instrumented.constructors.removeAll(added.constructors.toSet())
+        val keys = HashSet<String>()
+        for (method in added.methods) {
+            val key = targetKey(method)
+            methodTargets.remove(key)
+            keys += key
+        }
+        for (constructor in added.constructors) {
+            val key = constructorKey(constructor)
+            constructorTargets.remove(key)
+            keys += key
+        }
+        val dropped = handles.values.filter { it.targetKey in keys }
+        dropped.forEach { handles.remove(it.id) }
+        if (instrumented.isEmpty()) {
+            instrumentedClasses.remove(instrumented.type)
+        }
+
+        val members = added.methods.map { it.name } + added.constructors.map { "<init>" }
+        ScriptIssueReporter.report(
+            title = "Katton injection failed",
+            detail = buildString {
+                appendLine("Could not instrument ${instrumented.type.name}; these hooks are not active:")
+                members.distinct().forEach { appendLine("- $it") }
+                val owners = dropped.mapNotNull { it.owner }.distinct()
+                if (owners.isNotEmpty()) {
+                    appendLine("Injected by: ${owners.joinToString()}")
+                }
+                appendLine()
+                append(error.stackTraceToString())
+            }
+        )
+    }
+
+    /**
+     * Redefines [targetClass] without the hooks of members that have no handler
+     * left, restoring its original bytecode once nothing in it is hooked.
+     */
+    private fun releaseIdle(targetClass: Class<*>) {
+        val instrumented = instrumentedClasses[targetClass] ?: return
+        if (reloadBatch) {
+            // endReload releases every idle member of every class.
+            pendingClasses.getOrPut(instrumented, ::BatchMembers)
+            return
+        }
+        val idle = dropIdle(instrumented) ?: return
+        try {
+            redefine(definition(instrumented))
+            finishRelease(instrumented, idle)
+        } catch (t: Throwable) {
+            abortRelease(instrumented, idle)
+            logger.error("[Katton Unsafe] failed to restore {}", targetClass.name, t)
+        }
     }
 
     @JvmStatic
@@ -414,6 +894,7 @@ internal object InjectionManager {
     }
 
     @JvmStatic
+    @Synchronized
     /**
      * Method-based overload: inject a before handler directly by [Method].
      */
@@ -422,14 +903,12 @@ internal object InjectionManager {
         method: Method,
         handler: (InjectionInvocation) -> Unit
     ): InjectionHandle {
-        val targetClass = method.declaringClass
-        ensureInstrumented(targetClass, method)
+        val target = ensureInstrumented(method.declaringClass, method)
 
-        val key = targetKey(method)
         val id = UUID.randomUUID().toString()
-        beforeHandlers.computeIfAbsent(key) { CopyOnWriteArrayList() }
-            .add(BeforeEntry(id, owner, handler))
-        handles[id] = HandleMeta(id, owner, key, Phase.BEFORE)
+        target.before.add(BeforeEntry(id, owner, handler))
+        handles[id] = HandleMeta(id, owner, target.method.declaringClass, target.key, Phase.BEFORE)
+        target.relink()
 
         return InjectionHandle(id, owner, method.declaringClass.name, method.name, Phase.BEFORE)
     }
@@ -452,6 +931,7 @@ internal object InjectionManager {
     }
 
     @JvmStatic
+    @Synchronized
     /**
      * Method-based overload: inject an after handler directly by [Method].
      */
@@ -460,14 +940,12 @@ internal object InjectionManager {
         method: Method,
         handler: (InjectionInvocation, Any?, Throwable?) -> Unit
     ): InjectionHandle {
-        val targetClass = method.declaringClass
-        ensureInstrumented(targetClass, method)
+        val target = ensureInstrumented(method.declaringClass, method)
 
-        val key = targetKey(method)
         val id = UUID.randomUUID().toString()
-        afterHandlers.computeIfAbsent(key) { CopyOnWriteArrayList() }
-            .add(AfterEntry(id, owner, handler))
-        handles[id] = HandleMeta(id, owner, key, Phase.AFTER)
+        target.after.add(AfterEntry(id, owner, handler))
+        handles[id] = HandleMeta(id, owner, target.method.declaringClass, target.key, Phase.AFTER)
+        target.relink()
 
         return InjectionHandle(id, owner, method.declaringClass.name, method.name, Phase.AFTER)
     }
@@ -487,19 +965,18 @@ internal object InjectionManager {
     }
 
     @JvmStatic
+    @Synchronized
     fun injectReplace(
         owner: String?,
         method: Method,
         handler: (InjectionInvocation) -> Any?
     ): InjectionHandle {
-        val targetClass = method.declaringClass
-        ensureInstrumented(targetClass, method)
+        val target = ensureInstrumented(method.declaringClass, method)
 
-        val key = targetKey(method)
         val id = UUID.randomUUID().toString()
-        replaceHandlers.computeIfAbsent(key) { CopyOnWriteArrayList() }
-            .add(ReplaceEntry(id, owner, handler))
-        handles[id] = HandleMeta(id, owner, key, Phase.REPLACE)
+        target.replace.add(ReplaceEntry(id, owner, handler))
+        handles[id] = HandleMeta(id, owner, target.method.declaringClass, target.key, Phase.REPLACE)
+        target.relink()
 
         return InjectionHandle(id, owner, method.declaringClass.name, method.name, Phase.REPLACE)
     }
@@ -526,19 +1003,18 @@ internal object InjectionManager {
     }
 
     @JvmStatic
+    @Synchronized
     fun injectRedirect(
         owner: String?,
         sourceMethod: Method,
         targetMethod: Method
     ): InjectionHandle {
-        val targetClass = sourceMethod.declaringClass
-        ensureInstrumented(targetClass, sourceMethod)
+        val target = ensureInstrumented(sourceMethod.declaringClass, sourceMethod)
 
-        val key = targetKey(sourceMethod)
         val id = UUID.randomUUID().toString()
-        redirectHandlers.computeIfAbsent(key) { CopyOnWriteArrayList() }
-            .add(RedirectEntry(id, owner, targetMethod.also { it.isAccessible = true }))
-        handles[id] = HandleMeta(id, owner, key, Phase.REDIRECT)
+        target.redirect.add(RedirectEntry(id, owner, targetMethod.also { it.isAccessible = true }))
+        handles[id] = HandleMeta(id, owner, target.method.declaringClass, target.key, Phase.REDIRECT)
+        target.relink()
 
         return InjectionHandle(id, owner, sourceMethod.declaringClass.name, sourceMethod.name, Phase.REDIRECT)
     }
@@ -557,19 +1033,19 @@ internal object InjectionManager {
     }
 
     @JvmStatic
+    @Synchronized
     fun injectConstructorBefore(
         owner: String?,
         constructor: Constructor<*>,
         handler: (ConstructorInvocation) -> Unit
     ): InjectionHandle {
         val targetClass = constructor.declaringClass
-        ensureConstructorInstrumented(targetClass, constructor)
+        val target = ensureConstructorInstrumented(targetClass, constructor)
 
-        val key = constructorKey(constructor)
         val id = UUID.randomUUID().toString()
-        constructorBeforeHandlers.computeIfAbsent(key) { CopyOnWriteArrayList() }
-            .add(ConstructorBeforeEntry(id, owner, handler))
-        handles[id] = HandleMeta(id, owner, key, Phase.CONSTRUCTOR_BEFORE)
+        target.before.add(ConstructorBeforeEntry(id, owner, handler))
+        handles[id] = HandleMeta(id, owner, targetClass, target.key, Phase.CONSTRUCTOR_BEFORE)
+        target.relink()
 
         return InjectionHandle(id, owner, constructor.declaringClass.name, "<init>", Phase.CONSTRUCTOR_BEFORE)
     }
@@ -588,19 +1064,19 @@ internal object InjectionManager {
     }
 
     @JvmStatic
+    @Synchronized
     fun injectConstructorAfter(
         owner: String?,
         constructor: Constructor<*>,
         handler: (ConstructorInvocation) -> Unit
     ): InjectionHandle {
         val targetClass = constructor.declaringClass
-        ensureConstructorInstrumented(targetClass, constructor)
+        val target = ensureConstructorInstrumented(targetClass, constructor)
 
-        val key = constructorKey(constructor)
         val id = UUID.randomUUID().toString()
-        constructorAfterHandlers.computeIfAbsent(key) { CopyOnWriteArrayList() }
-            .add(ConstructorAfterEntry(id, owner, handler))
-        handles[id] = HandleMeta(id, owner, key, Phase.CONSTRUCTOR_AFTER)
+        target.after.add(ConstructorAfterEntry(id, owner, handler))
+        handles[id] = HandleMeta(id, owner, targetClass, target.key, Phase.CONSTRUCTOR_AFTER)
+        target.relink()
 
         return InjectionHandle(id, owner, constructor.declaringClass.name, "<init>", Phase.CONSTRUCTOR_AFTER)
     }
@@ -609,16 +1085,22 @@ internal object InjectionManager {
     /**
      * Roll back a single injection by handle id.
      */
+    @Synchronized
     fun rollback(handleId: String): Boolean {
         val meta = handles.remove(handleId) ?: return false
+        val target = methodTargets[meta.targetKey]
+        val constructorTarget = constructorTargets[meta.targetKey]
         when (meta.phase) {
-            Phase.BEFORE -> beforeHandlers[meta.targetKey]?.removeIf { it.id == meta.id }
-            Phase.AFTER -> afterHandlers[meta.targetKey]?.removeIf { it.id == meta.id }
-            Phase.REPLACE -> replaceHandlers[meta.targetKey]?.removeIf { it.id == meta.id }
-            Phase.REDIRECT -> redirectHandlers[meta.targetKey]?.removeIf { it.id == meta.id }
-            Phase.CONSTRUCTOR_BEFORE -> constructorBeforeHandlers[meta.targetKey]?.removeIf { it.id == meta.id }
-            Phase.CONSTRUCTOR_AFTER -> constructorAfterHandlers[meta.targetKey]?.removeIf { it.id == meta.id }
+            Phase.BEFORE -> target?.before?.removeIf { it.id == meta.id }
+            Phase.AFTER -> target?.after?.removeIf { it.id == meta.id }
+            Phase.REPLACE -> target?.replace?.removeIf { it.id == meta.id }
+            Phase.REDIRECT -> target?.redirect?.removeIf { it.id == meta.id }
+            Phase.CONSTRUCTOR_BEFORE -> constructorTarget?.before?.removeIf { it.id == meta.id }
+            Phase.CONSTRUCTOR_AFTER -> constructorTarget?.after?.removeIf { it.id == meta.id }
         }
+        target?.relink()
+        constructorTarget?.relink()
+        releaseIdle(meta.targetClass)
         return true
     }
 
@@ -633,134 +1115,132 @@ internal object InjectionManager {
     @JvmStatic
     /**
      * Called before script reload to clear all dynamic injection registries.
+     * Class redefinitions are queued until [endReload].
      */
+    @Synchronized
     fun beginReload() {
         handles.clear()
-        beforeHandlers.clear()
-        afterHandlers.clear()
-        replaceHandlers.clear()
-        redirectHandlers.clear()
-        constructorBeforeHandlers.clear()
-        constructorAfterHandlers.clear()
+        for (target in methodTargets.values) {
+            target.clear()
+            target.relink()
+        }
+        for (target in constructorTargets.values) {
+            target.clear()
+            target.relink()
+        }
+        reloadBatch = true
     }
 
     @JvmStatic
     /**
-     * Advice enter dispatcher.
+     * Called once the reloaded scripts have run. Applies every class change
+     * queued since [beginReload] in a single redefinition: classes gaining
+     * hooks, and classes whose hooks were not injected again. Hooks added to
+     * a class that cannot be redefined are dropped and reported.
      */
-    fun dispatchBefore(method: Method, instance: Any?, args: Array<Any?>, enterControl: EnterControl) {
-        val key = targetKey(method)
+    @Synchronized
+    fun endReload() {
+        if (!reloadBatch) return
+        reloadBatch = false
+        val changed = LinkedHashMap<InstrumentedClass, IdleMembers?>()
+        for (instrumented in pendingClasses.keys) {
+            changed[instrumented] = null
+        }
+        val added = pendingClasses.toMap()
+        pendingClasses.clear()
+        for (instrumented in instrumentedClasses.values) {
+            val idle = dropIdle(instrumented) ?: continue
+            changed[instrumented] = idle
+        }
+        if (changed.isEmpty()) return
+
+        val definitions = LinkedHashMap<InstrumentedClass, ClassDefinition>()
+        for ((instrumented, idle) in changed) {
+            runCatching { definition(instrumented) }
+                .onSuccess { definitions[instrumented] = it }
+                .onFailure {
+                    abortRelease(instrumented, idle)
+                    discardBatchMembers(instrumented, added[instrumented], it)
+                    logger.error("[Katton Unsafe] failed to instrument {}", instrumented.type.name, it)
+                }
+        }
+        if (definitions.isEmpty()) return
+
+        try {
+            redefine(*definitions.values.toTypedArray())
+            for (instrumented in definitions.keys) {
+                finishRelease(instrumented, changed[instrumented])
+            }
+        } catch (t: Throwable) {
+            // One bad class fails the whole call; retry each so the others still apply.
+            logger.warn("[Katton Unsafe] batched redefinition of {} classes failed, retrying one by one", definitions.size, t)
+            for ((instrumented, definition) in definitions) {
+                try {
+                    redefine(definition)
+                    finishRelease(instrumented, changed[instrumented])
+                } catch (e: Throwable) {
+                    abortRelease(instrumented, changed[instrumented])
+                    discardBatchMembers(instrumented, added[instrumented], e)
+                    logger.error("[Katton Unsafe] failed to redefine {}", instrumented.type.name, e)
+                }
+            }
+        }
+    }
 
-        val replaceEntry = replaceHandlers[key]?.lastOrNull()
+    /**
+     * Runs the replace, redirect and before handlers of [frame].
+     */
+    private fun dispatchBefore(frame: MethodFrame) {
+        val target = frame.target
+        val method = target.method
+        val replaceEntry = target.replace.lastOrNull()
         if (replaceEntry != null) {
             runCatching {
-                val invocation = InjectionInvocation(method, instance, args, replaceEntry.owner).bindEnter(enterControl)
+                val invocation = InjectionInvocation(method, frame.instance, replaceEntry.owner, frame, false)
                 val replaced = replaceEntry.handler(invocation)
                 invocation.cancelWith(replaced)
             }.onFailure {
-                logger.error("[Katton Unsafe] replace handler failed at {}", key, it)
+                logger.error("[Katton Unsafe] replace handler failed at {}", target.key, it)
             }
         }
 
-        val redirectEntry = redirectHandlers[key]?.lastOrNull()
+        val redirectEntry = target.redirect.lastOrNull()
         if (redirectEntry != null) {
             runCatching {
-                val invocation = InjectionInvocation(method, instance, args, redirectEntry.owner).bindEnter(enterControl)
-                val target = redirectEntry.target
-                val receiver = if (java.lang.reflect.Modifier.isStatic(target.modifiers)) null else instance
-                val redirected = target.invoke(receiver, *args)
+                val invocation = InjectionInvocation(method, frame.instance, redirectEntry.owner, frame, false)
+                val redirectTarget = redirectEntry.target
+                val receiver = if (java.lang.reflect.Modifier.isStatic(redirectTarget.modifiers)) null else frame.instance
+                val redirected = redirectTarget.invoke(receiver, *frame.arguments)
                 invocation.cancelWith(redirected)
             }.onFailure {
-                logger.error("[Katton Unsafe] redirect handler failed at {}", key, it)
+                logger.error("[Katton Unsafe] redirect handler failed at {}", target.key, it)
             }
         }
 
-        val entries = beforeHandlers[key] ?: return
-        for (entry in entries) {
+        for (entry in target.before) {
             runCatching {
-                entry.handler(InjectionInvocation(method, instance, args, entry.owner).bindEnter(enterControl))
+                entry.handler(InjectionInvocation(method, frame.instance, entry.owner, frame, false))
             }.onFailure {
-                logger.error("[Katton Unsafe] before handler failed at {}", key, it)
+                logger.error("[Katton Unsafe] before handler failed at {}", target.key, it)
             }
         }
     }
 
-    @JvmStatic
     /**
-     * Advice exit dispatcher.
+     * Runs the after handlers of [frame].
      */
-    fun dispatchAfter(
-        method: Method,
-        instance: Any?,
-        args: Array<Any?>,
-        result: Any?,
-        throwable: Throwable?,
-        exitControl: ExitControl
-    ) {
-        val key = targetKey(method)
-        val entries = afterHandlers[key] ?: return
-        for (entry in entries) {
+    private fun dispatchAfter(frame: MethodFrame, result: Any?, throwable: Throwable?) {
+        val target = frame.target
+        for (entry in target.after) {
             runCatching {
                 entry.handler(
-                    InjectionInvocation(method, instance, args, entry.owner).bindExit(exitControl),
+                    InjectionInvocation(target.method, frame.instance, entry.owner, frame, true),
                     result,
                     throwable
                 )
             }.onFailure {
-                logger.error("[Katton Unsafe] after handler failed at {}", key, it)
-            }
-        }
-    }
-
-    @JvmStatic
-    fun dispatchConstructorBefore(constructor: Constructor<*>, instance: Any?, args: Array<Any?>) {
-        val key = constructorKey(constructor)
-        val entries = constructorBeforeHandlers[key] ?: return
-        for (entry in entries) {
-            runCatching {
-                entry.handler(ConstructorInvocation(constructor, instance, args, entry.owner))
-            }.onFailure {
-                logger.error("[Katton Unsafe] constructor before handler failed at {}", key, it)
-            }
-        }
-    }
-
-    @JvmStatic
-    fun dispatchConstructorAfter(constructor: Constructor<*>, instance: Any?, args: Array<Any?>) {
-        val key = constructorKey(constructor)
-        val entries = constructorAfterHandlers[key] ?: return
-        for (entry in entries) {
-            runCatching {
-                entry.handler(ConstructorInvocation(constructor, instance, args, entry.owner))
-            }.onFailure {
-                logger.error("[Katton Unsafe] constructor after handler failed at {}", key, it)
-            }
-        }
-    }
-
-    @Suppress("unused")
-    class UniversalConstructorAdvice {
-        companion object {
-            @JvmStatic
-            @Advice.OnMethodEnter(suppress = Throwable::class)
-            fun onEnter(
-                @Advice.Origin constructor: Constructor<*>,
-                @Advice.This(optional = true) instance: Any?,
-                @Advice.AllArguments(readOnly = false, typing = Assigner.Typing.DYNAMIC) args: Array<Any?>
-            ) {
-                dispatchConstructorBefore(constructor, instance, args)
-            }
-
-            @JvmStatic
-            @Advice.OnMethodExit(suppress = Throwable::class)
-            fun onExit(
-                @Advice.Origin constructor: Constructor<*>,
-                @Advice.This(optional = true) instance: Any?,
-                @Advice.AllArguments(readOnly = false, typing = Assigner.Typing.DYNAMIC) args: Array<Any?>
-            ) {
-                dispatchConstructorAfter(constructor, instance, args)
+                logger.error("[Katton Unsafe] after handler failed at {}", target.key, it)
             }
         }
     }
 }
-
@@ -5,18 +5,30 @@ package top.katton.engine
 import org.slf4j.LoggerFactory
 import top.katton.pack.ScriptPackScriptFile
 import java.io.ByteArrayOutputStream
+import java.io.InputStream
+import java.io.OutputStream
 import java.lang.management.ManagementFactory
+import java.net.URI
 import java.nio.charset.StandardCharsets
-import java.nio.file.FileSystems
 import java.nio.file.Files
 import java.nio.file.Path
+import java.nio.file.StandardCopyOption
 import java.security.MessageDigest
+import java.util.concurrent.ConcurrentHashMap
+import java.util.jar.Attributes
+import java.util.jar.JarEntry
+import java.util.jar.JarOutputStream
+import java.util.jar.Manifest
 import javax.tools.DiagnosticCollector
+import javax.tools.FileObject
+import javax.tools.ForwardingJavaFileManager
 import javax.tools.JavaCompiler
+import javax.tools.JavaFileManager
 import javax.tools.JavaFileObject
+import javax.tools.SimpleJavaFileObject
+import javax.tools.StandardJavaFileManager
+import javax.tools.StandardLocation
 import javax.tools.ToolProvider
-import kotlin.io.path.bufferedReader
-import kotlin.io.path.createTempDirectory
 
 /**
  * Compiles `.java` source files into a `.jar` with caching based on content hash.
@@ -25,8 +37,14 @@ import kotlin.io.path.createTempDirectory
  * which includes ALL game jars, mod jars, and libraries — same as what Kotlin's
  * `dependenciesFromCurrentContext(wholeClasspath = true)` sees.
  *
+ * **Pipeline**: sources are read from memory and class files are collected in
+ * memory by [InMemoryFileManager]; the jar is written once, nothing else touches the disk.
+ *
  * **Caching**: the compiled jar is stored at `<cacheDir>/java-<sha256-hex>.jar`.
- * If the file exists, javac is skipped entirely.
+ * If the file exists, javac is skipped entirely. Otherwise only the files that
+ * changed since the last compilation in this session, plus the unchanged files
+ * that mention a type declared in them or in another recompiled file, are passed
+ * to javac; the classes of the remaining files are reused from [compiledSources].
  */
 object JavaCompilationUtil {
 
@@ -38,12 +56,28 @@ object JavaCompilationUtil {
         ManagementFactory.getRuntimeMXBean().classPath
     }
 
+    /**
+     * Output of one source file from an earlier successful compilation.
+     *
+     * @property hash SHA-256 of the source bytes
+     * @property classes binary class name to class file bytes
+     */
+    @Suppress("ArrayInDataClass")
+    private data class CompiledJavaSource(
+        val hash: String,
+        val classes: Map<String, ByteArray>
+    )
+
+    /** Keyed by absolute source path, so global and world packs do not evict each other. */
+    private val compiledSources = ConcurrentHashMap<Path, CompiledJavaSource>()
+
     /**
      * Compiles the given `.java` source files. Returns `null` on failure.
      *
      * @param javaFiles the Java source files to compile
      * @param cacheDir  where to store (and look up) cached compilation jars
      */
+    @Synchronized
     fun compileToJar(javaFiles: List<ScriptPackScriptFile>, cacheDir: Path?): Path? {
         if (javaFiles.isEmpty()) return null
         val compiler = javac ?: run {
@@ -62,65 +96,123 @@ object JavaCompilationUtil {
             return cachedJar
         }
 
-        val tempDir = runCatching { createTempDirectory("katton-java-") }.getOrElse {
-            LOGGER.warn("Failed to create temp dir for Java compilation", it)
-            return null
+        val fileHashes = javaFiles.associate { it.absolutePath to sha256(it.bytes) }
+        val recompiled = selectFilesToCompile(javaFiles, fileHashes)
+        compiledSources.keys.removeIf { Files.notExists(it) }
+
+        return try {
+            var classes = if (recompiled.size < javaFiles.size) {
+                LOGGER.info("Incrementally compiling {} of {} Java source files", recompiled.size, javaFiles.size)
+                compile(compiler, javaFiles, recompiled, fileHashes, reportFailure = false)
+            } else {
+                null
+            }
+            if (classes == null) {
+                classes = compile(compiler, javaFiles, javaFiles, fileHashes, reportFailure = true)
+            }
+            classes?.let { writeJar(it, cachedJar) }
+        } catch (e: Exception) {
+            LOGGER.warn("Java compilation exception", e)
+            ScriptIssueReporter.report(
+                title = "Katton Java script compilation failed",
+                detail = e.stackTraceToString()
+            )
+            null
         }
+    }
 
-        val result = try {
-            val fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)
-            val diagnostics = DiagnosticCollector<JavaFileObject>()
+    /**
+     * Returns the files whose classes cannot be reused: new or modified files, and
+     * unchanged files that reference a type declared (now or previously) in one of
+     * them. The selection is transitive: a file that only reaches a changed type
+     * through a dependent (a supertype, a return type, an inherited constant) is
+     * recompiled as well, so no stale class file survives an ABI change.
+     */
+    private fun selectFilesToCompile(
+        javaFiles: List<ScriptPackScriptFile>,
+        fileHashes: Map<Path, String>
+    ): List<ScriptPackScriptFile> {
+        val (unchanged, changed) = javaFiles.partition { compiledSources[it.absolutePath]?.hash == fileHashes[it.absolutePath] }
+        val removed = compiledSources.keys.filter { Files.notExists(it) }
+        if (changed.isEmpty() && removed.isEmpty()) return emptyList()
 
-            // Write .java files to temp dir so javac can resolve package dirs
-            for (file in javaFiles) {
-                val target = tempDir.resolve(file.relativePath)
-                Files.createDirectories(target.parent)
-                Files.write(target, file.bytes)
-            }
+        val selected = changed.toMutableList()
+        var remaining = unchanged
+        var newlyAffected = (changed.map { it.absolutePath } + removed).flatMapTo(HashSet(), ::declaredTypes)
+        while (newlyAffected.isNotEmpty() && remaining.isNotEmpty()) {
+            val typePattern = newlyAffected.joinToString("|", prefix = "\\b(", postfix = ")\\b") { Regex.escape(it) }.toRegex()
+            val (dependents, rest) = remaining.partition { typePattern.containsMatchIn(it.bytes.toString(StandardCharsets.UTF_8)) }
+            selected += dependents
+            remaining = rest
+            newlyAffected = dependents.flatMapTo(HashSet()) { declaredTypes(it.absolutePath) }
+        }
+        return selected
+    }
 
-            val sources = javaFiles.map { tempDir.resolve(it.relativePath).toFile() }
-            val units = fileManager.getJavaFileObjectsFromFiles(sources)
+    /** Simple names of the types declared in [path], by file name and by its last compiled classes. */
+    private fun declaredTypes(path: Path): Set<String> {
+        val types = hashSetOf(path.fileName.toString().removeSuffix(".java"))
+        compiledSources[path]?.classes?.keys?.forEach { types += simpleName(it) }
+        return types
+    }
 
-            val classOutput = tempDir.resolve("classes")
-            Files.createDirectories(classOutput)
+    /**
+     * Runs javac on [toCompile] with the classes of every other file in [javaFiles]
+     * visible on the classpath. Returns all classes of [javaFiles], or null on failure.
+     */
+    private fun compile(
+        compiler: JavaCompiler,
+        javaFiles: List<ScriptPackScriptFile>,
+        toCompile: List<ScriptPackScriptFile>,
+        fileHashes: Map<Path, String>,
+        reportFailure: Boolean
+    ): Map<String, ByteArray>? {
+        val compiledPaths = toCompile.mapTo(HashSet()) { it.absolutePath }
+        val reusedClasses = HashMap<String, ByteArray>()
+        javaFiles.filter { it.absolutePath !in compiledPaths }
+            .forEach { reusedClasses.putAll(compiledSources.getValue(it.absolutePath).classes) }
+        if (toCompile.isEmpty()) return reusedClasses
 
+        val diagnostics = DiagnosticCollector<JavaFileObject>()
+        val standardManager = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)
+        InMemoryFileManager(standardManager, reusedClasses).use { fileManager ->
             val options = listOf(
                 "-classpath", runtimeClasspath,
-                "-d", classOutput.toString(),
                 "-source", System.getProperty("java.specification.version", "25")
             )
-
+            val units = toCompile.map(::InMemorySource)
             val task = compiler.getTask(null, fileManager, diagnostics, options, null, units)
             task.setLocale(java.util.Locale.ROOT)
 
             if (!task.call()) {
-                LOGGER.warn("Java compilation failed for {} source files", javaFiles.size)
+                if (!reportFailure) {
+                    LOGGER.info("Incremental Java compilation failed, recompiling all sources")
+                    return null
+                }
+                LOGGER.warn("Java compilation failed for {} source files", toCompile.size)
                 ScriptIssueReporter.report(
                     title = "Katton Java script compilation failed",
                     detail = buildString {
                         appendLine("Files:")
-                        javaFiles.sortedBy { it.relativePath }.forEach { appendLine("- ${it.relativePath}") }
+                        toCompile.sortedBy { it.relativePath }.forEach { appendLine("- ${it.relativePath}") }
                         appendLine()
                         append(formatJavaDiagnostics(diagnostics))
                     }
                 )
-                null
-            } else {
-                packToJar(classOutput, cacheDir?.resolve("java-$hash.jar"))
+                return null
             }
-        } catch (e: Exception) {
-            LOGGER.warn("Java compilation exception", e)
-            ScriptIssueReporter.report(
-                title = "Katton Java script compilation failed",
-                detail = e.stackTraceToString()
-            )
-            null
-        } finally {
-            // Cleanup temp dir
-            runCatching { Files.walk(tempDir).sorted(Comparator.reverseOrder()).forEach { Files.deleteIfExists(it) } }
-        }
 
-        return result
+            val outputsBySource = fileManager.outputs.groupBy { it.source }
+            for (file in toCompile) {
+                compiledSources[file.absolutePath] = CompiledJavaSource(
+                    hash = fileHashes.getValue(file.absolutePath),
+                    classes = outputsBySource[file.absolutePath].orEmpty().associate { it.binaryName to it.bytes() }
+                )
+            }
+            return reusedClasses.apply {
+                fileManager.outputs.forEach { put(it.binaryName, it.bytes()) }
+            }
+        }
     }
 
     private fun formatJavaDiagnostics(diagnostics: DiagnosticCollector<JavaFileObject>): String {
@@ -146,32 +238,111 @@ object JavaCompilationUtil {
         return digest.digest().joinToString("") { "%02x".format(it) }
     }
 
+    private fun sha256(bytes: ByteArray): String =
+        MessageDigest.getInstance("SHA-256").digest(bytes).joinToString("") { "%02x".format(it) }
+
+    private fun simpleName(binaryName: String): String =
+        binaryName.substringAfterLast('.').substringBefore('$')
+
     /**
-     * Packs compiled `.class` files into a `.jar`.
+     * Writes compiled classes into a `.jar` in one pass, through a temp file so a
+     * partially written jar is never picked up as a cache hit.
      */
-    private fun packToJar(classDir: Path, outputPath: Path?): Path? {
+    private fun writeJar(classes: Map<String, ByteArray>, outputPath: Path?): Path? {
         if (outputPath == null) return null
         runCatching {
             Files.createDirectories(outputPath.parent)
-            val jarFs = FileSystems.newFileSystem(
-                java.net.URI.create("jar:${outputPath.toUri()}"),
-                mapOf("create" to "true")
-            )
-            jarFs.use { fs ->
-                Files.walk(classDir).use { stream ->
-                    stream.filter { Files.isRegularFile(it) && it.toString().endsWith(".class") }
-                        .forEach { classFile ->
-                            val relative = "classDir".let { classDir.relativize(classFile).toString().replace('\\', '/') }
-                            val target = fs.getPath(relative)
-                            Files.createDirectories(target.parent)
-                            Files.copy(classFile, target, java.nio.file.StandardCopyOption.REPLACE_EXISTING)
-                        }
+            val manifest = Manifest().apply { mainAttributes[Attributes.Name.MANIFEST_VERSION] = "1.0" }
+            val tempJar = Files.createTempFile(outputPath.parent, outputPath.fileName.toString(), ".tmp")
+            try {
+                JarOutputStream(Files.newOutputStream(tempJar), manifest).use { jos ->
+                    for ((binaryName, bytes) in classes.toSortedMap()) {
+                        jos.putNextEntry(JarEntry("${binaryName.replace('.', '/')}.class"))
+                        jos.write(bytes)
+                        jos.closeEntry()
+                    }
                 }
+                Files.move(tempJar, outputPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE)
+            } finally {
+                Files.deleteIfExists(tempJar)
             }
-            LOGGER.info("Packed Java classes into {}", outputPath)
+            LOGGER.info("Packed {} Java classes into {}", classes.size, outputPath)
         }.onFailure {
             LOGGER.warn("Failed to pack Java jar", it)
         }
         return if (Files.isRegularFile(outputPath)) outputPath else null
     }
+
+    private class InMemorySource(val file: ScriptPackScriptFile) :
+        SimpleJavaFileObject(file.absolutePath.toUri(), JavaFileObject.Kind.SOURCE) {
+
+        override fun getCharContent(ignoreEncodingErrors: Boolean): CharSequence =
+            file.bytes.toString(StandardCharsets.UTF_8)
+
+        override fun openInputStream(): InputStream = file.bytes.inputStream()
+    }
+
+    private class OutputClass(val binaryName: String, val source: Path?) :
+        SimpleJavaFileObject(classUri(binaryName), JavaFileObject.Kind.CLASS) {
+
+        private val buffer = ByteArrayOutputStream()
+
+        override fun openOutputStream(): OutputStream = buffer
+
+        fun bytes(): ByteArray = buffer.toByteArray()
+    }
+
+    private class ReusedClass(val binaryName: String, private val bytes: ByteArray) :
+        SimpleJavaFileObject(classUri(binaryName), JavaFileObject.Kind.CLASS) {
+
+        override fun openInputStream(): InputStream = bytes.inputStream()
+    }
+
+    /**
+     * Collects class output in memory and exposes [reusedClasses] on the classpath
+     * in front of the standard file manager's entries.
+     */
+    private class InMemoryFileManager(
+        delegate: StandardJavaFileManager,
+        private val reusedClasses: Map<String, ByteArray>
+    ) : ForwardingJavaFileManager<StandardJavaFileManager>(delegate) {
+
+        val outputs = mutableListOf<OutputClass>()
+
+        override fun getJavaFileForOutput(
+            location: JavaFileManager.Location,
+            className: String,
+            kind: JavaFileObject.Kind,
+            sibling: FileObject?
+        ): JavaFileObject {
+            if (location != StandardLocation.CLASS_OUTPUT || kind != JavaFileObject.Kind.CLASS) {
+                return super.getJavaFileForOutput(location, className, kind, sibling)
+            }
+            return OutputClass(className, (sibling as? InMemorySource)?.file?.absolutePath).also(outputs::add)
+        }
+
+        override fun list(
+            location: JavaFileManager.Location,
+            packageName: String,
+            kinds: Set<JavaFileObject.Kind>,
+            recurse: Boolean
+        ): Iterable<JavaFileObject> {
+            val delegated = super.list(location, packageName, kinds, recurse)
+            if (location != StandardLocation.CLASS_PATH || JavaFileObject.Kind.CLASS !in kinds || reusedClasses.isEmpty()) {
+                return delegated
+            }
+            val reused = reusedClasses.filterKeys { binaryName ->
+                val classPackage = binaryName.substringBeforeLast('.', "")
+                classPackage == packageName || (recurse && classPackage.startsWith("$packageName."))
+            }.map { (binaryName, bytes) -> ReusedClass(binaryName, bytes) }
+            return if (reused.isEmpty()) delegated else reused + delegated
+        }
+
+        override fun inferBinaryName(location: JavaFileManager.Location, file: JavaFileObject): String? {
+            return if (file is ReusedClass) file.binaryName else super.inferBinaryName(location, file)
+        }
+    }
+
+    private fun classUri(binaryName: String): URI =
+        URI.create("mem:///${binaryName.replace('.', '/')}.class")
 }
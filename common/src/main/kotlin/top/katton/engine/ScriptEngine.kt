@@ -11,6 +11,7 @@ import top.katton.pack.ScriptPackKind
 import top.katton.pack.ScriptPackScope
 import top.katton.pack.ScriptPackScriptFile
 import top.katton.registry.KattonRegistry
+import top.katton.util.ScriptContext
 import top.katton.util.ScriptExecutionContext
 import java.io.File
 import java.lang.invoke.MethodHandles
@@ -22,20 +23,22 @@ import java.nio.charset.StandardCharsets
 import java.nio.file.Files
 import java.nio.file.Path
 import java.nio.file.Paths
-import java.nio.file.StandardOpenOption
 import java.security.MessageDigest
 import java.util.*
-import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CompletableFuture
 import java.util.concurrent.CountDownLatch
-import java.util.jar.Attributes
-import java.util.jar.JarEntry
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
 import java.util.jar.JarFile
-import java.util.jar.JarOutputStream
-import java.util.jar.Manifest
 import kotlin.io.path.notExists
 import kotlin.jvm.optionals.getOrNull
+import kotlin.reflect.KClass
 import kotlin.script.experimental.api.*
+import kotlin.script.experimental.host.ScriptingHostConfiguration
 import kotlin.script.experimental.host.toScriptSource
+import kotlin.script.experimental.jvm.defaultJvmScriptingHostConfiguration
 import kotlin.script.experimental.jvm.dependenciesFromCurrentContext
 import kotlin.script.experimental.jvm.impl.KJvmCompiledScript
 import kotlin.script.experimental.jvm.jvm
@@ -45,20 +48,38 @@ import kotlin.script.experimental.jvmhost.JvmScriptCompiler
 import kotlin.script.experimental.jvmhost.loadScriptFromJar
 
 /**
- * ScriptEngine compiles source packs together and executes jar packs separately.
+ * ScriptEngine compiles source packs in dependency-ordered units and executes jar packs separately.
  */
 object ScriptEngine {
 
-    private data class CompiledScriptArtifact(
-        val compiledScript: CompiledScript,
-        val cacheJar: Path?
+    /**
+     * A loadable compilation result. Source artifacts carry [restored] and are
+     * loaded from their class bytes so dependent units can chain class loaders;
+     * [compiledScript] is only present when the compiler ran in this session
+     * or the artifact comes from a jar pack.
+     */
+    internal data class CompiledScriptArtifact(
+        val compiledScript: CompiledScript?,
+        val cacheJar: Path?,
+        val entrypoints: Map<ScriptEnvironment, Map<String, List<EntrypointDescriptor>>>,
+        val restored: PersistedScriptArtifact? = null,
+        val classpathJars: List<Path> = emptyList()
     )
 
-    private data class SourceCompilationPlan(
+    /**
+     * Compilation input of one [SourceUnit].
+     *
+     * @property classpathJars everything on the compile classpath, including dependency unit outputs
+     * @property runtimeClasspathJars jar packs and Java output; dependency units are reached through their loaders instead
+     */
+    internal data class SourceCompilationPlan(
+        val unitId: String,
         val sourcePacks: List<ScriptPack>,
         val binaryPacks: List<ScriptPack>,
         val scriptPaths: List<String>,
         val classpathJars: List<Path>,
+        val runtimeClasspathJars: List<Path>,
+        val dependencyUnits: List<String>,
         val cacheKey: String
     )
 
@@ -68,18 +89,61 @@ object ScriptEngine {
         val bytes: ByteArray
     )
 
-    private data class EntrypointDescriptor(
-        val className: String,
-        val methodName: String,
-        val methodDescriptor: String
+    /**
+     * Entrypoints of a compiled module plus the byte hash of every scanned class.
+     */
+    private data class EntrypointIndex(
+        val entrypoints: Map<ScriptEnvironment, Map<String, List<EntrypointDescriptor>>>,
+        val classHashes: Map<String, String>
     )
 
-    private val compiler = JvmScriptCompiler()
+    /**
+     * Scan results keyed by the SHA-256 of the class bytes. Seeded from persisted
+     * artifacts, so recompiling a pack only scans the classes whose bytes changed.
+     */
+    private val entrypointScanCache = BoundedArtifactCache<Map<ScriptEnvironment, List<EntrypointDescriptor>>>(
+        "entrypoint scan", 8192, Long.MAX_VALUE
+    ) { 0L }
+
+    /**
+     * One compiler per thread, each with its own host configuration, so the
+     * compile workers and the warm-up thread never share a compiler instance.
+     * Every call still creates its own compiler environment; only the Kotlin
+     * compiler's application environment is process-wide, and the compiler
+     * guards its creation and disposal itself.
+     */
+    private val compilers = ThreadLocal.withInitial {
+        JvmScriptCompiler(ScriptingHostConfiguration(defaultJvmScriptingHostConfiguration))
+    }
+
+    /**
+     * Number of source units compiled at the same time. Defaults to half the
+     * available cores; override with `-Dkatton.compile.parallelism=<n>`.
+     */
+    private val compileParallelism: Int =
+        (Integer.getInteger("katton.compile.parallelism") ?: (Runtime.getRuntime().availableProcessors() / 2))
+            .coerceAtLeast(1)
+
+    private val compileExecutor: ExecutorService by lazy {
+        val threadIndex = AtomicInteger()
+        Executors.newFixedThreadPool(compileParallelism) { r ->
+            Thread(r, "Katton-ScriptCompile-${threadIndex.incrementAndGet()}").also { it.isDaemon = true }
+        }
+    }
 
     private val externalClasspathJars = mutableListOf<File>()
 
     private val hostClasspath: List<File> by lazy(::resolveHostClasspath)
 
+    /**
+     * Wall-clock time spent resolving [hostClasspath], in milliseconds, or -1 while
+     * it has not been resolved yet.
+     */
+    @JvmStatic
+    @Volatile
+    var hostClasspathResolveMillis: Long = -1
+        private set
+
     @JvmStatic
     fun addHostClasspathJar(file: File) {
         if (file.exists() && file.isFile) {
@@ -90,8 +154,36 @@ object ScriptEngine {
     @Volatile
     private var cacheDirectory: Path? = null
 
-    private val sourceCompileCache = ConcurrentHashMap<String, CompiledScriptArtifact>()
-    private val jarLoadCache = ConcurrentHashMap<String, Optional<CompiledScriptArtifact>>()
+    /** Opt-in with `-Dkatton.compile.warmup=true`. */
+    private val warmUpEnabled: Boolean = java.lang.Boolean.getBoolean("katton.compile.warmup")
+    private val warmUpStarted = AtomicBoolean(false)
+
+    /** Set once a source unit was actually compiled, which already warmed the compile workers. */
+    @Volatile
+    private var compilerUsed = false
+
+    /**
+     * Bounds of the in-memory compile caches, configurable with
+     * `-Dkatton.compile.cache.maxEntries` and `-Dkatton.compile.cache.maxMegabytes`.
+     * Evicted source units are restored from their persisted artifacts when needed again.
+     */
+    private val cacheMaxEntries: Int = (Integer.getInteger("katton.compile.cache.maxEntries") ?: 16).coerceAtLeast(1)
+    private val cacheMaxBytes: Long =
+        (java.lang.Long.getLong("katton.compile.cache.maxMegabytes") ?: 64L).coerceAtLeast(1L) * 1024 * 1024
+
+    private val sourceCompileCache = BoundedArtifactCache<CompiledScriptArtifact>(
+        "source compile", cacheMaxEntries, cacheMaxBytes, ::estimateArtifactSize
+    )
+    private val jarLoadCache = BoundedArtifactCache<Optional<CompiledScriptArtifact>>(
+        "jar load", cacheMaxEntries, cacheMaxBytes
+    ) { artifact -> artifact.getOrNull()?.let(::estimateArtifactSize) ?: 0L }
+
+    /**
+     * Class loaders of executed script generations, held weakly. An entry disappears
+     * once nothing references the generation any more, so the size is the number of
+     * generations still retained by caches, handlers or leaks.
+     */
+    private val scriptGenerationLoaders = Collections.synchronizedMap(WeakHashMap<ClassLoader, Boolean>())
 
     private val baseConfig by lazy {
         ScriptCompilationConfiguration {
@@ -102,6 +194,9 @@ object ScriptEngine {
         }
     }
 
+    private val entrypointAnnotations: Map<String, ScriptEnvironment> =
+        ScriptEnvironment.entries.associateBy { Type.getDescriptor(it.annotationClass) }
+
     private val evaluationConfig = ScriptEvaluationConfiguration {
         enableScriptsInstancesSharing()
     }
@@ -111,14 +206,10 @@ object ScriptEngine {
         cacheDirectory = path?.toAbsolutePath()?.normalize()
     }
 
-    private fun cleanStaleScriptCaches(cacheKey: String) {
+    private fun cleanStaleScriptCaches() {
         val dir = cacheDirectory ?: return
-        runCatching {
-            Files.newDirectoryStream(dir).use { stream ->
-                stream.filter { it.fileName.toString().let { n -> n.startsWith("source-") && n != "source-$cacheKey" } }
-                    .forEach { Files.deleteIfExists(it) }
-            }
-        }
+        val liveFileNames = sourceCompileCache.keys().mapTo(HashSet()) { "source-$it.jar" }
+        CompiledScriptStore.cleanStale(dir, liveFileNames)
     }
 
     private fun cleanStaleJavaCaches(cache: Path) {
@@ -132,35 +223,78 @@ object ScriptEngine {
     }
 
     /**
-     * Writes the compiled class files from an in-memory compiled module into a jar
-     * for inspection. These jars are write-only — the Kotlin scripting compiler's
-     * lazily-loaded-from-classpath mechanism is incompatible with importScripts
-     * compilations, so we always compile fresh in memory.
+     * Starts compiler warm-up on a daemon thread when enabled. The host classpath,
+     * the base compilation configuration and the per-thread compilers of the
+     * [compileExecutor] workers are otherwise initialized by the first real
+     * compilation, which makes the first reload after boot much slower than
+     * later ones. Skipped when a source unit was already compiled, for example
+     * by the global packs at startup.
      */
-    private fun writeCompiledScriptToJar(script: CompiledScript, targetJar: Path) {
-        val module = (script as? KJvmCompiledScript)?.getCompiledModule() as? KJvmCompiledModuleInMemoryImpl ?: return
+    @JvmStatic
+    fun warmUpInBackground() {
+        if (!warmUpEnabled || compilerUsed || !warmUpStarted.compareAndSet(false, true)) return
+        val contextLoader = Thread.currentThread().contextClassLoader
+        Thread(::warmUp, "Katton-CompilerWarmUp").apply {
+            isDaemon = true
+            priority = Thread.MIN_PRIORITY
+            contextClassLoader = contextLoader
+        }.start()
+    }
+
+    private fun warmUp() {
+        val start = System.nanoTime()
         runCatching {
-            Files.createDirectories(targetJar.parent)
-            val manifest = Manifest().apply {
-                mainAttributes[Attributes.Name.MANIFEST_VERSION] = "1.0"
-                mainAttributes.putValue("Created-By", "Katton ScriptEngine")
-            }
-            JarOutputStream(
-                Files.newOutputStream(targetJar, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING),
-                manifest
-            ).use { jos ->
-                for ((entryName, bytes) in module.compilerOutputFiles) {
-                    jos.putNextEntry(JarEntry(entryName))
-                    jos.write(bytes)
-                    jos.closeEntry()
-                }
+            val indexedJars = preIndexClasspathJars()
+            val compilationConfig = createCompilationConfiguration(
+                orderedScriptPaths = emptyList(),
+                classpathJars = emptyList(),
+                cacheJar = null
+            )
+            val warmUpScript = "val kattonWarmUp = listOf(1).size".toScriptSource("KattonWarmUp.kts")
+            val contextLoader = Thread.currentThread().contextClassLoader
+            // A fixed pool starts a new worker for each task submitted while it is below
+            // its size, so on a fresh pool every worker gets one of these compiles.
+            val compiles = List(compileParallelism) {
+                CompletableFuture.supplyAsync({
+                    val thread = Thread.currentThread()
+                    val savedCcl = thread.contextClassLoader
+                    thread.contextClassLoader = contextLoader
+                    try {
+                        runBlocking { compilers.get()(warmUpScript, compilationConfig) } is ResultWithDiagnostics.Success
+                    } finally {
+                        thread.contextClassLoader = savedCcl
+                    }
+                }, compileExecutor)
             }
-            LOGGER.info("Persisted compiled source jar to {}", targetJar)
+            val succeeded = compiles.count { it.join() }
+            LOGGER.info(
+                "Script compiler warm-up finished in {} ms ({} classpath jars indexed, {} of {} compile workers warmed)",
+                (System.nanoTime() - start) / 1_000_000,
+                indexedJars,
+                succeeded,
+                compiles.size
+            )
         }.onFailure {
-            LOGGER.warn("Failed to persist compiled source jar to {}", targetJar, it)
+            LOGGER.warn("Script compiler warm-up failed", it)
         }
     }
 
+    /**
+     * Opens every host classpath jar once so its central directory is read and
+     * the file is in the OS page cache before the compiler scans it.
+     */
+    private fun preIndexClasspathJars(): Int {
+        var indexed = 0
+        for (file in hostClasspath) {
+            if (!file.isFile || !file.name.endsWith(".jar")) continue
+            runCatching {
+                JarFile(file).use { jar -> jar.size() }
+                indexed++
+            }
+        }
+        return indexed
+    }
+
     @JvmStatic
     fun compileAndExecuteAll(packs: Collection<ScriptPack>, environment: ScriptEnvironment): Boolean {
         return compileAndExecuteAll(packs, environment, null)
@@ -172,77 +306,153 @@ object ScriptEngine {
         environment: ScriptEnvironment,
         progressReporter: ((String) -> Unit)?
     ): Boolean {
-        val enabledPacks = packs.filter { it.enabled }.toList()
-        if (enabledPacks.isEmpty()) return true
-
-        val globalJarPacks = enabledPacks.filter { it.scope == ScriptPackScope.GLOBAL && it.kind == ScriptPackKind.JAR }
-        return compileAndExecute(enabledPacks, environment, globalJarPacks, progressReporter)
+        val generation = prepare(packs, environment, progressReporter) ?: return true
+        return generation.execute(progressReporter)
     }
 
-    private fun compileAndExecute(
-        packs: List<ScriptPack>,
+    /**
+     * Compiles [packs] and loads jar packs without running any entrypoint, so the
+     * result can be executed later, e.g. on the server thread after the previous
+     * generation was torn down. Returns null when no pack is enabled.
+     *
+     * Source units keep compiling in the background after this returns; use
+     * [PreparedGeneration.awaitCompilation] to wait for them.
+     */
+    internal fun prepare(
+        packs: Collection<ScriptPack>,
         environment: ScriptEnvironment,
-        extraClasspathJars: List<ScriptPack>,
         progressReporter: ((String) -> Unit)?
-    ): Boolean {
-        val sourcePackCount = packs.count { it.scripts.isNotEmpty() }
-        val jarPackCount = packs.count { it.kind == ScriptPackKind.JAR }
-        var ok = true
+    ): PreparedGeneration? {
+        val enabledPacks = packs.filter { it.enabled }.toList()
+        if (enabledPacks.isEmpty()) return null
+
+        val globalJarPacks = enabledPacks.filter { it.scope == ScriptPackScope.GLOBAL && it.kind == ScriptPackKind.JAR }
+        val sourcePackCount = enabledPacks.count { it.scripts.isNotEmpty() }
+        val jarPackCount = enabledPacks.count { it.kind == ScriptPackKind.JAR }
         LOGGER.info(
             "Preparing {} {} script packs in scope {} (source={}, jar={})",
-            packs.size,
+            enabledPacks.size,
             environment.name.lowercase(),
-            packs.first().scope,
+            enabledPacks.first().scope,
             sourcePackCount,
             jarPackCount
         )
 
         reportProgress(progressReporter, "katton.reload.common.prepare_scripts")
-        registerConfigs(packs)
+        val sourcePlans = buildSourceCompilationPlans(enabledPacks, globalJarPacks, progressReporter)
+        val compiledUnits = compileSourceUnits(sourcePlans, environment, progressReporter)
+        return PreparedGeneration(enabledPacks, environment, sourcePlans, compiledUnits)
+    }
 
-        val sourcePlan = buildSourceCompilationPlan(packs, extraClasspathJars, progressReporter)
-        if (sourcePlan != null) {
-            LOGGER.info(
-                "Compiling {} source packs together with {} jar dependencies for {}",
-                sourcePlan.sourcePacks.size,
-                sourcePlan.binaryPacks.size,
-                environment.name.lowercase()
-            )
-            val artifact = loadCompiledSourceArtifact(sourcePlan, environment, progressReporter)
-            if (artifact != null) {
+    /**
+     * A compiled but not yet executed set of packs of one scope.
+     */
+    internal class PreparedGeneration internal constructor(
+        private val packs: List<ScriptPack>,
+        private val environment: ScriptEnvironment,
+        private val sourcePlans: List<SourceCompilationPlan>,
+        private val compiledUnits: Map<String, CompletableFuture<CompiledScriptArtifact?>>
+    ) {
+        private val jarArtifacts = LinkedHashMap<ScriptPack, CompiledScriptArtifact?>()
+
+        /**
+         * Waits for every source unit and loads the jar packs. Returns false when
+         * any unit failed to compile.
+         */
+        fun awaitCompilation(progressReporter: ((String) -> Unit)?): Boolean {
+            val unitsOk = compiledUnits.values.all { it.join() != null }
+            loadJarPacks(progressReporter)
+            return unitsOk
+        }
+
+        private fun loadJarPacks(progressReporter: ((String) -> Unit)?) {
+            packs.asSequence()
+                .filter { it.kind == ScriptPackKind.JAR && it !in jarArtifacts }
+                .forEach { pack ->
+                    reportProgress(progressReporter, "katton.reload.common.load_jar_scripts")
+                    jarArtifacts[pack] = loadJarPack(pack)
+                }
+        }
+
+        /**
+         * Runs the entrypoints of every unit in dependency order, then of every jar pack.
+         */
+        fun execute(progressReporter: ((String) -> Unit)?): Boolean {
+            var ok = true
+            registerConfigs(packs)
+            val scope = packs.first().scope
+            val runtimeClasspathLoader by lazy { createRuntimeClasspathLoader(sourcePlans.first().runtimeClasspathJars) }
+            val unitLoaders = HashMap<String, ClassLoader>()
+            // Execution stays sequential and in dependency order regardless of how units were compiled.
+            for (sourcePlan in sourcePlans) {
+                val label = describeUnit(sourcePlan)
+                val missingDependencies = sourcePlan.dependencyUnits.filter { it !in unitLoaders }
+                if (missingDependencies.isNotEmpty()) {
+                    LOGGER.error("Skipping {} because its dependencies failed to load: {}", label, missingDependencies)
+                    ok = false
+                    continue
+                }
+                val artifact = compiledUnits.getValue(sourcePlan.unitId).join()
+                if (artifact == null) {
+                    ok = false
+                    continue
+                }
+                val unitLoader = artifact.restored?.let {
+                    createUnitClassLoader(it, runtimeClasspathLoader, sourcePlan.dependencyUnits.map(unitLoaders::getValue))
+                }
                 reportProgress(progressReporter, "katton.reload.common.execute_source_scripts")
                 runBlocking {
                     val executionResult = executeCombined(
                         artifact = artifact,
                         environment = environment,
-                        scope = packs.first().scope,
-                        label = "source packs (${sourcePlan.sourcePacks.size})"
+                        scope = scope,
+                        label = label,
+                        unitLoader = unitLoader
                     )
-                    ok = logExecutionResult("source packs", environment, executionResult) && ok
+                    ok = logExecutionResult(label, environment, executionResult) && ok
+                }
+                if (unitLoader != null) {
+                    unitLoaders[sourcePlan.unitId] = unitLoader
                 }
-            } else {
-                ok = false
             }
-        }
 
-        packs
-            .asSequence()
-            .filter { it.kind == ScriptPackKind.JAR }
-            .forEach { pack ->
-                reportProgress(progressReporter, "katton.reload.common.load_jar_scripts")
-                val artifact = loadJarPack(pack) ?: return@forEach
+            loadJarPacks(progressReporter)
+            for ((pack, artifact) in jarArtifacts) {
+                if (artifact == null) continue
                 reportProgress(progressReporter, "katton.reload.common.execute_jar_scripts")
                 runBlocking {
                     val executionResult = executeCombined(
                         artifact = artifact,
                         environment = environment,
-                        scope = packs.first().scope,
-                        label = "jar pack ${pack.manifest.name}"
+                        scope = scope,
+                        label = "jar pack ${pack.manifest.name}",
+                        unitLoader = null
                     )
                     ok = logExecutionResult(pack.manifest.name, environment, executionResult) && ok
                 }
             }
-        return ok
+            LOGGER.info(
+                "Compile caches hold {} source units and {} jar packs ({} KiB); {} script generations retained",
+                sourceCompileCache.size(),
+                jarLoadCache.size(),
+                (sourceCompileCache.weight() + jarLoadCache.weight()) / 1024,
+                retainedScriptGenerations()
+            )
+            return ok
+        }
+    }
+
+    /**
+     * Number of script generations (one per executed unit or jar pack per reload)
+     * whose classes have not been garbage collected yet. Steady growth across
+     * reloads means old generations are leaking.
+     */
+    @JvmStatic
+    fun retainedScriptGenerations(): Int = scriptGenerationLoaders.size
+
+    private fun estimateArtifactSize(artifact: CompiledScriptArtifact): Long {
+        artifact.restored?.let { restored -> return restored.outputFiles.values.sumOf { it.size.toLong() } }
+        return artifact.cacheJar?.let { jar -> runCatching { Files.size(jar) }.getOrNull() } ?: 0L
     }
 
     private fun registerConfigs(packs: List<ScriptPack>) {
@@ -279,39 +489,159 @@ object ScriptEngine {
         }
     }
 
-    private fun buildSourceCompilationPlan(
+    /**
+     * Splits the enabled source packs into compilation units (see [SourcePackGraph])
+     * and returns their plans in dependency order. Each unit's cache key covers
+     * the keys of its dependencies, so editing one pack only invalidates that
+     * pack and the units downstream of it.
+     *
+     * Without a cache directory there is nowhere to put unit outputs for their
+     * dependents, so all source packs are compiled as a single unit.
+     */
+    private fun buildSourceCompilationPlans(
         packs: Collection<ScriptPack>,
         extraClasspathJars: List<ScriptPack> = emptyList(),
         progressReporter: ((String) -> Unit)? = null
-    ): SourceCompilationPlan? {
+    ): List<SourceCompilationPlan> {
         val sourcePacks = packs
             .filter { it.scripts.isNotEmpty() }
             .sortedBy { it.syncId }
         if (sourcePacks.isEmpty()) {
-            return null
+            return emptyList()
         }
 
         val binaryPacks = (packs.filter { it.kind == ScriptPackKind.JAR && it.compiledJar != null } + extraClasspathJars)
             .distinctBy { it.syncId }
             .sortedBy { it.syncId }
-        val classpathJars = binaryPacks.mapNotNull { it.compiledJar?.toAbsolutePath()?.normalize() }.toMutableList()
-
-        val scriptPaths = sourcePacks
-            .flatMap { pack -> pack.scripts.sortedBy { it.relativePath }.map { it.absolutePath.toAbsolutePath().normalize().toString() } }
-
-        val cacheKey = buildSourceCacheKey(sourcePacks, binaryPacks)
+        val runtimeClasspathJars = binaryPacks.mapNotNull { it.compiledJar?.toAbsolutePath()?.normalize() }.toMutableList()
 
         // Compile .java files from enabled directory packs (independent of script collection)
         val classpathFromJava = compileJavaFromPacks(packs, progressReporter)
-        if (classpathFromJava != null) classpathJars.add(classpathFromJava)
-
-        return SourceCompilationPlan(
-            sourcePacks = sourcePacks,
-            binaryPacks = binaryPacks,
-            scriptPaths = scriptPaths,
-            classpathJars = classpathJars,
-            cacheKey = cacheKey
+        if (classpathFromJava != null) runtimeClasspathJars.add(classpathFromJava)
+
+        val units = if (cacheDirectory == null) {
+            listOf(SourceUnit(SourcePackGraph.SHARED_UNIT_ID, sourcePacks, emptyList()))
+        } else {
+            SourcePackGraph.resolve(sourcePacks)
+        }
+
+        val plans = LinkedHashMap<String, SourceCompilationPlan>()
+        val transitiveDependencies = HashMap<String, Set<String>>()
+        for (unit in units) {
+            val closure = LinkedHashSet<String>()
+            unit.dependencies.forEach { dependency ->
+                closure += transitiveDependencies.getValue(dependency)
+                closure += dependency
+            }
+            transitiveDependencies[unit.id] = closure
+
+            val dependencyKeys = closure.map { plans.getValue(it).cacheKey }
+            val scriptPaths = unit.packs
+                .flatMap { pack -> pack.scripts.sortedBy { it.relativePath }.map { it.absolutePath.toAbsolutePath().normalize().toString() } }
+            plans[unit.id] = SourceCompilationPlan(
+                unitId = unit.id,
+                sourcePacks = unit.packs,
+                binaryPacks = binaryPacks,
+                scriptPaths = scriptPaths,
+                classpathJars = runtimeClasspathJars + dependencyKeys.mapNotNull(::resolveSourceCacheJar),
+                runtimeClasspathJars = runtimeClasspathJars,
+                dependencyUnits = unit.dependencies,
+                cacheKey = buildSourceCacheKey(unit.packs, binaryPacks, dependencyKeys)
+            )
+        }
+        return plans.values.toList()
+    }
+
+    /**
+     * Compiles all units on [compileExecutor]. A unit is submitted as soon as
+     * every unit it depends on has finished, because it compiles against their
+     * persisted output jars; independent units therefore compile in parallel.
+     * A unit whose dependency failed completes with null without compiling.
+     */
+    private fun compileSourceUnits(
+        plans: List<SourceCompilationPlan>,
+        environment: ScriptEnvironment,
+        progressReporter: ((String) -> Unit)?
+    ): Map<String, CompletableFuture<CompiledScriptArtifact?>> {
+        val futures = LinkedHashMap<String, CompletableFuture<CompiledScriptArtifact?>>()
+        // A single unit also goes to the workers, whose compilers the warm-up prepared.
+        LOGGER.info("Compiling {} source units with parallelism {}", plans.size, compileParallelism)
+        // The compiler resolves "current context" dependencies through the context class loader.
+        val callerContextLoader = Thread.currentThread().contextClassLoader
+        for (plan in plans) {
+            val dependencies = plan.dependencyUnits.map(futures::getValue)
+            futures[plan.unitId] = CompletableFuture.allOf(*dependencies.toTypedArray()).thenApplyAsync({ _ ->
+                if (dependencies.any { it.join() == null }) {
+                    null
+                } else {
+                    val thread = Thread.currentThread()
+                    val savedCcl = thread.contextClassLoader
+                    thread.contextClassLoader = callerContextLoader
+                    try {
+                        compileSourceUnit(plan, environment, progressReporter)
+                    } finally {
+                        thread.contextClassLoader = savedCcl
+                    }
+                }
+            }, compileExecutor)
+        }
+        return futures
+    }
+
+    private fun compileSourceUnit(
+        plan: SourceCompilationPlan,
+        environment: ScriptEnvironment,
+        progressReporter: ((String) -> Unit)?
+    ): CompiledScriptArtifact? {
+        LOGGER.info(
+            "Compiling {} with {} jar dependencies and {} unit dependencies for {}",
+            describeUnit(plan),
+            plan.binaryPacks.size,
+            plan.dependencyUnits.size,
+            environment.name.lowercase()
         )
+        return runCatching { loadCompiledSourceArtifact(plan, environment, progressReporter) }
+            .getOrElse {
+                LOGGER.error("Unexpected failure while compiling {}", describeUnit(plan), it)
+                ScriptIssueReporter.report(
+                    title = "Katton script compilation failed",
+                    detail = "${describeUnit(plan)}: ${it.stackTraceToString()}"
+                )
+                null
+            }
+    }
+
+    private fun describeUnit(plan: SourceCompilationPlan): String {
+        return if (plan.unitId == SourcePackGraph.SHARED_UNIT_ID) {
+            "source packs (${plan.sourcePacks.size})"
+        } else {
+            "source pack ${plan.sourcePacks.single().manifest.name}"
+        }
+    }
+
+    private fun createRuntimeClasspathLoader(jars: List<Path>): ClassLoader {
+        val pluginLoader = ScriptEngine::class.java.classLoader
+        if (jars.isEmpty()) return pluginLoader
+        return URLClassLoader(jars.map { it.toUri().toURL() }.toTypedArray(), pluginLoader)
+    }
+
+    /**
+     * Creates the loader for one unit. The runtime classpath loader is shared by
+     * all units of a round so jar pack types keep one identity, and dependency
+     * units are reached through their own loaders so their static state is shared
+     * with the units that depend on them.
+     */
+    private fun createUnitClassLoader(
+        artifact: PersistedScriptArtifact,
+        runtimeClasspathLoader: ClassLoader,
+        dependencyLoaders: List<ClassLoader>
+    ): ClassLoader {
+        val parent = if (dependencyLoaders.isEmpty()) {
+            runtimeClasspathLoader
+        } else {
+            DependencyUnitClassLoader(runtimeClasspathLoader, dependencyLoaders)
+        }
+        return PersistedScriptClassLoader(artifact.outputFiles, parent)
     }
 
     /**
@@ -360,26 +690,45 @@ object ScriptEngine {
         progressReporter: ((String) -> Unit)?
     ): CompiledScriptArtifact? {
         sourceCompileCache[plan.cacheKey]?.let {
-            LOGGER.info("Reusing in-memory combined source compilation cache {}", plan.cacheKey)
+            LOGGER.info("Reusing in-memory source compilation cache {}", plan.cacheKey)
             return it
         }
 
         val cacheJar = resolveSourceCacheJar(plan.cacheKey)
-        // Note: disk cache is write-only for now. The Kotlin scripting compiler's
-        // lazily-loaded-from-classpath variant does not work with importScripts
-        // compilations — it fails to locate metadata for the dummy script.
-        // In-memory cache (above) handles intra-session reuse.
-        // On game restart, recompilation is sub-second and unavoidable.
+        if (cacheJar != null) {
+            val persisted = CompiledScriptStore.read(cacheJar, plan.cacheKey)
+            if (persisted != null) {
+                LOGGER.info(
+                    "Restored source compilation for {} packs from {}, skipping the Kotlin compiler",
+                    plan.sourcePacks.size,
+                    cacheJar
+                )
+                seedEntrypointScanCache(persisted)
+                val artifact = CompiledScriptArtifact(
+                    compiledScript = null,
+                    cacheJar = cacheJar,
+                    entrypoints = persisted.entrypoints,
+                    restored = persisted,
+                    classpathJars = plan.runtimeClasspathJars
+                )
+                sourceCompileCache[plan.cacheKey] = artifact
+                cleanStaleScriptCaches()
+                return artifact
+            }
+        }
 
-        val dummyScript = "".toScriptSource()
+        // Every unit needs its own root script class name: dependency outputs are on
+        // the classpath, and a shared name would resolve to the dependency's class.
+        val dummyScript = "".toScriptSource("KattonUnit${plan.cacheKey.take(16)}.kts")
         val compilationConfig = createCompilationConfiguration(
             orderedScriptPaths = plan.scriptPaths,
             classpathJars = plan.classpathJars,
             cacheJar = cacheJar
         )
         reportProgress(progressReporter, "katton.reload.common.compile_source_scripts")
+        compilerUsed = true
         val compileResult = runBlocking {
-            compiler(dummyScript, compilationConfig)
+            compilers.get()(dummyScript, compilationConfig)
         }
         logCompileResult(plan.sourcePacks, compileResult)
         if (compileResult is ResultWithDiagnostics.Failure) {
@@ -394,26 +743,57 @@ object ScriptEngine {
             )
         }
 
-        val compiledScript = (compileResult as? ResultWithDiagnostics.Success)?.value
-        val artifact = compiledScript?.let { CompiledScriptArtifact(it, cacheJar) }
-        if (artifact != null) {
-            LOGGER.info(
-                "Stored combined source compilation result for {} packs with cache key {}",
-                plan.sourcePacks.size,
-                plan.cacheKey
-            )
-            sourceCompileCache[plan.cacheKey] = artifact
-            cleanStaleScriptCaches(plan.cacheKey)
+        val compiledScript = (compileResult as? ResultWithDiagnostics.Success)?.value ?: return null
+        val persisted = toPersistedArtifact(plan.cacheKey, compiledScript)
+        val artifact = CompiledScriptArtifact(
+            compiledScript = compiledScript,
+            cacheJar = cacheJar,
+            entrypoints = persisted?.entrypoints ?: buildEntrypointIndex(compiledScript, cacheJar).entrypoints,
+            restored = persisted,
+            classpathJars = plan.runtimeClasspathJars
+        )
+        LOGGER.info(
+            "Stored source compilation result for {} packs with cache key {}",
+            plan.sourcePacks.size,
+            plan.cacheKey
+        )
+        sourceCompileCache[plan.cacheKey] = artifact
+        cleanStaleScriptCaches()
 
-            // Persist compiled classes to disk for inspection only.
-            // These jars cannot be reloaded directly due to Kotlin compiler format constraints.
-            if (cacheJar != null) {
-                writeCompiledScriptToJar(compiledScript, cacheJar)
-            }
+        // Persist class bytes, root class name and entrypoint index so the next
+        // start with unchanged packs can skip the compiler entirely.
+        if (cacheJar != null && persisted != null) {
+            CompiledScriptStore.write(persisted, cacheJar)
         }
         return artifact
     }
 
+    /**
+     * Captures an in-memory compilation result in its persistable form.
+     * Returns null when the compiler did not produce an in-memory module.
+     */
+    private fun toPersistedArtifact(cacheKey: String, script: CompiledScript): PersistedScriptArtifact? {
+        val kjvmScript = script as? KJvmCompiledScript ?: return null
+        val module = kjvmScript.getCompiledModule() as? KJvmCompiledModuleInMemoryImpl ?: return null
+        val index = buildEntrypointIndex(script, null)
+        return PersistedScriptArtifact(
+            cacheKey = cacheKey,
+            rootClassName = kjvmScript.scriptClassFQName,
+            outputFiles = module.compilerOutputFiles,
+            entrypoints = index.entrypoints,
+            classHashes = index.classHashes
+        )
+    }
+
+    private fun seedEntrypointScanCache(artifact: PersistedScriptArtifact) {
+        for ((className, hash) in artifact.classHashes) {
+            if (entrypointScanCache.containsKey(hash)) continue
+            entrypointScanCache[hash] = ScriptEnvironment.entries.associateWith { environment ->
+                artifact.entrypoints[environment]?.get(className).orEmpty()
+            }
+        }
+    }
+
     private fun reportProgress(progressReporter: ((String) -> Unit)?, messageKey: String) {
         if (progressReporter == null) return
         runCatching {
@@ -444,7 +824,13 @@ object ScriptEngine {
                 null
             }
 
-        val artifact = compiledScript?.let { CompiledScriptArtifact(it, jarPath) }
+        val artifact = compiledScript?.let {
+            CompiledScriptArtifact(
+                compiledScript = it,
+                cacheJar = jarPath,
+                entrypoints = buildEntrypointIndex(it, jarPath).entrypoints
+            )
+        }
         if (artifact == null) {
             LOGGER.info("Jar pack {} has no loadable script metadata, using it as classpath only", pack.manifest.name)
         } else {
@@ -532,35 +918,34 @@ object ScriptEngine {
         artifact: CompiledScriptArtifact,
         environment: ScriptEnvironment,
         scope: ScriptPackScope,
-        label: String
+        label: String,
+        unitLoader: ClassLoader?
     ): ResultWithDiagnostics<EvaluationResult> {
-        val script = artifact.compiledScript
-
         val pluginLoader = ScriptEngine::class.java.classLoader
         val savedCcl = Thread.currentThread().contextClassLoader
         Thread.currentThread().contextClassLoader = pluginLoader
         try {
-            return executeCombinedWithClassLoader(script, artifact, environment, scope, label)
+            return executeCombinedWithClassLoader(artifact, environment, scope, label, unitLoader)
         } finally {
             Thread.currentThread().contextClassLoader = savedCcl
         }
     }
 
     private suspend fun executeCombinedWithClassLoader(
-        script: CompiledScript,
         artifact: CompiledScriptArtifact,
         environment: ScriptEnvironment,
         scope: ScriptPackScope,
-        label: String
+        label: String,
+        unitLoader: ClassLoader?
     ): ResultWithDiagnostics<EvaluationResult> {
-        val rootClass = when (val res = script.getClass(evaluationConfig)) {
+        val rootClass = when (val res = resolveRootClass(artifact, unitLoader)) {
             is ResultWithDiagnostics.Success -> res.value
             is ResultWithDiagnostics.Failure -> return res
         }
 
         val loader = rootClass.java.classLoader
         val rootName = rootClass.qualifiedName
-        val entrypointsByClass = collectEntrypoints(script, artifact.cacheJar, environment)
+        val entrypointsByClass = artifact.entrypoints[environment].orEmpty()
             .filterKeys { it != rootName }
             .toSortedMap()
         LOGGER.info(
@@ -576,6 +961,7 @@ object ScriptEngine {
         for ((fqcn, entrypoints) in entrypointsByClass) {
             runCatching {
                 val clazz = Class.forName(fqcn, false, loader)
+                val context = ScriptContext("${scope.serializedName}:$fqcn", scope)
                 if (entrypoints.isNotEmpty()) {
                     LOGGER.info(
                         "Executing {} entrypoints from {} for {}",
@@ -593,10 +979,8 @@ object ScriptEngine {
                         continue
                     }
 
-                    ScriptExecutionContext.withScope(scope) {
-                        ScriptExecutionContext.withOwner("${scope.serializedName}:$fqcn") {
-                            invokeEntrypoint(clazz, entrypoint, methodType, environment)
-                        }
+                    ScriptExecutionContext.withContext(context) {
+                        invokeEntrypoint(clazz, entrypoint, methodType, environment)
                     }
                     successCount++
                 }
@@ -628,6 +1012,26 @@ object ScriptEngine {
         )
     }
 
+    /**
+     * Loads the root script class of [artifact] through [unitLoader], or lets the
+     * scripting host create a loader when the artifact has no stored class bytes.
+     */
+    private fun resolveRootClass(artifact: CompiledScriptArtifact, unitLoader: ClassLoader?): ResultWithDiagnostics<KClass<*>> {
+        val restored = artifact.restored
+        val result = if (unitLoader == null || restored == null) {
+            artifact.compiledScript?.getClass(evaluationConfig)
+                ?: ResultWithDiagnostics.Failure("Compiled artifact has no loadable classes".asErrorDiagnostics())
+        } else {
+            runCatching {
+                unitLoader.loadClass(restored.rootClassName).kotlin.asSuccess()
+            }.getOrElse {
+                ResultWithDiagnostics.Failure(it.asDiagnostics("Failed to load compiled script classes from ${artifact.cacheJar}"))
+            }
+        }
+        result.valueOrNull()?.java?.classLoader?.let { scriptGenerationLoaders[it] = true }
+        return result
+    }
+
     private fun createCompilationConfiguration(
         orderedScriptPaths: List<String>,
         classpathJars: List<Path>,
@@ -648,11 +1052,48 @@ object ScriptEngine {
     }
 
     private fun resolveHostClasspath(): List<File> {
+        val start = System.nanoTime()
+        val candidates = collectHostClasspathCandidates()
+        val snapshotDir = cacheDirectory
+        val fingerprint = snapshotDir?.let { HostClasspathSnapshot.fingerprint(candidates, hostFingerprint) }
+        val snapshot = if (snapshotDir != null && fingerprint != null) {
+            HostClasspathSnapshot.read(snapshotDir, fingerprint)
+        } else {
+            null
+        }
+
+        val files = snapshot ?: candidates.asSequence()
+            .filter { it.exists() }
+            .map { file -> runCatching { file.canonicalFile }.getOrElse { file } }
+            .distinct()
+            .toList()
+            .also { resolved ->
+                if (snapshotDir != null && fingerprint != null) {
+                    HostClasspathSnapshot.write(snapshotDir, fingerprint, resolved)
+                }
+            }
+
+        hostClasspathResolveMillis = (System.nanoTime() - start) / 1_000_000
+        LOGGER.info(
+            "Resolved {} host classpath entries for script compilation in {} ms ({})",
+            files.size,
+            hostClasspathResolveMillis,
+            if (snapshot != null) "snapshot reused" else "from ${candidates.size} candidates"
+        )
+        return files
+    }
+
+    /**
+     * Collects the raw host classpath entries in priority order. Entries are only
+     * made absolute here; existence checks and canonicalisation are left to
+     * [resolveHostClasspath] so they can be skipped when a snapshot is reused.
+     */
+    private fun collectHostClasspathCandidates(): Collection<File> {
         val files = LinkedHashSet<File>()
 
         fun addFile(file: File?) {
-            if (file == null || !file.exists()) return
-            files += runCatching { file.canonicalFile }.getOrElse { file.absoluteFile }
+            if (file == null) return
+            files += file.absoluteFile
         }
 
         fun addUrl(url: URL?) {
@@ -729,9 +1170,7 @@ object ScriptEngine {
 
         externalClasspathJars.forEach(::addFile)
 
-        return files.toList().also {
-            LOGGER.info("Resolved {} host classpath entries for script compilation", it.size)
-        }
+        return files
     }
 
     private fun resolveSourceCacheJar(cacheKey: String): Path? {
@@ -745,10 +1184,35 @@ object ScriptEngine {
         }
     }
 
-    private fun buildSourceCacheKey(sourcePacks: List<ScriptPack>, binaryPacks: List<ScriptPack>): String {
+    /**
+     * Identifies the Katton build and Kotlin runtime that produced a persisted artifact.
+     */
+    private val hostFingerprint: String by lazy {
+        buildString {
+            append(KotlinVersion.CURRENT)
+            append('|').append(System.getProperty("java.specification.version"))
+            runCatching {
+                val engineJar = Paths.get(ScriptEngine::class.java.protectionDomain.codeSource.location.toURI())
+                if (Files.isRegularFile(engineJar)) {
+                    append('|').append(engineJar.fileName)
+                    append(':').append(Files.size(engineJar))
+                    append(':').append(Files.getLastModifiedTime(engineJar).toMillis())
+                }
+            }
+        }
+    }
+
+    private fun buildSourceCacheKey(
+        sourcePacks: List<ScriptPack>,
+        binaryPacks: List<ScriptPack>,
+        dependencyKeys: List<String>
+    ): String {
         // Both source pack content and binary jar hashes affect the combined compilation result.
+        // The host fingerprint invalidates persisted artifacts when Katton or Kotlin is updated.
         val digest = MessageDigest.getInstance("SHA-256")
-        digest.update("katton-source-pack-cache-v1".toByteArray(StandardCharsets.UTF_8))
+        digest.update("katton-source-pack-cache-v3".toByteArray(StandardCharsets.UTF_8))
+        digest.update(hostFingerprint.toByteArray(StandardCharsets.UTF_8))
+        digest.update(0)
         sourcePacks.forEach { pack ->
             digest.update(pack.syncId.toByteArray(StandardCharsets.UTF_8))
             digest.update(0)
@@ -761,6 +1225,10 @@ object ScriptEngine {
             digest.update(pack.hash.toByteArray(StandardCharsets.UTF_8))
             digest.update(0)
         }
+        dependencyKeys.forEach { key ->
+            digest.update(key.toByteArray(StandardCharsets.UTF_8))
+            digest.update(0)
+        }
         return digest.digest().joinToString("") { "%02x".format(it) }
     }
 
@@ -803,26 +1271,38 @@ object ScriptEngine {
         return emptyList()
     }
 
-    private fun collectEntrypoints(
-        script: CompiledScript,
-        cacheJar: Path?,
-        environment: ScriptEnvironment
-    ): Map<String, List<EntrypointDescriptor>> {
-        val annotationDescriptor = Type.getDescriptor(environment.annotationClass)
-        return collectTopLevelClassFiles(script, cacheJar)
-            .sortedBy { it.className }
-            .associate { classFile ->
-                classFile.className to scanEntrypoints(classFile.bytes, classFile.className, annotationDescriptor)
+    private fun buildEntrypointIndex(script: CompiledScript, cacheJar: Path?): EntrypointIndex {
+        val rootName = (script as? KJvmCompiledScript)?.scriptClassFQName
+        val index = ScriptEnvironment.entries.associateWith { sortedMapOf<String, List<EntrypointDescriptor>>() }
+        val classHashes = sortedMapOf<String, String>()
+        var scanned = 0
+        for (classFile in collectTopLevelClassFiles(script, cacheJar)) {
+            if (classFile.className == rootName) continue
+            val hash = MessageDigest.getInstance("SHA-256").digest(classFile.bytes).joinToString("") { "%02x".format(it) }
+            classHashes[classFile.className] = hash
+            val classEntrypoints = entrypointScanCache[hash]
+                ?: scanEntrypoints(classFile.bytes, classFile.className).also {
+                    entrypointScanCache[hash] = it
+                    scanned++
+                }
+            for ((environment, entrypoints) in classEntrypoints) {
+                if (entrypoints.isNotEmpty()) {
+                    index.getValue(environment)[classFile.className] = entrypoints
+                }
             }
-            .filterValues { it.isNotEmpty() }
+        }
+        LOGGER.debug("Scanned {} of {} classes for entrypoints", scanned, classHashes.size)
+        return EntrypointIndex(index, classHashes)
     }
 
+    /**
+     * Scans a class once for entrypoints of every [ScriptEnvironment].
+     */
     private fun scanEntrypoints(
         classBytes: ByteArray,
-        className: String,
-        annotationDescriptor: String
-    ): List<EntrypointDescriptor> {
-        val entrypoints = mutableListOf<EntrypointDescriptor>()
+        className: String
+    ): Map<ScriptEnvironment, List<EntrypointDescriptor>> {
+        val entrypoints = ScriptEnvironment.entries.associateWith { mutableListOf<EntrypointDescriptor>() }
         ClassReader(classBytes).accept(object : ClassVisitor(Opcodes.ASM9) {
             override fun visitMethod(
                 access: Int,
@@ -837,20 +1317,19 @@ object ScriptEngine {
 
                 return object : MethodVisitor(Opcodes.ASM9) {
                     override fun visitAnnotation(descriptorName: String, visible: Boolean): AnnotationVisitor? {
-                        if (descriptorName == annotationDescriptor) {
-                            entrypoints += EntrypointDescriptor(
-                                className = className,
-                                methodName = name,
-                                methodDescriptor = descriptor
-                            )
-                        }
+                        val environment = entrypointAnnotations[descriptorName] ?: return null
+                        entrypoints.getValue(environment) += EntrypointDescriptor(
+                            className = className,
+                            methodName = name,
+                            methodDescriptor = descriptor
+                        )
                         return null
                     }
                 }
             }
         }, ClassReader.SKIP_CODE or ClassReader.SKIP_DEBUG or ClassReader.SKIP_FRAMES)
 
-        return entrypoints.sortedBy { it.methodName }
+        return entrypoints.mapValues { (_, list) -> list.sortedBy { it.methodName } }
     }
 
     private fun invokeEntrypoint(
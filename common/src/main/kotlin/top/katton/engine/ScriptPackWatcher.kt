@@ -0,0 +1,200 @@
+package top.katton.engine
+
+import net.minecraft.server.MinecraftServer
+import org.slf4j.Logger
+import org.slf4j.LoggerFactory
+import top.katton.command.ScriptCommand
+import top.katton.pack.ScriptPackManager
+import top.katton.pack.ScriptPackScope
+import java.nio.file.ClosedWatchServiceException
+import java.nio.file.FileSystems
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardWatchEventKinds
+import java.nio.file.WatchKey
+import java.nio.file.WatchService
+import java.util.concurrent.Executors
+import java.util.concurrent.ScheduledExecutorService
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.TimeUnit
+
+/**
+ * Watches the global and world `kattonpacks` roots and reloads world scripts
+ * when pack files change.
+ *
+ * Disabled unless `-Dkatton.reload.watch=true` is set. Events are collected per
+ * pack and flushed once no new event arrived for `katton.reload.watch.debounce`
+ * milliseconds (default 500), so an editor saving many files triggers a single
+ * reload. Only the changed packs are rescanned; unchanged packs keep their
+ * scanned state and hit the compile caches.
+ *
+ * Global packs are only compiled at startup. Changes to them are only logged; the
+ * pack list is left untouched so it keeps describing the scripts the server runs,
+ * and the edited packs are picked up on the next restart.
+ */
+object ScriptPackWatcher {
+    private val logger: Logger = LoggerFactory.getLogger(ScriptPackWatcher::class.java)
+
+    private val enabled: Boolean = java.lang.Boolean.getBoolean("katton.reload.watch")
+    private val debounceMillis: Long = java.lang.Long.getLong("katton.reload.watch.debounce", 500L).coerceAtLeast(50L)
+
+    /** Files that only record local state or are editor temporaries. */
+    private val ignoredSuffixes = listOf(".kattonpack.state.json", "~", ".tmp", ".swp", ".swx")
+
+    private val flushExecutor: ScheduledExecutorService = Executors.newSingleThreadScheduledExecutor { r ->
+        Thread(r, "Katton-PackWatcherFlush").also { it.isDaemon = true }
+    }
+
+    private class WatchedRoot(val scope: ScriptPackScope, val root: Path)
+
+    private var watchService: WatchService? = null
+    private var server: MinecraftServer? = null
+    private val watchedKeys = HashMap<WatchKey, Path>()
+    private val roots = mutableListOf<WatchedRoot>()
+
+    /** Pack location (first path element under a root) to the changed files inside it. */
+    private val pendingChanges = HashMap<ScriptPackScope, MutableMap<Path, MutableSet<Path>>>()
+    private var pendingFlush: ScheduledFuture<*>? = null
+
+    /**
+     * Starts watching for [server] if watching is enabled and not already running.
+     * Must be called after [ScriptPackManager] knows the world directory.
+     */
+    @JvmStatic
+    @Synchronized
+    fun ensureStarted(server: MinecraftServer) {
+        if (!enabled || this.server === server) return
+        stop()
+
+        val service = runCatching { FileSystems.getDefault().newWatchService() }.getOrElse {
+            logger.warn("Failed to create pack watch service, auto-reload disabled", it)
+            return
+        }
+        watchService = service
+        this.server = server
+        ScriptPackManager.getGlobalScriptDirectory()?.let { roots += WatchedRoot(ScriptPackScope.GLOBAL, it) }
+        ScriptPackManager.getWorldScriptDirectory()?.let { roots += WatchedRoot(ScriptPackScope.WORLD, it) }
+        roots.filter { Files.isDirectory(it.root) }.forEach { registerRecursively(service, it.root) }
+
+        Thread({ pollLoop(service) }, "Katton-PackWatcher").apply { isDaemon = true }.start()
+        logger.info("Watching {} for script pack changes", roots.map { it.root })
+    }
+
+    /**
+     * Stops watching and drops pending changes. Called when the server stops.
+     */
+    @JvmStatic
+    @Synchronized
+    fun stop() {
+        pendingFlush?.cancel(false)
+        pendingFlush = null
+        pendingChanges.clear()
+        watchedKeys.clear()
+        roots.clear()
+        server = null
+        watchService?.let { runCatching { it.close() } }
+        watchService = null
+    }
+
+    private fun pollLoop(service: WatchService) {
+        while (true) {
+            val key = try {
+                service.take()
+            } catch (_: ClosedWatchServiceException) {
+                return
+            } catch (_: InterruptedException) {
+                return
+            }
+            synchronized(this) {
+                if (watchService !== service) return
+                val directory = watchedKeys[key]
+                if (directory != null) {
+                    for (event in key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            // Events were lost; treat every pack under the roots as changed.
+                            roots.forEach { root -> listPacks(root.root).forEach { record(root, it, it) } }
+                            continue
+                        }
+                        val changed = directory.resolve(event.context() as Path)
+                        if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(changed)) {
+                            registerRecursively(service, changed)
+                        }
+                        onPathChanged(changed)
+                    }
+                }
+                if (!key.reset()) {
+                    watchedKeys.remove(key)
+                }
+            }
+        }
+    }
+
+    private fun onPathChanged(path: Path) {
+        val fileName = path.fileName?.toString() ?: return
+        if (ignoredSuffixes.any { fileName.endsWith(it) }) return
+        val root = roots.firstOrNull { path.startsWith(it.root) && path != it.root } ?: return
+        record(root, root.root.resolve(root.root.relativize(path).getName(0)), path)
+    }
+
+    private fun record(root: WatchedRoot, packLocation: Path, file: Path) {
+        pendingChanges.getOrPut(root.scope, ::HashMap).getOrPut(packLocation, ::HashSet).add(file)
+        scheduleFlush()
+    }
+
+    private fun scheduleFlush() {
+        pendingFlush?.cancel(false)
+        pendingFlush = flushExecutor.schedule(::flush, debounceMillis, TimeUnit.MILLISECONDS)
+    }
+
+    private fun flush() {
+        val server: MinecraftServer
+        val changes: Map<ScriptPackScope, Map<Path, Set<Path>>>
+        synchronized(this) {
+            server = this.server ?: return
+            if (ScriptReloadManager.isServerReloadRunning()) {
+                // Keep the changes and try again once the running reload is done.
+                scheduleFlush()
+                return
+            }
+            changes = pendingChanges.toMap()
+            pendingChanges.clear()
+            pendingFlush = null
+        }
+        if (changes.isEmpty()) return
+
+        for ((scope, packs) in changes) {
+            packs.forEach { (pack, files) ->
+                logger.info("Detected {} changed file(s) in {} pack {}: {}", files.size, scope, pack.fileName, files.map { pack.relativize(it) })
+            }
+        }
+
+        changes[ScriptPackScope.GLOBAL]?.let { global ->
+            logger.info("Changes to global pack(s) {} take effect after a restart", global.keys.map { it.fileName })
+        }
+        val world = changes[ScriptPackScope.WORLD] ?: return
+        server.execute { ScriptCommand.reloadScript(server, world.keys) }
+    }
+
+    private fun registerRecursively(service: WatchService, directory: Path) {
+        runCatching {
+            Files.walk(directory).use { stream ->
+                stream.filter { Files.isDirectory(it) }.forEach { dir ->
+                    val key = dir.register(
+                        service,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_DELETE
+                    )
+                    watchedKeys[key] = dir
+                }
+            }
+        }.onFailure {
+            logger.warn("Failed to watch {}", directory, it)
+        }
+    }
+
+    private fun listPacks(root: Path): List<Path> {
+        if (!Files.isDirectory(root)) return emptyList()
+        return runCatching { Files.list(root).use { stream -> stream.toList() } }.getOrElse { emptyList() }
+    }
+}
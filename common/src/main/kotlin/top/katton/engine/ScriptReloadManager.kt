@@ -37,6 +37,13 @@ object ScriptReloadManager {
         Thread(r, "Katton-ServerReload").also { it.isDaemon = true }
     }
 
+    /**
+     * Blue/green server reloads, enabled with `-Dkatton.reload.blueGreen=true`:
+     * the new generation is compiled while the current one keeps running and only
+     * replaces it, in one server-thread step, once compilation succeeded.
+     */
+    private val blueGreenReload: Boolean = java.lang.Boolean.getBoolean("katton.reload.blueGreen")
+
     private val clientReloadRunning = AtomicBoolean(false)
     private val serverReloadRunning = AtomicBoolean(false)
 
@@ -97,7 +104,11 @@ object ScriptReloadManager {
         }
         tracker.step("katton.reload.client.merge_server_cache_packs")
         tracker.step("katton.reload.common.compile_execute_scripts")
-        val scriptsOk = ScriptEngine.compileAndExecuteAll(mergedPacks, ScriptEnvironment.CLIENT, tracker::update)
+        val scriptsOk = try {
+            ScriptEngine.compileAndExecuteAll(mergedPacks, ScriptEnvironment.CLIENT, tracker::update)
+        } finally {
+            if (!preserveIntegratedServerState) InjectionManager.endReload()
+        }
         if (!scriptsOk) {
             tracker.finish("katton.reload.client.failed")
             return false
@@ -136,6 +147,9 @@ object ScriptReloadManager {
     @JvmStatic
     fun isClientReloadRunning(): Boolean = clientReloadRunning.get()
 
+    @JvmStatic
+    fun isServerReloadRunning(): Boolean = serverReloadRunning.get()
+
     /**
      * Blocks the calling thread until any in-progress server reload completes.
      * Used by registry-sensitive operations (client login, config sync) to ensure
@@ -187,44 +201,16 @@ object ScriptReloadManager {
         ScriptPackManager.refreshWorldPacks()
         tracker.step("katton.reload.common.scan_world_packs")
 
-        ScriptCommandRegistry.beginReload(server)
-        tracker.step("katton.reload.server.reset_command_registry")
-        if (Katton.registrationEnabled) {
-            KattonRegistry.ITEMS.beginReload()
-            tracker.step("katton.reload.server.reset_item_registry")
-            KattonRegistry.EFFECTS.beginReload()
-            KattonRegistry.BLOCKS.beginReload()
-            tracker.step("katton.reload.server.reset_effect_block_registries")
-            KattonRegistry.ENTITY_TYPES.beginReload()
-            tracker.step("katton.reload.server.reset_entity_type_registry")
-            KattonRegistry.SOUND_EVENTS.beginReload()
-            KattonRegistry.PARTICLE_TYPES.beginReload()
-            tracker.step("katton.reload.server.reset_sound_particle_registries")
-            KattonRegistry.BLOCK_ENTITY_TYPES.beginReload()
-            tracker.step("katton.reload.server.reset_block_entity_type_registry")
-            KattonRegistry.CREATIVE_TABS.beginReload()
-            KattonRegistry.DATA_COMPONENT_TYPES.beginReload()
-            tracker.step("katton.reload.server.reset_creative_tabs_components")
-        }
-        if (Katton.hasClient) {
-            KattonRegistry.ENTITY_RENDERERS.beginReload()
-            tracker.step("katton.reload.common.reset_entity_renderers")
-        }
-        ServerDatapackManager.beginReload()
-        tracker.step("katton.reload.server.reset_datapack_manager")
-        clearItemModifications()
-        tracker.step("katton.reload.common.clear_item_modifications")
-        Event.clearHandlersByScope(ScriptPackScope.WORLD)
-        tracker.step("katton.reload.server.clear_event_handlers")
-        clearManagedByScope(ScriptPackScope.WORLD)
-        tracker.step("katton.reload.server.clear_managed_event_listeners")
-        InjectionManager.beginReload()
-        tracker.step("katton.reload.common.reset_injections")
+        resetServerScriptState(server, tracker)
 
         val worldOnlyPacks = ScriptPackManager.collectExecutableWorldPacks()
         tracker.step("katton.reload.common.collect_world_packs")
         tracker.step("katton.reload.common.compile_execute_scripts")
-        val scriptsOk = ScriptEngine.compileAndExecuteAll(worldOnlyPacks, ScriptEnvironment.SERVER, tracker::update)
+        val scriptsOk = try {
+            ScriptEngine.compileAndExecuteAll(worldOnlyPacks, ScriptEnvironment.SERVER, tracker::update)
+        } finally {
+            InjectionManager.endReload()
+        }
         if (!scriptsOk) {
             tracker.finish("katton.reload.server.failed")
             return false
@@ -248,6 +234,15 @@ object ScriptReloadManager {
      */
     @JvmStatic
     fun reloadScriptsAsync(server: MinecraftServer, onComplete: (Boolean) -> Unit) {
+        reloadScriptsAsync(server, null, onComplete)
+    }
+
+    /**
+     * Variant of [reloadScriptsAsync] that rescans only [changedWorldPacks]
+     * instead of every world pack. A null set rescans the whole world scope.
+     */
+    @JvmStatic
+    fun reloadScriptsAsync(server: MinecraftServer, changedWorldPacks: Set<Path>?, onComplete: (Boolean) -> Unit) {
         if (!serverReloadRunning.compareAndSet(false, true)) {
             onComplete(false)
             return
@@ -255,6 +250,11 @@ object ScriptReloadManager {
         val future = CompletableFuture<Void>()
         serverReloadFuture = future
 
+        if (blueGreenReload) {
+            serverReloadExecutor.execute { reloadScriptsBlueGreen(server, changedWorldPacks, future, onComplete) }
+            return
+        }
+
         // Run ALL reload work on background thread — the calling thread
         // (server command thread) returns immediately without blocking.
         serverReloadExecutor.execute reloadTask@{
@@ -268,49 +268,25 @@ object ScriptReloadManager {
                 ScriptPackManager.setWorldDirectory(server.getWorldPath(LevelResource.ROOT))
                 tracker.step("katton.reload.common.set_world_directory")
                 ensureDirectory(ScriptPackManager.getWorldScriptDirectory())
-                ScriptPackManager.refreshWorldPacks()
+                if (changedWorldPacks != null) {
+                    ScriptPackManager.refreshWorldPacks(changedWorldPacks)
+                } else {
+                    ScriptPackManager.refreshWorldPacks()
+                }
                 tracker.step("katton.reload.common.scan_world_packs")
 
-                ScriptCommandRegistry.beginReload(server)
-                tracker.step("katton.reload.server.reset_command_registry")
-                if (Katton.registrationEnabled) {
-                    KattonRegistry.ITEMS.beginReload()
-                    tracker.step("katton.reload.server.reset_item_registry")
-                    KattonRegistry.EFFECTS.beginReload()
-                    KattonRegistry.BLOCKS.beginReload()
-                    tracker.step("katton.reload.server.reset_effect_block_registries")
-                    KattonRegistry.ENTITY_TYPES.beginReload()
-                    tracker.step("katton.reload.server.reset_entity_type_registry")
-                    KattonRegistry.SOUND_EVENTS.beginReload()
-                    KattonRegistry.PARTICLE_TYPES.beginReload()
-                    tracker.step("katton.reload.server.reset_sound_particle_registries")
-                    KattonRegistry.BLOCK_ENTITY_TYPES.beginReload()
-                    tracker.step("katton.reload.server.reset_block_entity_type_registry")
-                    KattonRegistry.CREATIVE_TABS.beginReload()
-                    KattonRegistry.DATA_COMPONENT_TYPES.beginReload()
-                    tracker.step("katton.reload.server.reset_creative_tabs_components")
-                }
-                if (Katton.hasClient) {
-                    KattonRegistry.ENTITY_RENDERERS.beginReload()
-                    tracker.step("katton.reload.common.reset_entity_renderers")
-                }
-                ServerDatapackManager.beginReload()
-                tracker.step("katton.reload.server.reset_datapack_manager")
-                clearItemModifications()
-                tracker.step("katton.reload.common.clear_item_modifications")
-                Event.clearHandlersByScope(ScriptPackScope.WORLD)
-                tracker.step("katton.reload.server.clear_event_handlers")
-                clearManagedByScope(ScriptPackScope.WORLD)
-                tracker.step("katton.reload.server.clear_managed_event_listeners")
-                InjectionManager.beginReload()
-                tracker.step("katton.reload.common.reset_injections")
+                resetServerScriptState(server, tracker)
 
                 val worldOnlyPacks = ScriptPackManager.collectExecutableWorldPacks()
                 tracker.step("katton.reload.common.collect_world_packs")
 
                 // Heavy compilation + execution
                 tracker.step("katton.reload.common.compile_execute_scripts")
-                val scriptsOk = ScriptEngine.compileAndExecuteAll(worldOnlyPacks, ScriptEnvironment.SERVER, tracker::update)
+                val scriptsOk = try {
+                    ScriptEngine.compileAndExecuteAll(worldOnlyPacks, ScriptEnvironment.SERVER, tracker::update)
+                } finally {
+                    InjectionManager.endReload()
+                }
                 if (!scriptsOk) {
                     val reloadFuture = future
                     server.execute {
@@ -329,6 +305,7 @@ object ScriptReloadManager {
                         ServerDatapackManager.apply(server)
                         tracker.step("katton.reload.server.apply_datapacks")
                         tracker.finish("katton.reload.server.finished")
+                        ScriptPackWatcher.ensureStarted(server)
                         reloadFuture.complete(null)
                         onComplete(true)
                     } catch (t: Throwable) {
@@ -353,6 +330,135 @@ object ScriptReloadManager {
         }
     }
 
+    /**
+     * Blue/green variant of the async reload body. Runs on [serverReloadExecutor].
+     *
+     * Scanning and compilation happen here while the current generation keeps
+     * serving events. The scanned packs are only published to [ScriptPackManager]
+     * by the swap, so listing and client sync keep describing the running
+     * generation until then. Teardown of the current generation and execution of
+     * the new one then run back to back in a single [MinecraftServer.execute] task,
+     * so no tick observes a state without world scripts. A compilation failure
+     * leaves the current generation untouched.
+     */
+    private fun reloadScriptsBlueGreen(
+        server: MinecraftServer,
+        changedWorldPacks: Set<Path>?,
+        future: CompletableFuture<Void>,
+        onComplete: (Boolean) -> Unit
+    ) {
+        val tracker = ReloadProgressTracker(24)
+        tracker.begin("katton.reload.server.begin")
+
+        val (scannedPacks, generation) = try {
+            ScriptPackManager.setGameDirectory(Katton.gameDirectory)
+            tracker.step("katton.reload.common.set_game_directory")
+            ScriptPackManager.setWorldDirectory(server.getWorldPath(LevelResource.ROOT))
+            tracker.step("katton.reload.common.set_world_directory")
+            ensureDirectory(ScriptPackManager.getWorldScriptDirectory())
+            val scanned = ScriptPackManager.scanWorldPacks(changedWorldPacks)
+            tracker.step("katton.reload.common.scan_world_packs")
+
+            val worldOnlyPacks = scanned.filter { it.enabled }
+            tracker.step("katton.reload.common.collect_world_packs")
+            tracker.step("katton.reload.common.compile_execute_scripts")
+            val prepared = ScriptEngine.prepare(worldOnlyPacks, ScriptEnvironment.SERVER, tracker::update)
+            if (prepared != null && !prepared.awaitCompilation(tracker::update)) {
+                logger.warn("Server script compilation failed, keeping the previous generation live")
+                server.execute {
+                    ReloadProgressState.finish("katton.reload.server.failed_kept_previous")
+                    future.completeExceptionally(IllegalStateException("Server script reload failed"))
+                    onComplete(false)
+                    serverReloadRunning.set(false)
+                }
+                return
+            }
+            scanned to prepared
+        } catch (t: Throwable) {
+            logger.error("Failed to compile server scripts asynchronously, keeping the previous generation live", t)
+            server.execute {
+                ReloadProgressState.finish("katton.reload.server.failed_kept_previous")
+                future.completeExceptionally(t)
+                onComplete(false)
+                serverReloadRunning.set(false)
+            }
+            return
+        }
+
+        server.execute {
+            try {
+                tracker.step("katton.reload.server.swap_generation")
+                ScriptPackManager.commitWorldPacks(scannedPacks)
+                resetServerScriptState(server, tracker)
+                val scriptsOk = try {
+                    generation?.execute(tracker::update) ?: true
+                } finally {
+                    InjectionManager.endReload()
+                }
+                if (!scriptsOk) {
+                    // The old generation is already gone; keep whatever the new one registered.
+                    ReloadProgressState.finish("katton.reload.server.failed")
+                    future.completeExceptionally(IllegalStateException("Server script reload failed"))
+                    onComplete(false)
+                    return@execute
+                }
+                ServerDatapackManager.apply(server)
+                tracker.step("katton.reload.server.apply_datapacks")
+                tracker.finish("katton.reload.server.finished")
+                ScriptPackWatcher.ensureStarted(server)
+                future.complete(null)
+                onComplete(true)
+            } catch (t: Throwable) {
+                logger.error("Failed to swap in the new server script generation", t)
+                ReloadProgressState.finish("katton.reload.server.failed")
+                future.completeExceptionally(t)
+                onComplete(false)
+            } finally {
+                serverReloadRunning.set(false)
+            }
+        }
+    }
+
+    /**
+     * Tears down every world-scoped script registration of the current generation.
+     * Must run on the server thread when the server is ticking.
+     */
+    private fun resetServerScriptState(server: MinecraftServer, tracker: ReloadProgressTracker) {
+        ScriptCommandRegistry.beginReload(server)
+        tracker.step("katton.reload.server.reset_command_registry")
+        if (Katton.registrationEnabled) {
+            KattonRegistry.ITEMS.beginReload()
+            tracker.step("katton.reload.server.reset_item_registry")
+            KattonRegistry.EFFECTS.beginReload()
+            KattonRegistry.BLOCKS.beginReload()
+            tracker.step("katton.reload.server.reset_effect_block_registries")
+            KattonRegistry.ENTITY_TYPES.beginReload()
+            tracker.step("katton.reload.server.reset_entity_type_registry")
+            KattonRegistry.SOUND_EVENTS.beginReload()
+            KattonRegistry.PARTICLE_TYPES.beginReload()
+            tracker.step("katton.reload.server.reset_sound_particle_registries")
+            KattonRegistry.BLOCK_ENTITY_TYPES.beginReload()
+            tracker.step("katton.reload.server.reset_block_entity_type_registry")
+            KattonRegistry.CREATIVE_TABS.beginReload()
+            KattonRegistry.DATA_COMPONENT_TYPES.beginReload()
+            tracker.step("katton.reload.server.reset_creative_tabs_components")
+        }
+        if (Katton.hasClient) {
+            KattonRegistry.ENTITY_RENDERERS.beginReload()
+            tracker.step("katton.reload.common.reset_entity_renderers")
+        }
+        ServerDatapackManager.beginReload()
+        tracker.step("katton.reload.server.reset_datapack_manager")
+        clearItemModifications()
+        tracker.step("katton.reload.common.clear_item_modifications")
+        Event.clearHandlersByScope(ScriptPackScope.WORLD)
+        tracker.step("katton.reload.server.clear_event_handlers")
+        clearManagedByScope(ScriptPackScope.WORLD)
+        tracker.step("katton.reload.server.clear_managed_event_listeners")
+        InjectionManager.beginReload()
+        tracker.step("katton.reload.common.reset_injections")
+    }
+
     private fun ensureDirectory(path: Path?) {
         if (path == null) return
         try {
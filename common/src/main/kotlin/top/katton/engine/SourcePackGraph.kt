@@ -0,0 +1,119 @@
+package top.katton.engine
+
+import top.katton.api.LOGGER
+import top.katton.pack.ScriptPack
+import java.util.TreeSet
+
+/**
+ * A group of source packs compiled together by one Kotlin compiler invocation.
+ *
+ * @property id stable identifier of the unit within one compilation round
+ * @property packs source packs compiled in this unit, ordered by sync id
+ * @property dependencies ids of the units whose output is on this unit's classpath
+ */
+internal data class SourceUnit(
+    val id: String,
+    val packs: List<ScriptPack>,
+    val dependencies: List<String>
+)
+
+/**
+ * Splits source packs into compilation units using the `dependencies` field of
+ * their manifests.
+ *
+ * Every pack that declares `dependencies` becomes its own unit and may only
+ * reference the packs it lists. Packs without the field keep the historical
+ * behavior: they are compiled together in one shared unit that sees every
+ * isolated unit. A declared pack that depends on a shared pack, or that is part
+ * of a dependency cycle, is folded into the shared unit.
+ */
+internal object SourcePackGraph {
+
+    const val SHARED_UNIT_ID = "shared"
+
+    /**
+     * Returns the compilation units in dependency order; a unit always appears
+     * after all of its dependencies. Ties are broken by sync id so the order is
+     * deterministic across reloads.
+     */
+    fun resolve(sourcePacks: List<ScriptPack>): List<SourceUnit> {
+        val packsById = sourcePacks.associateBy { it.manifest.id }
+        val declaredDependencies = sourcePacks
+            .filter { it.manifest.dependencies != null }
+            .associate { pack ->
+                val known = pack.manifest.dependencies.orEmpty().filter { dependency ->
+                    (dependency in packsById).also { present ->
+                        if (!present) {
+                            LOGGER.warn(
+                                "Pack {} depends on {}, which is not an enabled source pack in scope {}",
+                                pack.manifest.id,
+                                dependency,
+                                pack.scope
+                            )
+                        }
+                    }
+                }
+                pack.manifest.id to known.distinct()
+            }
+
+        val isolated = declaredDependencies.keys.toMutableSet()
+        var ordered: List<String> = emptyList()
+        while (true) {
+            // A pack that needs a shared pack must live in the shared unit as well.
+            var folded = true
+            while (folded) {
+                folded = isolated.removeIf { id -> declaredDependencies.getValue(id).any { it !in isolated } }
+            }
+
+            val (order, cyclic) = topologicalOrder(isolated, declaredDependencies, packsById)
+            if (cyclic.isEmpty()) {
+                ordered = order
+                break
+            }
+            LOGGER.warn("Dependency cycle between packs {}, compiling them in the shared unit", cyclic.sorted())
+            isolated.removeAll(cyclic)
+        }
+
+        val units = ordered.mapTo(mutableListOf()) { id ->
+            val pack = packsById.getValue(id)
+            SourceUnit(
+                id = pack.syncId,
+                packs = listOf(pack),
+                dependencies = declaredDependencies.getValue(id).map { packsById.getValue(it).syncId }
+            )
+        }
+        val sharedPacks = sourcePacks.filter { it.manifest.id !in isolated }.sortedBy { it.syncId }
+        if (sharedPacks.isNotEmpty()) {
+            units += SourceUnit(
+                id = SHARED_UNIT_ID,
+                packs = sharedPacks,
+                dependencies = units.map { it.id }
+            )
+        }
+        return units
+    }
+
+    private fun topologicalOrder(
+        ids: Set<String>,
+        dependencies: Map<String, List<String>>,
+        packsById: Map<String, ScriptPack>
+    ): Pair<List<String>, Set<String>> {
+        val remaining = ids.associateWithTo(HashMap()) { id -> dependencies.getValue(id).count { it in ids } }
+        val ready = TreeSet<String>(compareBy { packsById.getValue(it).syncId })
+        remaining.filterValues { it == 0 }.keys.forEach(ready::add)
+
+        val order = mutableListOf<String>()
+        while (ready.isNotEmpty()) {
+            val next = ready.pollFirst()!!
+            remaining.remove(next)
+            order += next
+            for ((id, count) in remaining) {
+                if (next in dependencies.getValue(id)) {
+                    remaining[id] = count - 1
+                    if (count - 1 == 0) ready += id
+                }
+            }
+        }
+        return order to remaining.keys
+    }
+}
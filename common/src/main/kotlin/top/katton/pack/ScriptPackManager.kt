@@ -17,6 +17,9 @@ object ScriptPackManager {
     private const val PACKS_DIR_NAME = "kattonpacks"
     private const val MANIFEST_FILE_NAME = "manifest.json"
     private const val STATE_FILE_NAME = ".kattonpack.state.json"
+
+    private val packOrder = compareBy<ScriptPack> { it.manifest.name.lowercase() }.thenBy { it.manifest.id.lowercase() }
+
     @Volatile
     private var gameDirectory: Path? = null
 
@@ -61,6 +64,33 @@ object ScriptPackManager {
         worldPacks = scanScopePacks(worldDirectory, ScriptPackScope.WORLD)
     }
 
+    /**
+     * Rescans only the given pack locations (pack folders or jars directly under the
+     * world `kattonpacks` root) and keeps every other world pack as scanned before.
+     */
+    @Synchronized
+    fun refreshWorldPacks(changedPackLocations: Collection<Path>) {
+        worldPacks = rescanScopePacks(worldPacks, worldDirectory, ScriptPackScope.WORLD, changedPackLocations)
+    }
+
+    /**
+     * Scans the world packs like [refreshWorldPacks], only rescanning
+     * [changedPackLocations] when given, but returns them instead of making
+     * them the current list. [commitWorldPacks] publishes the result, so a
+     * reload can compile the new packs while listing and client sync still
+     * describe the running ones.
+     */
+    @Synchronized
+    fun scanWorldPacks(changedPackLocations: Collection<Path>?): List<ScriptPack> {
+        if (changedPackLocations == null) return scanScopePacks(worldDirectory, ScriptPackScope.WORLD)
+        return rescanScopePacks(worldPacks, worldDirectory, ScriptPackScope.WORLD, changedPackLocations)
+    }
+
+    @Synchronized
+    fun commitWorldPacks(packs: List<ScriptPack>) {
+        worldPacks = packs
+    }
+
     @Synchronized
     fun refreshLocalPacks() {
         refreshGlobalPacks()
@@ -168,13 +198,34 @@ object ScriptPackManager {
                     }
                 }
             }
-            discovered.sortedWith(compareBy<ScriptPack> { it.manifest.name.lowercase() }.thenBy { it.manifest.id.lowercase() })
+            discovered.sortedWith(packOrder)
         }.getOrElse {
             LOGGER.warn("Failed to scan script packs under {}", packsRoot, it)
             emptyList()
         }
     }
 
+    private fun rescanScopePacks(
+        current: List<ScriptPack>,
+        rootDirectory: Path?,
+        scope: ScriptPackScope,
+        changedPackLocations: Collection<Path>
+    ): List<ScriptPack> {
+        if (rootDirectory == null) return emptyList()
+        val packsRoot = rootDirectory.resolve(PACKS_DIR_NAME)
+        val changed = changedPackLocations.mapTo(HashSet()) { it.toAbsolutePath().normalize() }
+        val kept = current.filter { it.location.toAbsolutePath().normalize() !in changed }
+        val rescanned = changed.filter { it.parent == packsRoot.toAbsolutePath().normalize() }.mapNotNull { path ->
+            when {
+                Files.isDirectory(path) -> scanPackDirectory(path, scope)
+                Files.isRegularFile(path) && path.fileName.toString().endsWith(".jar", ignoreCase = true) ->
+                    scanPackJar(path, scope)
+                else -> null
+            }
+        }
+        return (kept + rescanned).sortedWith(packOrder)
+    }
+
     internal fun scanPackDirectory(
         packDirectory: Path,
         scope: ScriptPackScope,
@@ -15,7 +15,13 @@ data class ScriptPackManifest(
     val enabledByDefault: Boolean,
     val clientSync: Boolean,
     val signature: ScriptPackSignature?,
-    val config: Map<String, Any> = emptyMap()
+    val config: Map<String, Any> = emptyMap(),
+    /**
+     * Ids of the source packs this pack compiles against, or null when the
+     * manifest does not declare any and the pack shares one unit with other
+     * undeclared packs.
+     */
+    val dependencies: List<String>? = null
 ) {
     companion object {
         fun parse(packPath: Path, manifestJson: String): ScriptPackManifest {
@@ -33,6 +39,7 @@ data class ScriptPackManifest(
             val clientSync = root.booleanOrNull("clientSync") ?: true
             val signature = root.jsonObjectOrNull("signature")?.toSignature()
             val config = root.jsonObjectOrNull("config")?.toConfigMap().orEmpty()
+            val dependencies = root.arrayOrNull("dependencies")?.toStringList()
 
             return ScriptPackManifest(
                 id = id,
@@ -43,7 +50,8 @@ data class ScriptPackManifest(
                 enabledByDefault = enabled,
                 clientSync = clientSync,
                 signature = signature,
-                config = config
+                config = config,
+                dependencies = dependencies
             )
         }
     }
@@ -6,96 +6,166 @@ import net.minecraft.util.TriState
 import org.slf4j.LoggerFactory
 import top.katton.pack.ScriptPackScope
 import top.katton.util.Extension.returnIfNot
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
 
 /**
  * Invoker strategy: receives the full [EventHandler] array so that metadata
  * (scope) is available at dispatch time without extra allocations.
+ *
+ * Events call it once whenever their handlers change and keep the composed
+ * function, so it may do work up front; dispatch only runs the result. The
+ * array is never empty, and single-handler arrays get a composition without
+ * the loop.
  */
 private typealias EventInvoker<Arg, R> = (Array<EventHandler<Arg, R>>) -> (Arg) -> R
 
 private val LOGGER = LoggerFactory.getLogger("top.katton.util.Event")
 
+/** Shared result for dispatches without handlers; [Result] is immutable and covariant. */
+@PublishedApi
+internal val NO_HANDLER: Result<Nothing> = Result.failure("No handler")
+
 fun <B> unit(): EventInvoker<B, Unit> = { events ->
-    { arg: B -> events.forEach { e -> e(arg) } }
+    if (events.size == 1) {
+        val e = events[0]
+        { arg: B -> e(arg) }
+    } else {
+        { arg: B -> events.forEach { e -> e(arg) } }
+    }
 }
 
 fun <B, R> firstNotNullOfOrNull(): EventInvoker<B, R?> = { events ->
-    { arg: B -> events.firstNotNullOfOrNull { e -> e(arg) } }
+    if (events.size == 1) {
+        val e = events[0]
+        { arg: B -> e(arg) }
+    } else {
+        { arg: B -> events.firstNotNullOfOrNull { e -> e(arg) } }
+    }
 }
 
 fun <B> all(): EventInvoker<B, Boolean> = { events ->
-    { arg: B -> events.all { e -> e(arg) } }
+    if (events.size == 1) {
+        val e = events[0]
+        { arg: B -> e(arg) }
+    } else {
+        { arg: B -> events.all { e -> e(arg) } }
+    }
 }
 
 fun <B> any(): EventInvoker<B, Boolean> = { events ->
-    { arg: B -> events.any { e -> e(arg) } }
+    if (events.size == 1) {
+        val e = events[0]
+        { arg: B -> e(arg) }
+    } else {
+        { arg: B -> events.any { e -> e(arg) } }
+    }
 }
 
 internal fun <B, R> returnIfNot(passValue: R, returnValue: R?): EventInvoker<B, R?> = { events ->
-    { arg: B -> events.returnIfNot(passValue, returnValue) { e -> e(arg) } }
+    if (events.size == 1) {
+        val e = events[0]
+        { arg: B -> e(arg).let { if (it != passValue) it else returnValue } }
+    } else {
+        { arg: B -> events.returnIfNot(passValue, returnValue) { e -> e(arg) } }
+    }
 }
 
 internal fun <B, R> returnIfNot(passValue: R): EventInvoker<B, R> = { events ->
-    { arg: B -> events.returnIfNot(passValue, passValue) { e -> e(arg) } !!}
+    if (events.size == 1) {
+        val e = events[0]
+        { arg: B -> e(arg) }
+    } else {
+        { arg: B -> events.returnIfNot(passValue, passValue) { e -> e(arg) } !!}
+    }
 }
 
 fun <B> triState(): EventInvoker<B, TriState> = { events ->
-    { arg: B ->
-        var status = TriState.DEFAULT
-        for (e in events) {
-            status = e(arg)
-            if (status != TriState.DEFAULT) break
+    if (events.size == 1) {
+        val e = events[0]
+        { arg: B -> e(arg) }
+    } else {
+        { arg: B ->
+            var status = TriState.DEFAULT
+            for (e in events) {
+                status = e(arg)
+                if (status != TriState.DEFAULT) break
+            }
+            status
         }
-        status
     }
 }
 
 fun <T, R> create(invoker: EventInvoker<T, R>) = DelegateEvent(invoker)
 
-fun <T> createUnit() = DelegateEvent<T, Unit>(unit())
+fun <T> createUnit() = DelegateEvent<T, Unit>(unit()) { }
 
-fun <T: CancellableEventArg> createCancellableUnit() = CancellableDelegateEvent<T, Unit>(unit())
+fun <T: CancellableEventArg> createCancellableUnit() = CancellableDelegateEvent<T, Unit>(unit()) { }
 
-fun <T, R> createReturnIfNot(unexpectValue: R, returnValue: R?) = DelegateEvent<T, R?>(returnIfNot(unexpectValue, returnValue))
+fun <T, R> createReturnIfNot(unexpectValue: R, returnValue: R?) = DelegateEvent<T, R?>(returnIfNot(unexpectValue, returnValue)) { unexpectValue }
 
-fun <T, R> createReturnIfNot(unexpectValue: R) = DelegateEvent<T, R>(returnIfNot(unexpectValue))
+fun <T, R> createReturnIfNot(unexpectValue: R) = DelegateEvent<T, R>(returnIfNot(unexpectValue)) { unexpectValue }
 
-fun <T> createTriState() = DelegateEvent<T, TriState>(triState())
+fun <T> createTriState() = DelegateEvent<T, TriState>(triState()) { TriState.DEFAULT }
 
-fun <T, R> createFirstNotNullOfOrNull() = DelegateEvent<T, R?>(firstNotNullOfOrNull())
+fun <T, R> createFirstNotNullOfOrNull() = DelegateEvent<T, R?>(firstNotNullOfOrNull()) { null }
 
-fun <T> createAny() = DelegateEvent<T, Boolean>(any())
+fun <T> createAny() = DelegateEvent<T, Boolean>(any()) { false }
 
-fun <T> createAll() = DelegateEvent<T, Boolean>(all())
+fun <T> createAll() = DelegateEvent<T, Boolean>(all()) { true }
 
-abstract class Cancellable {
+/**
+ * Base class for arguments of cancellable events.
+ *
+ * The cancellation state lives on the argument, so every dispatch has its own
+ * flag. The same event can be fired from several threads at once, or again from
+ * inside one of its handlers, without the dispatches seeing each other's state.
+ */
+@Suppress("unused")
+abstract class CancellableEventArg {
+    @Volatile
     private var cancelled = false
 
     fun cancel() {
         cancelled = true
     }
 
-    fun isCanceled(): Boolean {
+    fun isCancelled(): Boolean {
         return cancelled
     }
-
-    protected fun reset() {
-        cancelled = false
-    }
-
 }
 
-@Suppress("unused")
-abstract class CancellableEventArg {
-    lateinit var event: Cancellable
-
-    fun cancel() {
-        event.cancel()
-    }
+/**
+ * Order in which handlers of a Katton event run. Handlers run from [HIGHEST] to
+ * [LOWEST], in registration order within a tier, so higher tiers get the first
+ * say in short-circuiting events such as `firstNotNullOfOrNull` or `returnIfNot`.
+ *
+ * [MONITOR] handlers run after the outcome is decided. Their return values are
+ * ignored, their failures are logged without affecting the result, and they
+ * never take part in the short-circuiting logic. Use it for cheap observers.
+ */
+enum class HandlerPriority {
+    HIGHEST,
+    HIGH,
+    NORMAL,
+    LOW,
+    LOWEST,
+    MONITOR
+}
 
-    fun isCancelled(): Boolean {
-        return event.isCanceled()
-    }
+/**
+ * A kind of key that keyed subscriptions of an event are indexed by, such as
+ * the entity type or the dimension of the event argument.
+ *
+ * Keys must have stable `equals`/`hashCode`; registry objects and resource keys
+ * qualify. [extract] returns null when the argument has no key of this kind,
+ * in which case only the unkeyed handlers run.
+ */
+class EventKey<in Arg, K : Any>(
+    val name: String,
+    val extract: (Arg) -> K?
+) {
+    override fun toString(): String = "EventKey($name)"
 }
 
 /**
@@ -104,28 +174,67 @@ abstract class CancellableEventArg {
  * @property handler The actual callback function.
  * @property scope The script pack scope (e.g. GLOBAL, WORLD) this handler was registered under.
  * @property owner The script class that registered this handler.
+ * @property priority The tier this handler runs in.
+ * @property keyKind For keyed subscriptions, the kind of key the handler is indexed by.
+ * @property key For keyed subscriptions, the key value the handler listens to.
  */
 data class EventHandler<Arg, R>(
     val handler: (Arg) -> R,
     val scope: ScriptPackScope? = null,
-    val owner: String? = null
+    val owner: String? = null,
+    val priority: HandlerPriority = HandlerPriority.NORMAL,
+    val keyKind: EventKey<*, *>? = null,
+    val key: Any? = null
 ) {
+    private val context = ScriptContext.of(owner, scope)
+
     operator fun invoke(arg: Arg): R =
-        ScriptExecutionContext.withScope(scope) {
-            ScriptExecutionContext.withOwner(owner) {
-                handler(arg)
-            }
+        ScriptExecutionContext.withContext(context) {
+            handler(arg)
         }
 }
 
 interface Event<Arg, R> {
+    /**
+     * Name of the event for diagnostics such as [EventProfiler], in the form
+     * `ServerEvent.onStartServerTick`: the object and property it is declared in.
+     */
+    val name: String
+
     fun clear()
 
+    /**
+     * Whether any handler is registered. A single volatile read, meant for hook
+     * sites to skip building the argument object when nobody listens.
+     */
+    fun hasHandlers(): Boolean
+
     fun clearByScope(scope: ScriptPackScope)
 
+    /**
+     * Composes the invokers again from the registered handlers, picking up
+     * [EventProfiler] being switched on or off and owners disabled by [HandlerBudget].
+     */
+    fun recompose()
+
     operator fun invoke(arg: Arg): Result<R>
 
-    operator fun plusAssign(h: (Arg) -> R)
+    /** Registers [h] with [HandlerPriority.NORMAL]. */
+    operator fun plusAssign(h: (Arg) -> R) = register(HandlerPriority.NORMAL, h)
+
+    /**
+     * Registers [h] in the [priority] tier. Handlers are kept sorted when they are
+     * registered, so dispatch never sorts.
+     */
+    fun register(priority: HandlerPriority, h: (Arg) -> R)
+
+    /**
+     * Registers [h] for dispatches whose argument has [value] as its [key].
+     * The event resolves the matching handlers through a hash index before any
+     * handler runs, so handlers for other keys cost nothing. Keyed and unkeyed
+     * handlers share one priority order.
+     */
+    fun <K : Any> register(key: EventKey<Arg, K>, value: K, priority: HandlerPriority, h: (Arg) -> R)
 
     companion object {
         val registry = ArrayList<Event<*, *>>()
@@ -135,6 +244,8 @@ interface Event<Arg, R> {
             for (event in registry) {
                 event.clear()
             }
+            EventBatcher.discard(null)
+            HandlerBudget.reset(null)
         }
 
         @JvmStatic
@@ -142,94 +253,443 @@ interface Event<Arg, R> {
             for (event in registry) {
                 event.clearByScope(scope)
             }
+            EventBatcher.discard(scope)
+            HandlerBudget.reset(scope)
+        }
+    }
+}
+
+/**
+ * Invokes the event with the argument built by [arg], but only when a handler is
+ * registered. Being inline, an unused event costs one volatile read and no
+ * allocation for the argument, the lambda or the [Result].
+ */
+inline fun <Arg, R> Event<Arg, R>.invokeIfHandled(arg: () -> Arg): Result<R> =
+    if (hasHandlers()) invoke(arg()) else NO_HANDLER
+
+/**
+ * Dispatches a cancellable event with the argument built by [arg] and returns
+ * whether a handler cancelled it. Like [invokeIfHandled], the argument is only
+ * built when a handler is registered.
+ */
+inline fun <Arg : CancellableEventArg> Event<Arg, *>.invokeCancellable(arg: () -> Arg): Boolean {
+    if (!hasHandlers()) return false
+    val built = arg()
+    invoke(built)
+    return built.isCancelled()
+}
+
+/**
+ * Argument of an observer event that can be handed to [registerAsync] handlers.
+ *
+ * Event arguments reference live game objects that may only be touched on the
+ * server thread, so async handlers never see the argument itself. They get
+ * [detach]ed copy instead, which holds plain values only.
+ */
+interface AsyncEventArg<out D : Any> {
+    /** Copies what an off-thread handler may read; called on the dispatching thread. */
+    fun detach(): D
+}
+
+private val asyncHandlerExecutor: ExecutorService = Executors.newThreadPerTaskExecutor(
+    Thread.ofVirtual().name("Katton-AsyncEvent-", 0).factory()
+)
+
+/**
+ * Registers [h] to run on a virtual thread with a detached copy of the argument,
+ * for logging or other I/O that should not hold up the server thread.
+ *
+ * Only observer events (`Unit` results, not cancellable) whose argument
+ * implements [AsyncEventArg] accept async handlers. The handler is queued in
+ * the [HandlerPriority.MONITOR] tier and runs with the registering script's
+ * context; use `runOnServer` to hand results back to the server thread.
+ */
+fun <Arg : AsyncEventArg<D>, D : Any> DelegateEvent<Arg, Unit>.registerAsync(h: (D) -> Unit) {
+    register(HandlerPriority.MONITOR) { arg ->
+        val detached = arg.detach()
+        val context = ScriptExecutionContext.current()
+        asyncHandlerExecutor.execute {
+            ScriptExecutionContext.withContext(context) {
+                try {
+                    h(detached)
+                } catch (t: Throwable) {
+                    LOGGER.warn("Async script event handler failed for {}", detached.javaClass.name, t)
+                }
+            }
+        }
+    }
+}
+
+/**
+ * How an event composes its handlers: the [invoker] strategy, plus the result
+ * a single handler returns to stay out of the outcome ([pass]), if the strategy
+ * has one. [HandlerBudget] uses [pass] to skip throttled handlers.
+ */
+private class Composer<Arg, R>(
+    val event: Event<Arg, R>,
+    val invoker: EventInvoker<Arg, R>,
+    val pass: (() -> R)?
+)
+
+/**
+ * A handler array composed for dispatch. The invoker is composed over the
+ * deciding tiers only; [HandlerPriority.MONITOR] handlers are kept apart in
+ * [monitors] and notified after the outcome is known.
+ */
+private class Dispatch<Arg, R>(
+    val composed: ((Arg) -> R)?,
+    val monitors: Array<EventHandler<Arg, R>>
+) {
+    fun notifyMonitors(arg: Arg) {
+        for (monitor in monitors) {
+            try {
+                monitor(arg)
+            } catch (t: Throwable) {
+                LOGGER.warn("Script event monitor failed for {}", arg?.javaClass?.name ?: "null", t)
+            }
+        }
+    }
+
+    companion object {
+        private val NONE = Dispatch<Any?, Any?>(null, emptyArray())
+
+        @Suppress("UNCHECKED_CAST")
+        fun <Arg, R> none(): Dispatch<Arg, R> = NONE as Dispatch<Arg, R>
+
+        /** Composes [handlers], which must be ordered by priority. */
+        fun <Arg, R> of(handlers: Array<EventHandler<Arg, R>>, composer: Composer<Arg, R>): Dispatch<Arg, R> {
+            var sorted = HandlerBudget.withoutDisabled(handlers)
+            if (sorted.isEmpty()) return none()
+            if (HandlerBudget.enabled) {
+                val current = sorted
+                sorted = Array(current.size) { HandlerBudget.guard(current[it], composer.pass) }
+            }
+            if (EventProfiler.enabled) {
+                val current = sorted
+                sorted = Array(current.size) { EventProfiler.instrument(composer.event, current[it]) }
+            }
+            // Sorted, so the monitors are a suffix.
+            var split = sorted.size
+            while (split > 0 && sorted[split - 1].priority == HandlerPriority.MONITOR) split--
+            val deciders = if (split == sorted.size) sorted else sorted.copyOfRange(0, split)
+            return Dispatch(
+                if (deciders.isEmpty()) null else composer.invoker(deciders),
+                sorted.copyOfRange(split, sorted.size)
+            )
         }
     }
 }
 
-class DelegateEvent<Arg, R>(val invoker: EventInvoker<Arg, R>): Event<Arg, R> {
+/**
+ * Dispatches for every combination of keys an argument can have. A [Leaf] holds
+ * the dispatch of an event without keyed handlers, composed up front. A [Node]
+ * holds the handlers that can still apply on its path, as indices into the
+ * snapshot's entries so they stay in priority order, and does its work on
+ * first dispatch: above the last key kind it groups its handlers by the key of
+ * one kind and continues with the handlers registered for the argument's key
+ * plus those not keyed by that kind; below it, it composes the dispatch. A
+ * registration therefore only copies the entries, and only the paths that are
+ * dispatched get composed.
+ */
+private sealed class KeyTree<Arg, R> {
+    abstract fun resolve(arg: Arg): Dispatch<Arg, R>
+
+    class Leaf<Arg, R>(val dispatch: Dispatch<Arg, R>) : KeyTree<Arg, R>() {
+        override fun resolve(arg: Arg): Dispatch<Arg, R> = dispatch
+    }
+
+    class Node<Arg, R>(
+        private val entries: Array<EventHandler<Arg, R>>,
+        private val kinds: List<EventKey<Arg, *>>,
+        private val level: Int,
+        private val handlers: IntArray,
+        private val composer: Composer<Arg, R>
+    ) : KeyTree<Arg, R>() {
+        // Racing threads may both compute these; the results are equivalent.
+        private val dispatch by lazy(LazyThreadSafetyMode.PUBLICATION) {
+            Dispatch.of(Array(handlers.size) { entries[handlers[it]] }, composer)
+        }
+
+        private val branches by lazy(LazyThreadSafetyMode.PUBLICATION) { split() }
+
+        override fun resolve(arg: Arg): Dispatch<Arg, R> {
+            if (level == kinds.size) return dispatch
+            val split = branches
+            val key = kinds[level].extract(arg)
+            val next = if (key == null) split.unmatched else split.byKey[key]?.value ?: split.unmatched
+            return next.resolve(arg)
+        }
+
+        private fun split(): Branches<Arg, R> {
+            val kind = kinds[level]
+            val groups = HashMap<Any, IntArrayList>()
+            val others = IntArrayList()
+            for (index in handlers) {
+                val handler = entries[index]
+                if (handler.keyKind === kind) {
+                    groups.getOrPut(handler.key!!, ::IntArrayList).add(index)
+                } else {
+                    others.add(index)
+                }
+            }
+            val unmatched = child(others.toArray())
+            val byKey = HashMap<Any, Lazy<KeyTree<Arg, R>>>(groups.size * 2)
+            for ((key, group) in groups) {
+                byKey[key] = lazy(LazyThreadSafetyMode.PUBLICATION) { child(merge(others, group)) }
+            }
+            return Branches(byKey, unmatched)
+        }
+
+        private fun child(handlers: IntArray): KeyTree<Arg, R> = Node(entries, kinds, level + 1, handlers, composer)
+    }
+
+    class Branches<Arg, R>(val byKey: HashMap<Any, Lazy<KeyTree<Arg, R>>>, val unmatched: KeyTree<Arg, R>)
+
+    /** Growable list of entry indices, kept ascending. */
+    class IntArrayList {
+        var values = IntArray(4)
+        var size = 0
+
+        fun add(value: Int) {
+            if (size == values.size) values = values.copyOf(size * 2)
+            values[size++] = value
+        }
+
+        fun toArray(): IntArray = values.copyOf(size)
+    }
+
+    companion object {
+        fun <Arg, R> build(entries: Array<EventHandler<Arg, R>>, composer: Composer<Arg, R>): KeyTree<Arg, R> {
+            @Suppress("UNCHECKED_CAST")
+            val kinds = entries.mapNotNull { it.keyKind }.distinct() as List<EventKey<Arg, *>>
+            if (kinds.isEmpty()) return Leaf(Dispatch.of(entries, composer))
+            return Node(entries, kinds, 0, IntArray(entries.size) { it }, composer)
+        }
+
+        /** Merges two ascending index lists, which keeps the priority order of the entries. */
+        private fun merge(a: IntArrayList, b: IntArrayList): IntArray {
+            val merged = IntArray(a.size + b.size)
+            var i = 0
+            var j = 0
+            var k = 0
+            while (i < a.size && j < b.size) {
+                merged[k++] = if (a.values[i] < b.values[j]) a.values[i++] else b.values[j++]
+            }
+            while (i < a.size) merged[k++] = a.values[i++]
+            while (j < b.size) merged[k++] = b.values[j++]
+            return merged
+        }
+    }
+}
+
+/**
+ * Handlers of an event together with the dispatches composed over them.
+ * Published through a single volatile write, so a dispatch never pairs an
+ * array with an invoker built for a different one.
+ *
+ * [entries] holds every handler, keyed or not, sorted by priority.
+ */
+private class HandlerSnapshot<Arg, R>(
+    val entries: Array<EventHandler<Arg, R>>,
+    private val tree: KeyTree<Arg, R>
+) {
+    /** Picks the dispatch for [arg]: one hash lookup per key kind in use, no allocation once its path is composed. */
+    fun resolve(arg: Arg): Dispatch<Arg, R> = tree.resolve(arg)
+
+    companion object {
+        private val EMPTY = HandlerSnapshot<Any?, Any?>(emptyArray(), KeyTree.Leaf(Dispatch.none()))
+
+        @Suppress("UNCHECKED_CAST")
+        fun <Arg, R> empty(): HandlerSnapshot<Arg, R> = EMPTY as HandlerSnapshot<Arg, R>
+
+        fun <Arg, R> of(entries: Array<EventHandler<Arg, R>>, composer: Composer<Arg, R>): HandlerSnapshot<Arg, R> {
+            if (entries.isEmpty()) return empty()
+            return HandlerSnapshot(entries, KeyTree.build(entries, composer))
+        }
+    }
+}
+
+private fun <Arg, R> HandlerSnapshot<Arg, R>.withHandler(
+    handler: EventHandler<Arg, R>,
+    composer: Composer<Arg, R>
+): HandlerSnapshot<Arg, R> {
+    // Insert after every handler of the same or a higher tier.
+    var index = entries.size
+    while (index > 0 && entries[index - 1].priority > handler.priority) index--
+    val arr = java.util.Arrays.copyOf(entries, entries.size + 1)
+    System.arraycopy(entries, index, arr, index + 1, entries.size - index)
+    arr[index] = handler
+    return HandlerSnapshot.of(arr, composer)
+}
+
+private fun <Arg, R> HandlerSnapshot<Arg, R>.withoutScope(scope: ScriptPackScope, composer: Composer<Arg, R>): HandlerSnapshot<Arg, R> {
+    if (entries.none { it.scope == scope }) return this
+    return HandlerSnapshot.of(entries.filter { it.scope != scope }.toTypedArray(), composer)
+}
+
+/**
+ * The class whose initializer is creating an event: the first caller on the
+ * stack outside of the event classes and the `createX` factories.
+ */
+private fun eventHolder(): Class<*>? =
+    StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE).walk { frames ->
+        frames.map { it.declaringClass }
+            .filter { !Event::class.java.isAssignableFrom(it) && it.name != "top.katton.util.EventKt" }
+            .findFirst()
+            .orElse(null)
+    }
+
+/**
+ * Names [event] after the static field of [holder] that holds it, which for an
+ * event declared in a Kotlin `object` is its property. Resolved on first use,
+ * once the holder has finished initializing.
+ */
+private fun eventName(event: Event<*, *>, holder: Class<*>?): String {
+    if (holder == null) return "Event@" + Integer.toHexString(System.identityHashCode(event))
+    val field = holder.declaredFields.firstOrNull { field ->
+        java.lang.reflect.Modifier.isStatic(field.modifiers) &&
+            Event::class.java.isAssignableFrom(field.type) &&
+            runCatching { field.trySetAccessible() && field.get(null) === event }.getOrDefault(false)
+    }
+    return holder.simpleName + "." + (field?.name ?: ("event@" + Integer.toHexString(System.identityHashCode(event))))
+}
+
+private fun <Arg, R> newHandler(
+    h: (Arg) -> R,
+    priority: HandlerPriority,
+    keyKind: EventKey<*, *>? = null,
+    key: Any? = null
+) = EventHandler(
+    handler = h,
+    scope = ScriptExecutionContext.currentScriptScope(),
+    owner = ScriptExecutionContext.currentScriptOwner(),
+    priority = priority,
+    keyKind = keyKind,
+    key = key
+)
+
+/**
+ * @param invoker How the handlers are composed.
+ * @param pass What a handler returns to stay out of the outcome under [invoker],
+ * or null when the strategy has no such value. Lets throttled handlers be skipped.
+ */
+class DelegateEvent<Arg, R>(
+    val invoker: EventInvoker<Arg, R>,
+    pass: (() -> R)? = null
+): Event<Arg, R> {
+
+    private val composer = Composer(this, invoker, pass)
+
+    private val holder = eventHolder()
+
+    override val name: String by lazy { eventName(this, holder) }
 
     init {
         Event.registry.add(this)
     }
 
+    @Volatile
+    private var snapshot: HandlerSnapshot<Arg, R> = HandlerSnapshot.empty()
+
+    val entries: Array<EventHandler<Arg, R>>
+        get() = snapshot.entries
+
+    @Synchronized
     override fun clear() {
-        entries = emptyArray()
+        snapshot = HandlerSnapshot.empty()
     }
 
+    @Synchronized
     override fun clearByScope(scope: ScriptPackScope) {
-        val es = entries
-        if (es.isEmpty()) return
-        entries = es.filter { it.scope != scope }.toTypedArray()
+        snapshot = snapshot.withoutScope(scope, composer)
     }
 
-    @Volatile
-    var entries: Array<EventHandler<Arg, R>> = emptyArray()
+    @Synchronized
+    override fun recompose() {
+        snapshot = HandlerSnapshot.of(snapshot.entries, composer)
+    }
+
+    override fun hasHandlers(): Boolean = snapshot.entries.isNotEmpty()
 
-    override operator fun plusAssign(h: (Arg) -> R) {
-        val old = entries
-        val n = old.size
-        val arr = java.util.Arrays.copyOf(old, n + 1)
-        arr[n] = EventHandler(
-            handler = h,
-            scope = ScriptExecutionContext.currentScriptScope(),
-            owner = ScriptExecutionContext.currentScriptOwner()
-        )
-        entries = arr
+    @Synchronized
+    override fun register(priority: HandlerPriority, h: (Arg) -> R) {
+        snapshot = snapshot.withHandler(newHandler(h, priority), composer)
+    }
+
+    @Synchronized
+    override fun <K : Any> register(key: EventKey<Arg, K>, value: K, priority: HandlerPriority, h: (Arg) -> R) {
+        snapshot = snapshot.withHandler(newHandler(h, priority, key, value), composer)
     }
 
     override operator fun invoke(arg: Arg): Result<R> {
-        val es = entries
-        if (es.isEmpty()) return Result.failure("No handler")
-        return try {
-            Result.success(invoker(es).invoke(arg))
+        val dispatch = snapshot.resolve(arg)
+        val composed = dispatch.composed
+        val result = if (composed == null) NO_HANDLER else try {
+            Result.success(composed(arg))
         } catch (t: Throwable) {
             LOGGER.warn("Script event handler failed for {}", arg?.javaClass?.name ?: "null", t)
             Result.failure("Script event handler failed: ${t.message ?: t.javaClass.name}")
         }
+        dispatch.notifyMonitors(arg)
+        return result
     }
 }
 
-class CancellableDelegateEvent<Arg: CancellableEventArg, R>(val invoker: EventInvoker<Arg, R>): Cancellable(), Event<Arg, R> {
+class CancellableDelegateEvent<Arg: CancellableEventArg, R>(
+    val invoker: EventInvoker<Arg, R>,
+    pass: (() -> R)? = null
+): Event<Arg, R> {
+
+    private val composer = Composer(this, invoker, pass)
+
+    private val holder = eventHolder()
+
+    override val name: String by lazy { eventName(this, holder) }
 
     init {
         Event.registry.add(this)
     }
 
+    @Volatile
+    private var snapshot: HandlerSnapshot<Arg, R> = HandlerSnapshot.empty()
+
+    @Synchronized
     override fun clear() {
-        entries = emptyArray()
+        snapshot = HandlerSnapshot.empty()
     }
 
+    @Synchronized
     override fun clearByScope(scope: ScriptPackScope) {
-        val es = entries
-        if (es.isEmpty()) return
-        entries = es.filter { it.scope != scope }.toTypedArray()
+        snapshot = snapshot.withoutScope(scope, composer)
     }
 
-    @Volatile
-    private var entries: Array<EventHandler<Arg, R>> = emptyArray()
+    @Synchronized
+    override fun recompose() {
+        snapshot = HandlerSnapshot.of(snapshot.entries, composer)
+    }
+
+    override fun hasHandlers(): Boolean = snapshot.entries.isNotEmpty()
+
+    @Synchronized
+    override fun register(priority: HandlerPriority, h: (Arg) -> R) {
+        snapshot = snapshot.withHandler(newHandler(h, priority), composer)
+    }
 
-    override operator fun plusAssign(h: (Arg) -> R) {
-        val old = entries
-        val n = old.size
-        val arr = java.util.Arrays.copyOf(old, n + 1)
-        arr[n] = EventHandler(
-            handler = h,
-            scope = ScriptExecutionContext.currentScriptScope(),
-            owner = ScriptExecutionContext.currentScriptOwner()
-        )
-        entries = arr
+    @Synchronized
+    override fun <K : Any> register(key: EventKey<Arg, K>, value: K, priority: HandlerPriority, h: (Arg) -> R) {
+        snapshot = snapshot.withHandler(newHandler(h, priority, key, value), composer)
     }
 
     override operator fun invoke(arg: Arg): Result<R> {
-        reset()
-        arg.event = this
-        val es = entries
-        if (es.isEmpty()) return Result.failure("No handler")
-        return try {
-            Result.success(invoker(es).invoke(arg))
+        val dispatch = snapshot.resolve(arg)
+        val composed = dispatch.composed
+        val result = if (composed == null) NO_HANDLER else try {
+            Result.success(composed(arg))
         } catch (t: Throwable) {
             LOGGER.warn("Script cancellable event handler failed for {}", arg.javaClass.name, t)
             Result.failure("Script event handler failed: ${t.message ?: t.javaClass.name}")
         }
+        dispatch.notifyMonitors(arg)
+        return result
     }
 }
@@ -0,0 +1,115 @@
+package top.katton.util
+
+import org.slf4j.LoggerFactory
+import top.katton.pack.ScriptPackScope
+
+/**
+ * Registers [h] to receive the occurrences of this event in batches, once per
+ * server tick, instead of once per occurrence.
+ *
+ * Meant for high-frequency observer events such as chunk, block entity and
+ * entity loading, which fire thousands of times during a teleport or world
+ * pregeneration. Occurrences are appended to a reusable buffer from the
+ * [HandlerPriority.MONITOR] tier and delivered at the end of the tick, so a
+ * batched handler can never cancel or change the outcome of an occurrence.
+ *
+ * The list passed to [h] is reused for the next tick: copy it when it has to
+ * be kept past the call.
+ */
+fun <Arg> Event<Arg, Unit>.registerBatched(h: (List<Arg>) -> Unit) {
+    val batch = EventBatcher.Batch(h, ScriptExecutionContext.current())
+    register(HandlerPriority.MONITOR, batch::add)
+}
+
+/**
+ * Collects the occurrences for [registerBatched] handlers and delivers them at
+ * the end of each server tick, from [flush].
+ */
+object EventBatcher {
+    private val logger = LoggerFactory.getLogger(EventBatcher::class.java)
+
+    /** Batches that received at least one occurrence since the last flush. */
+    private val pending = ArrayList<Batch<*>>()
+
+    internal class Batch<Arg>(
+        private val handler: (List<Arg>) -> Unit,
+        val context: ScriptContext?
+    ) {
+        // Filled during the tick and swapped with the delivered buffer on flush,
+        // so both are reused and the lock is never held while the handler runs.
+        private var filling = ArrayList<Arg>()
+        private var delivering = ArrayList<Arg>()
+
+        fun add(arg: Arg) {
+            val first = synchronized(this) {
+                filling.add(arg)
+                filling.size == 1
+            }
+            if (first) schedule(this)
+        }
+
+        fun deliver() {
+            val batch = synchronized(this) {
+                val full = filling
+                filling = delivering
+                delivering = full
+                full
+            }
+            if (batch.isEmpty()) return
+            try {
+                ScriptExecutionContext.withContext(context) {
+                    handler(batch)
+                }
+            } catch (t: Throwable) {
+                logger.warn("Batched script event handler failed for {} occurrence(s)", batch.size, t)
+            } finally {
+                batch.clear()
+            }
+        }
+
+        fun discard() {
+            synchronized(this) {
+                filling.clear()
+            }
+        }
+    }
+
+    private fun schedule(batch: Batch<*>) {
+        synchronized(pending) {
+            pending.add(batch)
+        }
+    }
+
+    /**
+     * Delivers every pending batch. Called by the platform entrypoints at the
+     * end of each server tick, on the server thread.
+     */
+    @JvmStatic
+    fun flush() {
+        val batches = synchronized(pending) {
+            if (pending.isEmpty()) return
+            val copy = pending.toTypedArray()
+            pending.clear()
+            copy
+        }
+        for (batch in batches) {
+            batch.deliver()
+        }
+    }
+
+    /**
+     * Drops pending occurrences of batches registered under [scope], or of all
+     * batches when [scope] is null, so handlers cleared by a reload are not
+     * called once more.
+     */
+    @JvmStatic
+    fun discard(scope: ScriptPackScope?) {
+        synchronized(pending) {
+            pending.removeIf { batch ->
+                val matches = scope == null || batch.context?.scope == scope
+                if (matches) batch.discard()
+                matches
+            }
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package top.katton.util
+
+import jdk.jfr.Category
+import jdk.jfr.Description
+import jdk.jfr.Label
+import jdk.jfr.Name
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.atomic.LongAdder
+
+/**
+ * Opt-in timing of script event handlers, aggregated per event and per owner.
+ *
+ * Instrumentation is applied when events compose their invokers, so switching
+ * it on or off recomposes every registered event. While it is off the composed
+ * invokers are the plain ones and dispatch does no extra work at all.
+ *
+ * Statistics are kept per event instance, so events that share an argument
+ * type (`onStartServerTick` and `onEndServerTick`, ...) get separate rows, each
+ * labelled with [Event.name]. Each instrumented call is also reported to JFR as
+ * a [HandlerJfrEvent] when a recording enables it.
+ */
+object EventProfiler {
+
+    /** Aggregated timings of one owner's handlers on one event. */
+    class Stats internal constructor(val event: String, val owner: String) {
+        private val calls = LongAdder()
+        private val totalNanos = LongAdder()
+        private val maxNanos = AtomicLong()
+        private val failures = LongAdder()
+
+        val callCount: Long get() = calls.sum()
+        val totalTimeNanos: Long get() = totalNanos.sum()
+        val maxTimeNanos: Long get() = maxNanos.get()
+        val failureCount: Long get() = failures.sum()
+
+        internal fun record(nanos: Long, failed: Boolean) {
+            calls.increment()
+            totalNanos.add(nanos)
+            if (nanos > maxNanos.get()) maxNanos.accumulateAndGet(nanos, Math::max)
+            if (failed) failures.increment()
+        }
+    }
+
+    /** Events do not override `equals`, so the key compares them by identity. */
+    private data class Key(val event: Event<*, *>, val owner: String)
+
+    private val stats = ConcurrentHashMap<Key, Stats>()
+
+    /** Owner reported for handlers registered outside of any script. */
+    private const val UNKNOWN_OWNER = "<unknown>"
+
+    /** Whether handlers are instrumented. Changing it recomposes every event. */
+    @Volatile
+    @JvmStatic
+    var enabled: Boolean = false
+        set(value) {
+            synchronized(this) {
+                if (field == value) return
+                field = value
+            }
+            for (event in Event.registry) {
+                event.recompose()
+            }
+        }
+
+    @JvmStatic
+    fun reset() {
+        stats.clear()
+    }
+
+    /** Current statistics, slowest total first. */
+    @JvmStatic
+    fun snapshot(): List<Stats> = stats.values.sortedByDescending { it.totalTimeNanos }
+
+    /** Returns a handler that times [handler] and otherwise behaves the same. */
+    internal fun <Arg, R> instrument(event: Event<Arg, R>, handler: EventHandler<Arg, R>): EventHandler<Arg, R> {
+        val owner = handler.owner ?: UNKNOWN_OWNER
+        val inner = handler.handler
+        return handler.copy(handler = { arg -> timed(event, owner, arg, inner) })
+    }
+
+    private inline fun <Arg, R> timed(event: Event<*, *>, owner: String, arg: Arg, inner: (Arg) -> R): R {
+        val jfr = HandlerJfrEvent()
+        jfr.begin()
+        val start = System.nanoTime()
+        var failed = true
+        try {
+            val result = inner(arg)
+            failed = false
+            return result
+        } finally {
+            val elapsed = System.nanoTime() - start
+            stats.computeIfAbsent(Key(event, owner)) { Stats(it.event.name, it.owner) }
+                .record(elapsed, failed)
+            jfr.end()
+            if (jfr.shouldCommit()) {
+                jfr.event = event.name
+                jfr.owner = owner
+                jfr.failed = failed
+                jfr.commit()
+            }
+        }
+    }
+}
+
+@Name("katton.ScriptEventHandler")
+@Label("Script Event Handler")
+@Category("Katton")
+@Description("One call of a script event handler while event profiling is enabled")
+internal class HandlerJfrEvent : jdk.jfr.Event() {
+    @Label("Event")
+    @JvmField
+    var event: String? = null
+
+    @Label("Owner")
+    @JvmField
+    var owner: String? = null
+
+    @Label("Failed")
+    @JvmField
+    var failed: Boolean = false
+}
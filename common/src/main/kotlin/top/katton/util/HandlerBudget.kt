@@ -0,0 +1,212 @@
+package top.katton.util
+
+import org.slf4j.LoggerFactory
+import top.katton.engine.ScriptIssueReporter
+import top.katton.pack.ScriptPackScope
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.atomic.LongAdder
+import java.util.concurrent.locks.LockSupport
+
+/**
+ * Per-owner tick-time budget for script event handlers, enabled with
+ * `-Dkatton.budget.tickMillis=<ms>`.
+ *
+ * Time spent in each owner's handlers is summed per server tick. An owner that
+ * overruns the budget for `katton.budget.throttleAfter` consecutive ticks
+ * (default 3) is throttled: once it has used up its budget within a tick, its
+ * remaining calls in that tick are skipped, returning the event's pass value.
+ * An owner that keeps overrunning for `katton.budget.disableAfter` consecutive
+ * ticks (default 40) is disabled until the next reload and reported through
+ * [ScriptIssueReporter]. A tick within budget clears both states.
+ *
+ * Handlers are timed against a clock thread that samples [System.nanoTime]
+ * every half millisecond, so a call costs two volatile reads instead of two
+ * clock reads. Short calls are charged whenever a sample falls inside them,
+ * which evens out over a tick. The clock runs from the first server tick until
+ * [stop] is called when the server stops. With no budget configured nothing is
+ * wrapped and the clock never starts.
+ *
+ * A handler that fires an event handled by the same owner is charged once: the
+ * outer call's time already includes the nested call.
+ */
+object HandlerBudget {
+    private val logger = LoggerFactory.getLogger(HandlerBudget::class.java)
+
+    private val budgetNanos: Long = (java.lang.Long.getLong("katton.budget.tickMillis") ?: 0L).coerceAtLeast(0L) * 1_000_000L
+    private val throttleAfter: Int = (Integer.getInteger("katton.budget.throttleAfter") ?: 3).coerceAtLeast(1)
+    private val disableAfter: Int = (Integer.getInteger("katton.budget.disableAfter") ?: 40).coerceAtLeast(throttleAfter)
+
+    val enabled: Boolean = budgetNanos > 0
+
+    private val owners = ConcurrentHashMap<String, OwnerBudget>()
+
+    @Volatile
+    private var anyDisabled = false
+
+    internal class OwnerBudget(val owner: String, val scope: ScriptPackScope?) {
+        val used = LongAdder()
+
+        /** Throttled and out of budget for the rest of the current tick. */
+        @Volatile
+        var exhausted = false
+
+        @Volatile
+        var throttled = false
+
+        @Volatile
+        var disabled = false
+
+        /** Consecutive ticks over budget; only touched from [endTick]. */
+        var overruns = 0
+
+        fun charge(nanos: Long) {
+            used.add(nanos)
+            if (throttled && used.sum() > budgetNanos) exhausted = true
+        }
+    }
+
+    /** Owners whose handlers are being charged on the current thread, outermost calls only. */
+    private val charging = ThreadLocal.withInitial { HashSet<OwnerBudget>() }
+
+    /** Time source sampled by a daemon thread while a server with a budget is running. */
+    private object Clock {
+        @Volatile
+        @JvmField
+        var now: Long = System.nanoTime()
+
+        @Volatile
+        private var thread: Thread? = null
+
+        fun ensureRunning() {
+            if (thread != null) return
+            synchronized(this) {
+                if (thread != null) return
+                val started = Thread.ofPlatform().daemon().name("Katton-BudgetClock").unstarted(::run)
+                thread = started
+                started.start()
+            }
+        }
+
+        fun stop() {
+            synchronized(this) {
+                val running = thread ?: return
+                thread = null
+                LockSupport.unpark(running)
+            }
+        }
+
+        private fun run() {
+            val self = Thread.currentThread()
+            while (thread === self) {
+                now = System.nanoTime()
+                LockSupport.parkNanos(500_000L)
+            }
+        }
+    }
+
+    /** Returns [handlers] without those of disabled owners; the same array when none is disabled. */
+    internal fun <Arg, R> withoutDisabled(handlers: Array<EventHandler<Arg, R>>): Array<EventHandler<Arg, R>> {
+        if (!anyDisabled || handlers.none { isDisabled(it.owner) }) return handlers
+        return handlers.filterNot { isDisabled(it.owner) }.toTypedArray()
+    }
+
+    private fun isDisabled(owner: String?): Boolean = owner != null && owners[owner]?.disabled == true
+
+    /**
+     * Returns a handler that charges [handler]'s time to its owner. When the
+     * event has a [pass] value, or the handler is a monitor whose result is
+     * ignored, calls are skipped while the owner is exhausted.
+     */
+    internal fun <Arg, R> guard(handler: EventHandler<Arg, R>, pass: (() -> R)?): EventHandler<Arg, R> {
+        val owner = handler.owner ?: return handler
+        val budget = owners.computeIfAbsent(owner) { OwnerBudget(it, handler.scope) }
+        val inner = handler.handler
+        @Suppress("UNCHECKED_CAST")
+        val skip = pass ?: if (handler.priority == HandlerPriority.MONITOR) ({ null as R }) else null
+        return handler.copy(handler = { arg ->
+            val active = charging.get()
+            if (skip != null && budget.exhausted) {
+                skip()
+            } else if (!active.add(budget)) {
+                // Nested in a call of the same owner, which is charged for this one too.
+                inner(arg)
+            } else {
+                val start = Clock.now
+                try {
+                    inner(arg)
+                } finally {
+                    active.remove(budget)
+                    val spent = Clock.now - start
+                    if (spent != 0L) budget.charge(spent)
+                }
+            }
+        })
+    }
+
+    /**
+     * Closes the current tick's accounting. Called by the platform entrypoints
+     * at the end of each server tick, on the server thread.
+     */
+    @JvmStatic
+    fun endTick() {
+        if (!enabled) return
+        Clock.ensureRunning()
+        var newlyDisabled = false
+        for (budget in owners.values) {
+            val used = budget.used.sumThenReset()
+            budget.exhausted = false
+            if (budget.disabled) continue
+            if (used <= budgetNanos) {
+                if (budget.throttled) {
+                    budget.throttled = false
+                    logger.info("Script handlers of {} are back within the tick budget", budget.owner)
+                }
+                budget.overruns = 0
+                continue
+            }
+            budget.overruns++
+            if (budget.overruns >= disableAfter) {
+                budget.disabled = true
+                newlyDisabled = true
+                logger.warn("Disabled script handlers of {} after {} ticks over budget", budget.owner, budget.overruns)
+                ScriptIssueReporter.report(
+                    "Script handlers disabled",
+                    "Event handlers of ${budget.owner} exceeded the ${budgetNanos / 1_000_000} ms tick budget " +
+                        "for ${budget.overruns} consecutive ticks and are disabled until the next reload."
+                )
+            } else if (budget.overruns >= throttleAfter && !budget.throttled) {
+                budget.throttled = true
+                logger.warn(
+                    "Throttling script handlers of {}: over the {} ms tick budget for {} ticks",
+                    budget.owner, budgetNanos / 1_000_000, budget.overruns
+                )
+            }
+        }
+        if (newlyDisabled) {
+            anyDisabled = true
+            for (event in Event.registry) {
+                event.recompose()
+            }
+        }
+    }
+
+    /**
+     * Stops the clock thread. Called when the server stops; the next server's
+     * first tick starts it again.
+     */
+    @JvmStatic
+    fun stop() {
+        if (enabled) Clock.stop()
+    }
+
+    /**
+     * Forgets the budgets of owners in [scope], or of all owners when [scope]
+     * is null, so reloaded handlers start with a clean record.
+     */
+    @JvmStatic
+    fun reset(scope: ScriptPackScope?) {
+        if (!enabled) return
+        owners.values.removeIf { scope == null || it.scope == scope }
+        anyDisabled = owners.values.any { it.disabled }
+    }
+}
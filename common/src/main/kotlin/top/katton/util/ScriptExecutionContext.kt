@@ -2,58 +2,85 @@ package top.katton.util
 
 import top.katton.pack.ScriptPackScope
 
+/**
+ * Owner and scope of the script that is currently executing.
+ *
+ * Immutable, so callbacks build it once at registration and hand the same
+ * instance to [ScriptExecutionContext.withContext] on every dispatch.
+ *
+ * @property owner Owner in `"<scope>:<fqcn>"` form, or null when unknown.
+ * @property scope Script pack scope, or null when unknown.
+ */
+data class ScriptContext(
+    val owner: String?,
+    val scope: ScriptPackScope?
+) {
+    /** Fills the fields this context leaves null from [outer]. */
+    fun over(outer: ScriptContext): ScriptContext =
+        if (owner != null && scope != null) this
+        else ScriptContext(owner ?: outer.owner, scope ?: outer.scope)
+
+    companion object {
+        /** Returns a context for [owner] and [scope], or null when both are null. */
+        @JvmStatic
+        fun of(owner: String?, scope: ScriptPackScope?): ScriptContext? =
+            if (owner == null && scope == null) null else ScriptContext(owner, scope)
+    }
+}
+
 /**
  * Tracks the currently executing script context during script entrypoint invocation.
  *
- * This object maintains two [ThreadLocal] values — owner and scope — so that
- * registration APIs (items, blocks, effects, events, commands, injections) can
- * determine which script they are being called from without requiring every
+ * This object keeps a single [ThreadLocal] holding an immutable [ScriptContext]
+ * so that registration APIs (items, blocks, effects, events, commands, injections)
+ * can determine which script they are being called from without requiring every
  * API function to pass explicit owner/scope parameters.
  *
+ * Entering a context is one read and one write of that thread local, and the
+ * `with*` functions are inline, so dispatching to a script callback allocates
+ * nothing when the callback's context was built up front.
+ *
  * Owner format is always `"<scope>:<fqcn>"` (e.g. `"GLOBAL:top.katton.scripts.MyScript"`).
  */
 object ScriptExecutionContext {
-    private val currentScriptOwner = ThreadLocal<String?>()
-    private val currentScriptScope = ThreadLocal<ScriptPackScope?>()
+    @PublishedApi
+    internal val current = ThreadLocal<ScriptContext?>()
 
-    fun currentScriptOwner(): String? = currentScriptOwner.get()
-    fun currentScriptScope(): ScriptPackScope? = currentScriptScope.get()
+    fun current(): ScriptContext? = current.get()
+    fun currentScriptOwner(): String? = current.get()?.owner
+    fun currentScriptScope(): ScriptPackScope? = current.get()?.scope
 
     /**
-     * Executes [action] with [owner] as the current script owner.
-     * The previous owner (if any) is restored in a `finally` block.
+     * Executes [action] with [context] as the current script context. Fields that
+     * [context] leaves null are inherited from the enclosing context. The previous
+     * context is restored in a `finally` block.
      */
-    fun <R> withOwner(owner: String?, action: () -> R): R {
-        if (owner == null) return action()
-        val previous = currentScriptOwner.get()
-        currentScriptOwner.set(owner)
-        return try {
-            action()
+    inline fun <R> withContext(context: ScriptContext?, action: () -> R): R {
+        if (context == null) return action()
+        val previous = current.get()
+        current.set(if (previous == null) context else context.over(previous))
+        try {
+            return action()
         } finally {
             if (previous == null) {
-                currentScriptOwner.remove()
+                current.remove()
             } else {
-                currentScriptOwner.set(previous)
+                current.set(previous)
             }
         }
     }
 
+    /**
+     * Executes [action] with [owner] as the current script owner.
+     * The previous owner (if any) is restored in a `finally` block.
+     */
+    inline fun <R> withOwner(owner: String?, action: () -> R): R =
+        withContext(ScriptContext.of(owner, null), action)
+
     /**
      * Executes [action] with [scope] as the current script scope.
      * The previous scope (if any) is restored in a `finally` block.
      */
-    fun <R> withScope(scope: ScriptPackScope?, action: () -> R): R {
-        if (scope == null) return action()
-        val previous = currentScriptScope.get()
-        currentScriptScope.set(scope)
-        return try {
-            action()
-        } finally {
-            if (previous == null) {
-                currentScriptScope.remove()
-            } else {
-                currentScriptScope.set(previous)
-            }
-        }
-    }
+    inline fun <R> withScope(scope: ScriptPackScope?, action: () -> R): R =
+        withContext(ScriptContext.of(null, scope), action)
 }
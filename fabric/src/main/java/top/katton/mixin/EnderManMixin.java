@@ -20,10 +20,14 @@ public class EnderManMixin {
             cir.setReturnValue(false);
             return;
         }
-        var arg = new EndermanAngerArg(self, player);
-        ServerEntityEvent.onEndermanAnger.invoke(arg);
+        boolean cancelled = false;
+        if (ServerEntityEvent.onEndermanAnger.hasHandlers()) {
+            var arg = new EndermanAngerArg(self, player);
+            ServerEntityEvent.onEndermanAnger.invoke(arg);
+            cancelled = arg.isCancelled();
+        }
         var result = self.isLookingAtMe(player, 0.025, true, false, self.getEyeY())
-                && !ServerEntityEvent.onEndermanAnger.isCanceled();
+                && !cancelled;
         cir.setReturnValue(result);
     }
 }
@@ -25,9 +25,12 @@ public class ExperienceOrbMixin {
             ),
             cancellable = true)
     private void onPlayerTouch(Player player, CallbackInfo ci) {
-        ServerPlayerEvent.onPlayerPickupXp.invoke(new PlayerPickupXpArg(player, (ExperienceOrb) (Object) this));
-        if(ServerPlayerEvent.onPlayerPickupXp.isCanceled()){
-            ci.cancel();
+        if (ServerPlayerEvent.onPlayerPickupXp.hasHandlers()) {
+            var arg = new PlayerPickupXpArg(player, (ExperienceOrb) (Object) this);
+            ServerPlayerEvent.onPlayerPickupXp.invoke(arg);
+            if (arg.isCancelled()) {
+                ci.cancel();
+            }
         }
     }
 }
@@ -19,9 +19,12 @@ public class ExplosionMixin {
     
     @Inject(method = "explode", at = @At("HEAD"), cancellable = true)
     private void katton$onExplosionStart(CallbackInfoReturnable<Integer> cir) {
-        ChunkAndBlockEvent.onExplosionStart.invoke(new ExplosionStartArg(level, (Explosion) this));
-        if (ChunkAndBlockEvent.onExplosionStart.isCanceled()) {
-            cir.cancel();
+        if (ChunkAndBlockEvent.onExplosionStart.hasHandlers()) {
+            var arg = new ExplosionStartArg(level, (Explosion) this);
+            ChunkAndBlockEvent.onExplosionStart.invoke(arg);
+            if (arg.isCancelled()) {
+                cir.cancel();
+            }
         }
     }
 }
@@ -37,9 +37,12 @@ public abstract class LivingEntityMixin {
     @Inject(method = "causeFallDamage", at = @At("HEAD"), cancellable = true)
     private void katton$onFall(double fallDistance, float damageModifier, DamageSource damageSource, CallbackInfoReturnable<Boolean> cir) {
         LivingEntity self = (LivingEntity)(Object)this;
-        ServerLivingEntityEvent.onLivingFall.invoke(new LivingFallArg(self, fallDistance, damageModifier));
-        if (ServerLivingEntityEvent.onLivingFall.isCanceled()) {
-            cir.setReturnValue(false);
+        if (ServerLivingEntityEvent.onLivingFall.hasHandlers()) {
+            var arg = new LivingFallArg(self, fallDistance, damageModifier);
+            ServerLivingEntityEvent.onLivingFall.invoke(arg);
+            if (arg.isCancelled()) {
+                cir.setReturnValue(false);
+            }
         }
     }
 
@@ -55,9 +58,12 @@ public abstract class LivingEntityMixin {
             cancellable = true)
     private void beforeSetUseItem(InteractionHand hand, CallbackInfo ci, @Local(name = "itemStack") ItemStack itemStack) {
         LivingEntity self = (LivingEntity)(Object)this;
-        LivingUseItemEvent.onUseItemStart.invoke(new LivingUseItemStartArg(self, itemStack, hand, itemStack.getUseDuration(self)));
-        if(LivingUseItemEvent.onUseItemStart.isCanceled()) {
-            ci.cancel();
+        if (LivingUseItemEvent.onUseItemStart.hasHandlers()) {
+            var arg = new LivingUseItemStartArg(self, itemStack, hand, itemStack.getUseDuration(self));
+            LivingUseItemEvent.onUseItemStart.invoke(arg);
+            if (arg.isCancelled()) {
+                ci.cancel();
+            }
         }
     }
 
@@ -65,10 +71,10 @@ public abstract class LivingEntityMixin {
     @Inject(method = "updateUsingItem", at = @At("HEAD"), cancellable = true)
     protected void onUpdateUsingItem(ItemStack useItem, CallbackInfo ci) {
         LivingEntity self = (LivingEntity)(Object)this;
-        if (!useItem.isEmpty()) {
+        if (!useItem.isEmpty() && LivingUseItemEvent.onUseItemTick.hasHandlers()) {
             var arg = new LivingUseItemTickArg(self, useItem, self.getUseItemRemainingTicks());
             LivingUseItemEvent.onUseItemTick.invoke(arg);
-            if(LivingUseItemEvent.onUseItemTick.isCanceled()){
+            if(arg.isCancelled()){
                 this.useItemRemaining = -1;
             }else{
                 this.useItemRemaining = arg.getDuration();
@@ -88,11 +94,16 @@ public abstract class LivingEntityMixin {
         ItemStack itemInUsedHand = self.getItemInHand(self.getUsedItemHand());
         if (!useItem.isEmpty() && ItemStack.isSameItem(itemInUsedHand, useItem)) {
             useItem = itemInUsedHand;
-            LivingUseItemEvent.onUseItemStop.invoke(new LivingUseItemStopArg(self, useItem, self.getUseItemRemainingTicks()));
-            if (!LivingUseItemEvent.onUseItemStop.isCanceled()) {
+            boolean cancelled = false;
+            if (LivingUseItemEvent.onUseItemStop.hasHandlers()) {
+                var arg = new LivingUseItemStopArg(self, useItem, self.getUseItemRemainingTicks());
+                LivingUseItemEvent.onUseItemStop.invoke(arg);
+                cancelled = arg.isCancelled();
+            }
+            if (!cancelled) {
                 ItemStack copy = self instanceof Player ? useItem.copy() : null;
                 this.useItem.releaseUsing(self.level(), self, self.getUseItemRemainingTicks());
-                if (copy != null && useItem.isEmpty()) PlayerEvent.onDestroyItem.invoke(new PlayerDestroyItemArg((Player)self, copy, self.getUsedItemHand()));
+                if (copy != null && useItem.isEmpty() && PlayerEvent.onDestroyItem.hasHandlers()) PlayerEvent.onDestroyItem.invoke(new PlayerDestroyItemArg((Player)self, copy, self.getUsedItemHand()));
             }
             if (this.useItem.useOnRelease()) {
                 this.updatingUsingItem();
@@ -114,10 +125,15 @@ public abstract class LivingEntityMixin {
                 self.releaseUsingItem();
             } else {
                 if (!this.useItem.isEmpty() && self.isUsingItem()) {
-                    ItemStack copy = this.useItem.copy();
-                    var arg = new LivingUseItemFinishArg(self, copy, self.getUseItemRemainingTicks(), this.useItem.finishUsingItem(self.level(), self));
-                    LivingUseItemEvent.onUseItemFinish.invoke(arg);
-                    ItemStack result = arg.getResult();
+                    ItemStack result;
+                    if (LivingUseItemEvent.onUseItemFinish.hasHandlers()) {
+                        ItemStack copy = this.useItem.copy();
+                        var arg = new LivingUseItemFinishArg(self, copy, self.getUseItemRemainingTicks(), this.useItem.finishUsingItem(self.level(), self));
+                        LivingUseItemEvent.onUseItemFinish.invoke(arg);
+                        result = arg.getResult();
+                    } else {
+                        result = this.useItem.finishUsingItem(self.level(), self);
+                    }
                     if (result != this.useItem) {
                         self.setItemInHand(hand, result);
                     }
@@ -142,13 +158,19 @@ public abstract class LivingEntityMixin {
     ) {
         LivingEntity self = (LivingEntity) (Object) this;
 
-        var arg = new ShieldBlockArg(self, source, damage, !blocksAttacks.bypassedBy().map((x) -> x.contains(source.typeHolder())).orElse(false));
-        var blocked = ServerEntityCombatEvent.onShieldBlock.invoke(arg).getOrDefault(arg.getOriginalBlockedState());
+        boolean originalBlocked = !blocksAttacks.bypassedBy().map((x) -> x.contains(source.typeHolder())).orElse(false);
+        boolean blocked = originalBlocked;
+        float blockedDamage = damage;
+        if (ServerEntityCombatEvent.onShieldBlock.hasHandlers()) {
+            var arg = new ShieldBlockArg(self, source, damage, originalBlocked);
+            blocked = ServerEntityCombatEvent.onShieldBlock.invoke(arg).getOrDefault(originalBlocked);
+            blockedDamage = arg.getBlockedDamage();
+        }
         if(!blocked){
             cir.setReturnValue(0.0f);
             return;
         }
-        damageBlocked.set(arg.getBlockedDamage());
+        damageBlocked.set(blockedDamage);
     }
 
     @Inject(
@@ -167,9 +189,12 @@ public abstract class LivingEntityMixin {
             CallbackInfoReturnable<Boolean> cir
     ) {
         LivingEntity self = (LivingEntity) (Object) this;
-        ServerLivingEntityEvent.onLivingHurt.invoke(new LivingHurtArg(self, source, damage));
-        if(ServerLivingEntityEvent.onLivingHurt.isCanceled()){
-            cir.setReturnValue(false);
+        if (ServerLivingEntityEvent.onLivingHurt.hasHandlers()) {
+            var arg = new LivingHurtArg(self, source, damage);
+            ServerLivingEntityEvent.onLivingHurt.invoke(arg);
+            if (arg.isCancelled()) {
+                cir.setReturnValue(false);
+            }
         }
     }
 }
@@ -11,22 +11,28 @@ import top.katton.api.event.*;
 public class PlayerMixin {
     @Inject(method = "stopSleepInBed", at = @At("HEAD"))
     private void onStopSleepInBed(boolean forcefulWakeUp, boolean updateLevelList, CallbackInfo ci) {
-        LivingBehaviorEvent.onPlayerWakeUp.invoke(new PlayerWakeUpArg((Player) (Object) this, forcefulWakeUp, updateLevelList));
+        if (LivingBehaviorEvent.onPlayerWakeUp.hasHandlers()) LivingBehaviorEvent.onPlayerWakeUp.invoke(new PlayerWakeUpArg((Player) (Object) this, forcefulWakeUp, updateLevelList));
     }
 
     @Inject(method = "giveExperiencePoints", at = @At("HEAD"), cancellable = true)
     private void onGiveExperiencePoints(int points, CallbackInfo ci) {
-        ServerPlayerEvent.onPlayerXpChange.invoke(new PlayerXpChangeArg((Player) (Object) this, points));
-        if(ServerPlayerEvent.onPlayerPickupXp.isCanceled()){
-            ci.cancel();
+        if (ServerPlayerEvent.onPlayerXpChange.hasHandlers()) {
+            var arg = new PlayerXpChangeArg((Player) (Object) this, points);
+            ServerPlayerEvent.onPlayerXpChange.invoke(arg);
+            if (arg.isCancelled()) {
+                ci.cancel();
+            }
         }
     }
 
     @Inject(method = "giveExperienceLevels", at = @At("HEAD"), cancellable = true)
     private void onGiveExperienceLevels(int points, CallbackInfo ci) {
-        ServerPlayerEvent.onPlayerXpLevelChange.invoke(new PlayerXpLevelChangeArg((Player) (Object) this, points));
-        if(ServerPlayerEvent.onPlayerXpLevelChange.isCanceled()){
-            ci.cancel();
+        if (ServerPlayerEvent.onPlayerXpLevelChange.hasHandlers()) {
+            var arg = new PlayerXpLevelChangeArg((Player) (Object) this, points);
+            ServerPlayerEvent.onPlayerXpLevelChange.invoke(arg);
+            if (arg.isCancelled()) {
+                ci.cancel();
+            }
         }
     }
 
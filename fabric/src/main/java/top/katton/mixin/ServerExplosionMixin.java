@@ -27,7 +27,7 @@ public class ServerExplosionMixin {
     private List<Entity> onGetEntities(ServerLevel instance, Entity entity, AABB aabb, Operation<List> original){
         List<Entity> result = original.call(instance, entity, aabb);
         //noinspection DataFlowIssue
-        ChunkAndBlockEvent.onExplosionDetonate.invoke(new ExplosionDetonateArg(instance, (ServerExplosion) (Object) this, result));
+        if (ChunkAndBlockEvent.onExplosionDetonate.hasHandlers()) ChunkAndBlockEvent.onExplosionDetonate.invoke(new ExplosionDetonateArg(instance, (ServerExplosion) (Object) this, result));
         return result;
     }
 
@@ -14,7 +14,10 @@ import top.katton.api.event.ExplosionStartArg;
 public class ServerLevelMixin {
     @Inject(method = "explode", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/level/ServerExplosion;explode()I"), cancellable = true)
     private void beforeExplode(CallbackInfo ci, @Local(name = "explosion") ServerExplosion explosion) {
-        ChunkAndBlockEvent.onExplosionStart.invoke(new ExplosionStartArg(explosion.level(), explosion));
-        if(ChunkAndBlockEvent.onExplosionStart.isCanceled()) ci.cancel();
+        if (ChunkAndBlockEvent.onExplosionStart.hasHandlers()) {
+            var arg = new ExplosionStartArg(explosion.level(), explosion);
+            ChunkAndBlockEvent.onExplosionStart.invoke(arg);
+            if (arg.isCancelled()) ci.cancel();
+        }
     }
 }
@@ -6,6 +6,7 @@ import net.fabricmc.fabric.api.event.player.PlayerBlockBreakEvents
 import top.katton.util.createAll
 import top.katton.util.createCancellableUnit
 import top.katton.util.createUnit
+import top.katton.util.invokeIfHandled
 
 /**
  * Chunk, block entity, and block events for Fabric platform.
@@ -18,35 +19,35 @@ object ChunkAndBlockEvent {
 
     fun initialize() {
         ServerChunkEvents.CHUNK_LOAD.register { a, b, c ->
-            onChunkLoad(ChunkLoadArg(a, b, c))
+            onChunkLoad.invokeIfHandled { ChunkLoadArg(a, b, c) }
         }
 
         ServerChunkEvents.CHUNK_UNLOAD.register { a, b ->
-            onChunkUnload(ChunkUnloadArg(a, b))
+            onChunkUnload.invokeIfHandled { ChunkUnloadArg(a, b) }
         }
 
         ServerChunkEvents.FULL_CHUNK_STATUS_CHANGE.register { a, b, c, d ->
-            onChunkLevelTypeChange(ChunkStatusChangeArg(a, b, c, d))
+            onChunkLevelTypeChange.invokeIfHandled { ChunkStatusChangeArg(a, b, c, d) }
         }
 
         ServerBlockEntityEvents.BLOCK_ENTITY_LOAD.register { a, b ->
-            onBlockEntityLoad(BlockEntityLoadArg(a, b))
+            onBlockEntityLoad.invokeIfHandled { BlockEntityLoadArg(a, b) }
         }
 
         ServerBlockEntityEvents.BLOCK_ENTITY_UNLOAD.register { a, b ->
-            onBlockEntityUnload(BlockEntityLoadArg(a, b))
+            onBlockEntityUnload.invokeIfHandled { BlockEntityLoadArg(a, b) }
         }
 
         PlayerBlockBreakEvents.BEFORE.register { a, b, c, d, e ->
-            onBeforeBlockBreak(BlockBreakArg(a, b, c, d, e)).getOrElse { true }
+            onBeforeBlockBreak.invokeIfHandled { BlockBreakArg(a, b, c, d, e) }.getOrElse { true }
         }
 
         PlayerBlockBreakEvents.AFTER.register { a, b, c, d, e ->
-            onAfterBlockBreak(BlockBreakArg(a, b, c, d, e))
+            onAfterBlockBreak.invokeIfHandled { BlockBreakArg(a, b, c, d, e) }
         }
 
         PlayerBlockBreakEvents.CANCELED.register { a, b, c, d, e ->
-            onCanceledBlockBreak(BlockBreakArg(a, b, c, d, e))
+            onCanceledBlockBreak.invokeIfHandled { BlockBreakArg(a, b, c, d, e) }
         }
     }
 
@@ -8,6 +8,7 @@ import net.fabricmc.fabric.api.util.TriState
 import top.katton.util.createTriState
 import top.katton.util.createUnit
 import top.katton.util.toFabric
+import top.katton.util.invokeIfHandled
 
 /**
  * Item component and enchantment events for Fabric platform.
@@ -27,18 +28,18 @@ object ItemComponentEvent {
 
     fun initialize() {
         DefaultItemComponentEvents.MODIFY.register {
-            onModifyComponent(ModifyComponentArg(it))
+            onModifyComponent.invokeIfHandled { ModifyComponentArg(it) }
         }
 
         EnchantmentEvents.ALLOW_ENCHANTING.register { a, b, c ->
-            return@register onAllowEnchanting(AllowEnchantingArg(a, b, fromFabricEnchantingContext(c))).fold(
+            return@register onAllowEnchanting.invokeIfHandled { AllowEnchantingArg(a, b, fromFabricEnchantingContext(c)) }.fold(
                 onSuccess = { it.toFabric() },
                 onFailure = { TriState.DEFAULT }
             )
         }
 
         EnchantmentEvents.MODIFY.register { a, b, c ->
-            onModifyEnchantment(ModifyEnchantmentArg(a, b))
+            onModifyEnchantment.invokeIfHandled { ModifyEnchantmentArg(a, b) }
         }
     }
 
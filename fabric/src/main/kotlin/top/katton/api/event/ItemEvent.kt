@@ -3,6 +3,7 @@ package top.katton.api.event
 import net.fabricmc.fabric.api.event.player.ItemEvents
 import net.minecraft.world.InteractionResult
 import top.katton.util.createFirstNotNullOfOrNull
+import top.katton.util.invokeIfHandled
 
 /**
  * Item interaction events for Fabric platform.
@@ -15,11 +16,11 @@ object ItemEvent {
 
     fun initialize() {
         ItemEvents.USE_ON.register {
-            onUseOn(ItemUseOnArg(it)).getOrNull()
+            onUseOn.invokeIfHandled { ItemUseOnArg(it) }.getOrNull()
         }
 
         ItemEvents.USE.register {a, b, c ->
-            onUse(ItemUseArg(a,b,c)).getOrNull()
+            onUse.invokeIfHandled { ItemUseArg(a,b,c) }.getOrNull()
         }
     }
 
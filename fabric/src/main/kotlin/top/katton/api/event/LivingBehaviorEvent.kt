@@ -5,6 +5,7 @@ import net.fabricmc.fabric.api.entity.event.v1.EntitySleepEvents
 import net.minecraft.world.entity.player.Player
 import top.katton.bridger.EventResult
 import top.katton.util.*
+import top.katton.util.invokeIfHandled
 
 /**
  * Living entity behavior events for Fabric platform.
@@ -17,63 +18,63 @@ object LivingBehaviorEvent {
 
     fun initialize() {
         EntityElytraEvents.ALLOW.register {
-            onElytraAllow(ElytraAllowArg(it)).getOrElse { true }
+            onElytraAllow.invokeIfHandled { ElytraAllowArg(it) }.getOrElse { true }
         }
 
         EntityElytraEvents.CUSTOM.register {
             a, b ->
-            onElytraCustom(ElytraCustomArg(a, b)).getOrElse { false }
+            onElytraCustom.invokeIfHandled { ElytraCustomArg(a, b) }.getOrElse { false }
         }
 
         EntitySleepEvents.ALLOW_SLEEPING.register {
             a, b ->
-            onAllowSleeping(AllowSleepingArg(a, b)).getOrNull()
+            onAllowSleeping.invokeIfHandled { AllowSleepingArg(a, b) }.getOrNull()
         }
 
         EntitySleepEvents.START_SLEEPING.register {
             a, b ->
-            onStartSleeping(SleepingArg(a, b))
+            onStartSleeping.invokeIfHandled { SleepingArg(a, b) }
         }
 
         EntitySleepEvents.STOP_SLEEPING.register {
             a, b ->
-            onStopSleeping(SleepingArg(a, b))
+            onStopSleeping.invokeIfHandled { SleepingArg(a, b) }
         }
 
         EntitySleepEvents.ALLOW_BED.register {
             a, b, c, d ->
-            onAllowBed(AllowBedArg(a, b, c, d))
+            onAllowBed.invokeIfHandled { AllowBedArg(a, b, c, d) }
                 .getOrElse { EventResult.PASS }.toFabric()
         }
 
         EntitySleepEvents.ALLOW_NEARBY_MONSTERS.register {
             a, b, c ->
-            onAllowNearbyMonsters(AllowNearbyMonstersArg(a, b, c))
+            onAllowNearbyMonsters.invokeIfHandled { AllowNearbyMonstersArg(a, b, c) }
                 .getOrElse { EventResult.PASS }.toFabric()
         }
 
         EntitySleepEvents.ALLOW_RESETTING_TIME.register {
-            onAllowResettingTime(AllowResettingTimeArg(it)).getOrElse { true }
+            onAllowResettingTime.invokeIfHandled { AllowResettingTimeArg(it) }.getOrElse { true }
         }
 
         EntitySleepEvents.MODIFY_SLEEPING_DIRECTION.register {
             a, b, c ->
-            onModifySleepingDirection(ModifySleepingDirectionArg(a, b, c)).getOrElse { c }
+            onModifySleepingDirection.invokeIfHandled { ModifySleepingDirectionArg(a, b, c) }.getOrElse { c }
         }
 
         EntitySleepEvents.ALLOW_SETTING_SPAWN.register {
             a, b ->
-            onAllowSettingSpawn(AllowSleepingArg(a, b)).getOrElse { true }
+            onAllowSettingSpawn.invokeIfHandled { AllowSleepingArg(a, b) }.getOrElse { true }
         }
 
         EntitySleepEvents.SET_BED_OCCUPATION_STATE.register {
             a, b, c, d ->
-            onSetBedOccupationState(SetBedOccupationStateArg(a, b, c, d)).getOrElse { false }
+            onSetBedOccupationState.invokeIfHandled { SetBedOccupationStateArg(a, b, c, d) }.getOrElse { false }
         }
 
         EntitySleepEvents.MODIFY_WAKE_UP_POSITION.register {
             a, b, c, d ->
-            onModifyWakeUpPosition(ModifyWakeUpPositionArg(a, b, c, d)).getOrElse { d }
+            onModifyWakeUpPosition.invokeIfHandled { ModifyWakeUpPositionArg(a, b, c, d) }.getOrElse { d }
         }
 
     }
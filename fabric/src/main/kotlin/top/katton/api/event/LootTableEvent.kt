@@ -4,6 +4,7 @@ import net.fabricmc.fabric.api.loot.v3.LootTableEvents
 import net.minecraft.world.level.storage.loot.LootTable
 import top.katton.util.createFirstNotNullOfOrNull
 import top.katton.util.createUnit
+import top.katton.util.invokeIfHandled
 
 /**
  * Loot table events for Fabric platform.
@@ -16,19 +17,19 @@ object LootTableEvent {
 
     fun initialize() {
         LootTableEvents.REPLACE.register { a, b, _, d ->
-            onLootTableReplace(LootTableReplaceArg(a, b, d)).getOrNull()
+            onLootTableReplace.invokeIfHandled { LootTableReplaceArg(a, b, d) }.getOrNull()
         }
 
         LootTableEvents.MODIFY.register { a, b, _, d ->
-            onLootTableModify(LootTableModifyArg(a, b, d))
+            onLootTableModify.invokeIfHandled { LootTableModifyArg(a, b, d) }
         }
 
         LootTableEvents.ALL_LOADED.register { a, b ->
-            onLootTableAllLoad(LootTableAllLoadArg(a, b))
+            onLootTableAllLoad.invokeIfHandled { LootTableAllLoadArg(a, b) }
         }
 
         LootTableEvents.MODIFY_DROPS.register { a, b, c ->
-            onLootTableModifyDrops(LootTableModifyDropsArg(a, b, c))
+            onLootTableModifyDrops.invokeIfHandled { LootTableModifyDropsArg(a, b, c) }
         }
     }
 
@@ -10,6 +10,7 @@ import net.minecraft.world.InteractionResult
 import top.katton.util.createFirstNotNullOfOrNull
 import top.katton.util.createReturnIfNot
 import top.katton.util.createUnit
+import top.katton.util.invokeIfHandled
 
 /**
  * Player interaction events for Fabric platform.
@@ -22,31 +23,31 @@ object PlayerEvent {
 
     fun initialize(){
         BlockEvents.USE_ITEM_ON.register { a, b, c, d, e, f, g ->
-            onUseItemOn(UseItemOnArg(a, b, c, d, e, f, g)).getOrNull()
+            onUseItemOn.invokeIfHandled { UseItemOnArg(a, b, c, d, e, f, g) }.getOrNull()
         }
 
         BlockEvents.USE_WITHOUT_ITEM.register { a, b, c, d, e ->
-            onUseWithoutItem(UseWithoutItemOnArg(a, b, c, d, e)).getOrNull()
+            onUseWithoutItem.invokeIfHandled { UseWithoutItemOnArg(a, b, c, d, e) }.getOrNull()
         }
 
         AttackBlockCallback.EVENT.register { a, b, c, d, e ->
-            onAttackBlock(PlayerAttackBlockArg(a, b, c, d, e)).getOrElse { InteractionResult.PASS }
+            onAttackBlock.invokeIfHandled { PlayerAttackBlockArg(a, b, c, d, e) }.getOrElse { InteractionResult.PASS }
         }
 
         AttackEntityCallback.EVENT.register { a, b, c, d, e ->
-            onAttackEntity(PlayerAttackEntityArg(a, b, c, d, e)).getOrElse { InteractionResult.PASS }
+            onAttackEntity.invokeIfHandled { PlayerAttackEntityArg(a, b, c, d, e) }.getOrElse { InteractionResult.PASS }
         }
 
          UseBlockCallback.EVENT.register { a, b, c, d ->
-             onBlockInteract(PlayerUseBlockArg(a, b, c, d)).getOrElse { InteractionResult.PASS }
+             onBlockInteract.invokeIfHandled { PlayerUseBlockArg(a, b, c, d) }.getOrElse { InteractionResult.PASS }
          }
 
         UseEntityCallback.EVENT.register { a, b, c, d, e ->
-            onEntityInteract(PlayerUseEntityArg(a, b, c, d, e)).getOrElse { InteractionResult.PASS }
+            onEntityInteract.invokeIfHandled { PlayerUseEntityArg(a, b, c, d, e) }.getOrElse { InteractionResult.PASS }
         }
 
         UseItemCallback.EVENT.register { a, b, c ->
-            onItemInteract(PlayerUseItemArg(a, b, c)).getOrElse { InteractionResult.PASS }
+            onItemInteract.invokeIfHandled { PlayerUseItemArg(a, b, c) }.getOrElse { InteractionResult.PASS }
         }
     }
 
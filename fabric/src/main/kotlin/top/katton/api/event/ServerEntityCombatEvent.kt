@@ -3,6 +3,7 @@ package top.katton.api.event
 import net.fabricmc.fabric.api.entity.event.v1.ServerEntityCombatEvents
 import top.katton.util.createAll
 import top.katton.util.createUnit
+import top.katton.util.invokeIfHandled
 
 /**
  * Server entity combat events for Fabric platform.
@@ -15,7 +16,7 @@ object ServerEntityCombatEvent {
 
     fun initialize() {
         ServerEntityCombatEvents.AFTER_KILLED_OTHER_ENTITY.register { a, b, c, d ->
-            onAfterKilledOtherEntity(AfterKilledOtherEntityArg(a, b, c, d))
+            onAfterKilledOtherEntity.invokeIfHandled { AfterKilledOtherEntityArg(a, b, c, d) }
         }
     }
 
@@ -4,6 +4,7 @@ import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents
 import net.fabricmc.fabric.api.entity.event.v1.ServerEntityLevelChangeEvents
 import top.katton.util.createCancellableUnit
 import top.katton.util.createUnit
+import top.katton.util.invokeIfHandled
 
 /**
  * Server entity lifecycle events for Fabric platform.
@@ -15,23 +16,23 @@ object ServerEntityEvent {
 
     fun initialize() {
         ServerEntityEvents.ENTITY_LOAD.register { a, b ->
-            onAfterEntityLoad(EntityLoadArg(a, b)).getOrNull()
+            onAfterEntityLoad.invokeIfHandled { EntityLoadArg(a, b) }.getOrNull()
         }
 
         ServerEntityEvents.ENTITY_UNLOAD.register { a, b ->
-            onEntityUnload(EntityUnloadArg(a, b)).getOrNull()
+            onEntityUnload.invokeIfHandled { EntityUnloadArg(a, b) }.getOrNull()
         }
 
         ServerEntityEvents.EQUIPMENT_CHANGE.register { a, b, c, d ->
-            onEquipmentChange(EquipmentChangeArg(a, b, c, d)).getOrNull()
+            onEquipmentChange.invokeIfHandled { EquipmentChangeArg(a, b, c, d) }.getOrNull()
         }
 
         ServerEntityLevelChangeEvents.AFTER_ENTITY_CHANGE_LEVEL.register { a, b, c1, d ->
-            onAfterEntityChangeLevel(AfterEntityChangeLevelArg(a, b, c1, d)).getOrNull()
+            onAfterEntityChangeLevel.invokeIfHandled { AfterEntityChangeLevelArg(a, b, c1, d) }.getOrNull()
         }
 
         ServerEntityLevelChangeEvents.AFTER_PLAYER_CHANGE_LEVEL.register { a, b, c1 ->
-            onAfterPlayerChangeLevel(AfterPlayerChangeLevelArg(a, b, c1)).getOrNull()
+            onAfterPlayerChangeLevel.invokeIfHandled { AfterPlayerChangeLevelArg(a, b, c1) }.getOrNull()
         }
     }
 
@@ -3,7 +3,10 @@ package top.katton.api.event
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents
 import top.katton.network.ServerItemRenderMarkerManager
+import top.katton.util.EventBatcher
+import top.katton.util.HandlerBudget
 import top.katton.util.createUnit
+import top.katton.util.invokeIfHandled
 
 /**
  * Server lifecycle events for Fabric platform.
@@ -14,22 +17,24 @@ import top.katton.util.createUnit
 object ServerEvent {
 
     fun initialize() {
-        ServerLifecycleEvents.SERVER_STARTING.register { onServerStarting(ServerArg(it)) }
-        ServerLifecycleEvents.SERVER_STARTED.register { onServerStarted(ServerArg(it)) }
-        ServerLifecycleEvents.SERVER_STOPPING.register { onServerStopping(ServerArg(it)) }
-        ServerLifecycleEvents.SERVER_STOPPED.register { onServerStopped(ServerArg(it)) }
-        ServerLifecycleEvents.SYNC_DATA_PACK_CONTENTS.register { a, b -> onSyncDatapackContents(SyncDatapackContentsArg(a,b)) }
-        ServerLifecycleEvents.START_DATA_PACK_RELOAD.register { a, b -> onStartDatapackReload(StartDatapackReloadArg(a,b)) }
-        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register { a, b, c -> onEndDatapackReload(EndDatapackReloadArg(a,b,c)) }
-        ServerLifecycleEvents.BEFORE_SAVE.register { a, b, c -> onBeforeSave(ServerSaveArg(a,b,c)) }
-        ServerLifecycleEvents.AFTER_SAVE.register { a, b, c -> onAfterSave(ServerSaveArg(a,b,c)) }
-        ServerTickEvents.START_SERVER_TICK.register { onStartServerTick(ServerTickArg(it)) }
+        ServerLifecycleEvents.SERVER_STARTING.register { onServerStarting.invokeIfHandled { ServerArg(it) } }
+        ServerLifecycleEvents.SERVER_STARTED.register { onServerStarted.invokeIfHandled { ServerArg(it) } }
+        ServerLifecycleEvents.SERVER_STOPPING.register { onServerStopping.invokeIfHandled { ServerArg(it) } }
+        ServerLifecycleEvents.SERVER_STOPPED.register { onServerStopped.invokeIfHandled { ServerArg(it) } }
+        ServerLifecycleEvents.SYNC_DATA_PACK_CONTENTS.register { a, b -> onSyncDatapackContents.invokeIfHandled { SyncDatapackContentsArg(a,b) } }
+        ServerLifecycleEvents.START_DATA_PACK_RELOAD.register { a, b -> onStartDatapackReload.invokeIfHandled { StartDatapackReloadArg(a,b) } }
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register { a, b, c -> onEndDatapackReload.invokeIfHandled { EndDatapackReloadArg(a,b,c) } }
+        ServerLifecycleEvents.BEFORE_SAVE.register { a, b, c -> onBeforeSave.invokeIfHandled { ServerSaveArg(a,b,c) } }
+        ServerLifecycleEvents.AFTER_SAVE.register { a, b, c -> onAfterSave.invokeIfHandled { ServerSaveArg(a,b,c) } }
+        ServerTickEvents.START_SERVER_TICK.register { onStartServerTick.invokeIfHandled { ServerTickArg(it) } }
         ServerTickEvents.END_SERVER_TICK.register {
             ServerItemRenderMarkerManager.tick()
-            onEndServerTick(ServerTickArg(it))
+            onEndServerTick.invokeIfHandled { ServerTickArg(it) }
+            EventBatcher.flush()
+            HandlerBudget.endTick()
         }
-        ServerTickEvents.START_LEVEL_TICK.register { onStartWorldTick(WorldTickArg(it)) }
-        ServerTickEvents.END_LEVEL_TICK.register { onEndWorldTick(WorldTickArg(it)) }
+        ServerTickEvents.START_LEVEL_TICK.register { onStartWorldTick.invokeIfHandled { WorldTickArg(it) } }
+        ServerTickEvents.END_LEVEL_TICK.register { onEndWorldTick.invokeIfHandled { WorldTickArg(it) } }
     }
 
     /**
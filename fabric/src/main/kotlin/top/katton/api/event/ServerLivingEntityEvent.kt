@@ -4,6 +4,7 @@ import net.fabricmc.fabric.api.entity.event.v1.ServerLivingEntityEvents
 import top.katton.util.createAll
 import top.katton.util.createCancellableUnit
 import top.katton.util.createUnit
+import top.katton.util.invokeIfHandled
 
 /**
  * Server-side living entity events for Fabric platform.
@@ -16,23 +17,23 @@ object ServerLivingEntityEvent {
 
     fun initialize() {
         ServerLivingEntityEvents.ALLOW_DAMAGE.register { a, b, c ->
-            onAllowDamage(AllowDamageArg(a, b, c)).getOrElse { true }
+            onAllowDamage.invokeIfHandled { AllowDamageArg(a, b, c) }.getOrElse { true }
         }
 
         ServerLivingEntityEvents.AFTER_DAMAGE.register { a, b, c, d, e ->
-            onAfterDamage(AfterDamageArg(a, b, c, d, e))
+            onAfterDamage.invokeIfHandled { AfterDamageArg(a, b, c, d, e) }
         }
 
         ServerLivingEntityEvents.ALLOW_DEATH.register { a, b, c ->
-            onAllowDeath(AllowDeathArg(a, b, c)).getOrElse { true }
+            onAllowDeath.invokeIfHandled { AllowDeathArg(a, b, c) }.getOrElse { true }
         }
 
         ServerLivingEntityEvents.AFTER_DEATH.register { a, b ->
-            onAfterDeath(AfterDeathArg(a, b))
+            onAfterDeath.invokeIfHandled { AfterDeathArg(a, b) }
         }
 
         ServerLivingEntityEvents.MOB_CONVERSION.register { a, b, c ->
-            onMobConversion(MobConversionArg(a, b, c))
+            onMobConversion.invokeIfHandled { MobConversionArg(a, b, c) }
         }
     }
 
@@ -3,6 +3,7 @@ package top.katton.api.event
 import net.fabricmc.fabric.api.message.v1.ServerMessageEvents
 import top.katton.util.createAll
 import top.katton.util.createUnit
+import top.katton.util.invokeIfHandled
 
 /**
  * Server-side message events for Fabric platform.
@@ -14,27 +15,27 @@ object ServerMessageEvent {
 
     fun initialize() {
         ServerMessageEvents.ALLOW_CHAT_MESSAGE.register { a, b, c ->
-            onAllowChatMessage(AllowChatMessageArg(a, b, c)).getOrElse { true }
+            onAllowChatMessage.invokeIfHandled { AllowChatMessageArg(a, b, c) }.getOrElse { true }
         }
 
         ServerMessageEvents.ALLOW_GAME_MESSAGE.register { a, b, c ->
-            onAllowGameMessage(AllowGameMessageArg(a, b, c)).getOrElse { true }
+            onAllowGameMessage.invokeIfHandled { AllowGameMessageArg(a, b, c) }.getOrElse { true }
         }
 
         ServerMessageEvents.ALLOW_COMMAND_MESSAGE.register { a, b, c ->
-            onAllowCommandMessage(AllowCommandMessageArg(a, b, c)).getOrElse { true }
+            onAllowCommandMessage.invokeIfHandled { AllowCommandMessageArg(a, b, c) }.getOrElse { true }
         }
 
         ServerMessageEvents.CHAT_MESSAGE.register { a, b, c ->
-            onChatMessage(ChatMessageArg(a, b, c))
+            onChatMessage.invokeIfHandled { ChatMessageArg(a, b, c) }
         }
 
         ServerMessageEvents.GAME_MESSAGE.register { a, b, c ->
-            onGameMessage(GameMessageArg(a, b, c))
+            onGameMessage.invokeIfHandled { GameMessageArg(a, b, c) }
         }
 
         ServerMessageEvents.COMMAND_MESSAGE.register { a, b, c ->
-            onCommandMessage(CommandMessageArg(a, b, c))
+            onCommandMessage.invokeIfHandled { CommandMessageArg(a, b, c) }
         }
     }
 
@@ -6,6 +6,7 @@ import net.minecraft.world.effect.MobEffectInstance
 import net.minecraft.world.entity.Entity
 import top.katton.util.createAll
 import top.katton.util.createUnit
+import top.katton.util.invokeIfHandled
 
 /**
  * Mob effect events for Fabric platform.
@@ -21,27 +22,27 @@ object ServerMobEffectEvent {
      */
     fun initialize() {
         ServerMobEffectEvents.ALLOW_ADD.register { a, b, c ->
-            onAllowAdd(MobEffectAllowAddArg(b, a, c)).getOrElse { true }
+            onAllowAdd.invokeIfHandled { MobEffectAllowAddArg(b, a, c) }.getOrElse { true }
         }
 
         ServerMobEffectEvents.BEFORE_ADD.register { a, b, c ->
-            onBeforeAdd(MobEffectAddArg(b, a, c))
+            onBeforeAdd.invokeIfHandled { MobEffectAddArg(b, a, c) }
         }
 
         ServerMobEffectEvents.AFTER_ADD.register { a, b, c ->
-            onAfterAdd(MobEffectAddArg(b, a, c))
+            onAfterAdd.invokeIfHandled { MobEffectAddArg(b, a, c) }
         }
 
         ServerMobEffectEvents.ALLOW_EARLY_REMOVE.register { a, b, c ->
-            onAllowEarlyRemove(MobEffectAllowEarlyRemoveArg(b, a, c)).getOrElse { true }
+            onAllowEarlyRemove.invokeIfHandled { MobEffectAllowEarlyRemoveArg(b, a, c) }.getOrElse { true }
         }
 
         ServerMobEffectEvents.BEFORE_REMOVE.register { a, b, c ->
-            onBeforeRemove(MobEffectBeforeRemoveArg(b, a, c))
+            onBeforeRemove.invokeIfHandled { MobEffectBeforeRemoveArg(b, a, c) }
         }
 
         ServerMobEffectEvents.AFTER_REMOVE.register { a, b, c ->
-            onAfterRemove(MobEffectAfterRemoveArg(b, a, c))
+            onAfterRemove.invokeIfHandled { MobEffectAfterRemoveArg(b, a, c) }
         }
     }
 
@@ -6,6 +6,7 @@ import net.minecraft.world.item.ItemStack
 import top.katton.util.createCancellableUnit
 import top.katton.util.createFirstNotNullOfOrNull
 import top.katton.util.createUnit
+import top.katton.util.invokeIfHandled
 
 /**
  * Server player events for Fabric platform.
@@ -17,13 +18,13 @@ import top.katton.util.createUnit
 object ServerPlayerEvent {
 
     fun initialize() {
-        ServerPlayerEvents.JOIN.register { onPlayerJoin(PlayerArg(it)) }
-        ServerPlayerEvents.LEAVE.register { onPlayerLeave(PlayerArg(it)) }
-        ServerPlayerEvents.AFTER_RESPAWN.register { a, b, c -> onAfterPlayerRespawn(ServerPlayerAfterRespawnArg(a, b, c)) }
-        ServerPlayerEvents.COPY_FROM.register { a, b, c -> onPlayerCopy(ServerPlayerCopyArg(a, b, c)) }
+        ServerPlayerEvents.JOIN.register { onPlayerJoin.invokeIfHandled { PlayerArg(it) } }
+        ServerPlayerEvents.LEAVE.register { onPlayerLeave.invokeIfHandled { PlayerArg(it) } }
+        ServerPlayerEvents.AFTER_RESPAWN.register { a, b, c -> onAfterPlayerRespawn.invokeIfHandled { ServerPlayerAfterRespawnArg(a, b, c) } }
+        ServerPlayerEvents.COPY_FROM.register { a, b, c -> onPlayerCopy.invokeIfHandled { ServerPlayerCopyArg(a, b, c) } }
 
-        PlayerPickItemEvents.BLOCK.register { a, b, c1, d -> onPickFromBlock(PlayerPickFromBlockArg(a, b, c1, d)).getOrNull() }
-        PlayerPickItemEvents.ENTITY.register { a, b, c1 -> onPickFromEntity(PlayerPickFromEntityArg(a, b, c1)).getOrNull() }
+        PlayerPickItemEvents.BLOCK.register { a, b, c1, d -> onPickFromBlock.invokeIfHandled { PlayerPickFromBlockArg(a, b, c1, d) }.getOrNull() }
+        PlayerPickItemEvents.ENTITY.register { a, b, c1 -> onPickFromEntity.invokeIfHandled { PlayerPickFromEntityArg(a, b, c1) }.getOrNull() }
     }
 
     // === Player Lifecycle Events ===
@@ -3,6 +3,7 @@ package top.katton.api.event.managed
 import net.fabricmc.fabric.api.event.Event
 import org.slf4j.LoggerFactory
 import top.katton.pack.ScriptPackScope
+import top.katton.util.ScriptContext
 import top.katton.util.ScriptExecutionContext
 import java.lang.reflect.InvocationTargetException
 import java.lang.reflect.Proxy
@@ -42,6 +43,7 @@ object FabricManagedEvents {
                 handler: (Any) -> Unit
             ): ManagedEventHandle {
                 val id = nextId++
+                val context = ScriptContext(owner, scope)
                 val wrapper = Proxy.newProxyInstance(
                     eventClass.classLoader,
                     arrayOf(eventClass)
@@ -49,10 +51,8 @@ object FabricManagedEvents {
                     val reg = registrations[id] ?: return@newProxyInstance null
                     if (reg.active && args != null && args.isNotEmpty()) {
                         try {
-                            ScriptExecutionContext.withScope(scope) {
-                                ScriptExecutionContext.withOwner(owner) {
-                                    handler(args[0])
-                                }
+                            ScriptExecutionContext.withContext(context) {
+                                handler(args[0])
                             }
                         } catch (t: Throwable) {
                             LOGGER.warn("Managed Fabric event handler failed for {}", owner, t)
@@ -128,6 +128,7 @@ fun <T : Any> registerFabricEvent(
 
     val scope = ScriptExecutionContext.currentScriptScope()
     val owner = ScriptExecutionContext.currentScriptOwner() ?: "unknown"
+    val context = ScriptContext(owner, scope)
     val iface = callback::class.java
 
     val handle = provider.register(iface, owner, scope, 2, false) { /* handled by proxy */ }
@@ -139,10 +140,8 @@ fun <T : Any> registerFabricEvent(
         val reg = FabricManagedEvents.registrations[handle.id]
         if (reg != null && reg.active) {
             try {
-                ScriptExecutionContext.withScope(scope) {
-                    ScriptExecutionContext.withOwner(owner) {
-                        method.invoke(callback, *(args ?: emptyArray()))
-                    }
+                ScriptExecutionContext.withContext(context) {
+                    method.invoke(callback, *(args ?: emptyArray()))
                 }
             } catch (t: Throwable) {
                 val failure = (t as? InvocationTargetException)?.targetException ?: t
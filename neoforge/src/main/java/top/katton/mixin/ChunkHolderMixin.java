@@ -65,7 +65,7 @@ public abstract class ChunkHolderMixin extends GenerationChunkHolder {
     @Inject(method = "updateFutures", at = @At(value = "INVOKE", target = "Lnet/minecraft/server/level/ChunkHolder;addSaveDependency(Ljava/util/concurrent/CompletableFuture;)V", shift = At.Shift.AFTER, ordinal = 0))
     private void updateFutures$inaccessibleToFull(ChunkMap chunkMap, Executor executor, CallbackInfo ci) {
         if (this.getChunkIfPresentUnchecked(ChunkStatus.FULL) instanceof LevelChunk && this.fabric_currentEventFullChunkStatus == INACCESSIBLE) { // prevent duplicate events with ChunkStatusTasksMixin
-            ChunkAndBlockEvent.onChunkLevelTypeChange.invoke(new ChunkStatusChangeArg((ServerLevel) levelHeightAccessor, (LevelChunk) this.getChunkIfPresentUnchecked(ChunkStatus.FULL), INACCESSIBLE, FULL));
+            if (ChunkAndBlockEvent.onChunkLevelTypeChange.hasHandlers()) ChunkAndBlockEvent.onChunkLevelTypeChange.invoke(new ChunkStatusChangeArg((ServerLevel) levelHeightAccessor, (LevelChunk) this.getChunkIfPresentUnchecked(ChunkStatus.FULL), INACCESSIBLE, FULL));
             this.fabric_currentEventFullChunkStatus = FULL;
         }
     }
@@ -76,7 +76,7 @@ public abstract class ChunkHolderMixin extends GenerationChunkHolder {
     @Inject(method = "updateFutures", at = @At(value = "INVOKE", target = "Lnet/minecraft/server/level/ChunkHolder;addSaveDependency(Ljava/util/concurrent/CompletableFuture;)V", shift = At.Shift.AFTER, ordinal = 1))
     private void updateFutures$fullToBlockTicking(ChunkMap chunkMap, Executor executor, CallbackInfo ci) {
         if (fabric_currentEventFullChunkStatus == FULL) { // if INACCESSIBLE->FULL did not fire immediately, then ChunkStatusTasksMixin will handle this later.
-            ChunkAndBlockEvent.onChunkLevelTypeChange.invoke(new ChunkStatusChangeArg((ServerLevel) levelHeightAccessor, (LevelChunk) this.getChunkIfPresentUnchecked(ChunkStatus.FULL), FULL, BLOCK_TICKING));
+            if (ChunkAndBlockEvent.onChunkLevelTypeChange.hasHandlers()) ChunkAndBlockEvent.onChunkLevelTypeChange.invoke(new ChunkStatusChangeArg((ServerLevel) levelHeightAccessor, (LevelChunk) this.getChunkIfPresentUnchecked(ChunkStatus.FULL), FULL, BLOCK_TICKING));
             this.fabric_currentEventFullChunkStatus = BLOCK_TICKING;
         }
     }
@@ -87,7 +87,7 @@ public abstract class ChunkHolderMixin extends GenerationChunkHolder {
     @Inject(method = "updateFutures", at = @At(value = "INVOKE", target = "Lnet/minecraft/server/level/ChunkHolder;addSaveDependency(Ljava/util/concurrent/CompletableFuture;)V", shift = At.Shift.AFTER, ordinal = 2))
     private void updateFutures$blockTickingToEntityTicking(ChunkMap chunkMap, Executor executor, CallbackInfo ci) {
         if (fabric_currentEventFullChunkStatus == BLOCK_TICKING) { // if INACCESSIBLE->FULL->BLOCK_TICKING did not fire immediately, then ChunkStatusTasksMixin will handle this later.
-            ChunkAndBlockEvent.onChunkLevelTypeChange.invoke(new ChunkStatusChangeArg((ServerLevel) levelHeightAccessor, (LevelChunk) this.getChunkIfPresentUnchecked(ChunkStatus.FULL), BLOCK_TICKING, ENTITY_TICKING));
+            if (ChunkAndBlockEvent.onChunkLevelTypeChange.hasHandlers()) ChunkAndBlockEvent.onChunkLevelTypeChange.invoke(new ChunkStatusChangeArg((ServerLevel) levelHeightAccessor, (LevelChunk) this.getChunkIfPresentUnchecked(ChunkStatus.FULL), BLOCK_TICKING, ENTITY_TICKING));
             this.fabric_currentEventFullChunkStatus = ENTITY_TICKING;
         }
     }
@@ -104,7 +104,7 @@ public abstract class ChunkHolderMixin extends GenerationChunkHolder {
             FullChunkStatus oldStatus = fabric_FULL_CHUNK_STATUSES[i];
             FullChunkStatus newStatus = fabric_FULL_CHUNK_STATUSES[i-1];
             if (this.fabric_currentEventFullChunkStatus.isOrAfter(oldStatus)) { // if a promotion event got cancelled or never finished, then do _not_ fire an equivalent demotion event
-                ChunkAndBlockEvent.onChunkLevelTypeChange.invoke(new ChunkStatusChangeArg(serverLevel, (LevelChunk) this.getChunkIfPresentUnchecked(ChunkStatus.FULL), oldStatus, newStatus));
+                if (ChunkAndBlockEvent.onChunkLevelTypeChange.hasHandlers()) ChunkAndBlockEvent.onChunkLevelTypeChange.invoke(new ChunkStatusChangeArg(serverLevel, (LevelChunk) this.getChunkIfPresentUnchecked(ChunkStatus.FULL), oldStatus, newStatus));
                 this.fabric_currentEventFullChunkStatus = newStatus;
             }
         }
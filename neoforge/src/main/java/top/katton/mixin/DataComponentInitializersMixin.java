@@ -43,7 +43,7 @@ public abstract class DataComponentInitializersMixin {
     @Inject(method = "apply", at = @At("RETURN"))
     private void apply(CallbackInfo ci) {
         if (Registries.ITEM.identifier().equals(key().identifier())) {
-            ItemComponentEvent.onModifyComponent.invoke(new ItemComponentEvent.ModifyComponentArg(ModifyContextImpl.INSTANCE));
+            if (ItemComponentEvent.onModifyComponent.hasHandlers()) ItemComponentEvent.onModifyComponent.invoke(new ItemComponentEvent.ModifyComponentArg(ModifyContextImpl.INSTANCE));
         }
     }
 }
@@ -40,7 +40,7 @@ abstract class EntityMixin {
         Entity ret = original.call(instance, sourceLevel, targetWorld, teleportTransition);
 
         if (ret != null) {
-            ServerEntityEvent.onAfterEntityChangeLevel.invoke(new AfterEntityChangeLevelArg((Entity) (Object) this, ret, (ServerLevel) this.level, (ServerLevel) ret.level()));
+            if (ServerEntityEvent.onAfterEntityChangeLevel.hasHandlers()) ServerEntityEvent.onAfterEntityChangeLevel.invoke(new AfterEntityChangeLevelArg((Entity) (Object) this, ret, (ServerLevel) this.level, (ServerLevel) ret.level()));
         }
 
         return ret;
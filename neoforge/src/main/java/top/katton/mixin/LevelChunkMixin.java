@@ -52,7 +52,7 @@ abstract class LevelChunkMixin {
         // Only fire the load event if the block entity has actually changed
         if (blockEntity != null && blockEntity != removedBlockEntity) {
             if (this.getLevel() instanceof ServerLevel) {
-                ChunkAndBlockEvent.onBlockEntityLoad.invoke(new BlockEntityLoadArg(blockEntity, (ServerLevel) this.getLevel()));
+                if (ChunkAndBlockEvent.onBlockEntityLoad.hasHandlers()) ChunkAndBlockEvent.onBlockEntityLoad.invoke(new BlockEntityLoadArg(blockEntity, (ServerLevel) this.getLevel()));
             } else if (this.getLevel() instanceof ClientLevel) {
                 //TODO: ClientBlockEntityEvents.BLOCK_ENTITY_LOAD.invoker().onLoad(blockEntity, (ClientLevel) this.getLevel());
             }
@@ -65,7 +65,7 @@ abstract class LevelChunkMixin {
     private void onRemoveBlockEntity(BlockEntity blockEntity, CallbackInfo info, @Local(name = "previousEntry") BlockEntity previousEntry) {
         if (previousEntry != null) {
             if (this.getLevel() instanceof ServerLevel) {
-                ChunkAndBlockEvent.onBlockEntityUnload.invoke(new BlockEntityLoadArg(previousEntry, (ServerLevel) this.getLevel()));
+                if (ChunkAndBlockEvent.onBlockEntityUnload.hasHandlers()) ChunkAndBlockEvent.onBlockEntityUnload.invoke(new BlockEntityLoadArg(previousEntry, (ServerLevel) this.getLevel()));
             } else if (this.getLevel() instanceof ClientLevel) {
                 //TODO: ClientBlockEntityEvents.BLOCK_ENTITY_UNLOAD.invoker().onUnload(previousEntry, (ClientLevel) this.getLevel());
             }
@@ -82,7 +82,7 @@ abstract class LevelChunkMixin {
 
         if (removed instanceof BlockEntity blockEntity) {
             if (this.getLevel() instanceof ServerLevel) {
-                ChunkAndBlockEvent.onBlockEntityUnload.invoke(new BlockEntityLoadArg(blockEntity, (ServerLevel) this.getLevel()));
+                if (ChunkAndBlockEvent.onBlockEntityUnload.hasHandlers()) ChunkAndBlockEvent.onBlockEntityUnload.invoke(new BlockEntityLoadArg(blockEntity, (ServerLevel) this.getLevel()));
             } else if (this.getLevel() instanceof ClientLevel) {
                 //TODO: ClientBlockEntityEvents.BLOCK_ENTITY_UNLOAD.invoker().onUnload(blockEntity, (ClientLevel) this.getLevel());
             }
@@ -95,7 +95,7 @@ abstract class LevelChunkMixin {
     private void onRemoveBlockEntity(BlockPos pos, CallbackInfo ci, @Local(name = "removeThis") @Nullable BlockEntity removeThis) {
         if (removeThis != null) {
             if (this.getLevel() instanceof ServerLevel) {
-                ChunkAndBlockEvent.onBlockEntityUnload.invoke(new BlockEntityLoadArg(removeThis, (ServerLevel) this.getLevel()));
+                if (ChunkAndBlockEvent.onBlockEntityUnload.hasHandlers()) ChunkAndBlockEvent.onBlockEntityUnload.invoke(new BlockEntityLoadArg(removeThis, (ServerLevel) this.getLevel()));
             } else if (this.getLevel() instanceof ClientLevel) {
                 //TODO: ClientBlockEntityEvents.BLOCK_ENTITY_UNLOAD.invoker().onUnload(removeThis, (ClientLevel) this.getLevel());
             }
@@ -42,9 +42,8 @@ abstract class LivingEntityMixin extends Entity {
     void injectElytraTick(CallbackInfo info) {
         LivingEntity self = (LivingEntity) (Object) this;
 
-        var result = LivingBehaviorEvent.onElytraAllow.invoke(new ElytraAllowArg(self));
-
-        if (result.notEmptyAndFalse()) {
+        if (LivingBehaviorEvent.onElytraAllow.hasHandlers()
+                && LivingBehaviorEvent.onElytraAllow.invoke(new ElytraAllowArg(self)).notEmptyAndFalse()) {
             // The entity is already fall flying by now, we just need to stop it.
             if (!level().isClientSide()) {
                 setSharedFlag(Entity.FLAG_FALL_FLYING, false);
@@ -53,9 +52,8 @@ abstract class LivingEntityMixin extends Entity {
             info.cancel();
         }
 
-        var result2 = LivingBehaviorEvent.onElytraCustom.invoke(new ElytraCustomArg(self, true));
-
-        if (result2.notEmptyAndTrue()) {
+        if (LivingBehaviorEvent.onElytraCustom.hasHandlers()
+                && LivingBehaviorEvent.onElytraCustom.invoke(new ElytraCustomArg(self, true)).notEmptyAndTrue()) {
             // The entity is already fall flying by now, so all we need to do is an early return to bypass vanilla's own elytra check.
             info.cancel();
         }
@@ -66,16 +64,14 @@ abstract class LivingEntityMixin extends Entity {
     void injectElytraCheck(CallbackInfoReturnable<Boolean> cir) {
         LivingEntity self = (LivingEntity) (Object) this;
 
-        var r = LivingBehaviorEvent.onElytraAllow.invoke(new ElytraAllowArg(self));
-
-        if (r.emptyOrFalse()) {
+        if (LivingBehaviorEvent.onElytraAllow.hasHandlers()
+                && LivingBehaviorEvent.onElytraAllow.invoke(new ElytraAllowArg(self)).emptyOrFalse()) {
             cir.setReturnValue(false);
             return; // Return to prevent the rest of this injector from running.
         }
 
-        var r2 = LivingBehaviorEvent.onElytraCustom.invoke(new ElytraCustomArg(self, true));
-
-        if (r2.notEmptyAndTrue()) {
+        if (LivingBehaviorEvent.onElytraCustom.hasHandlers()
+                && LivingBehaviorEvent.onElytraCustom.invoke(new ElytraCustomArg(self, true)).notEmptyAndTrue()) {
             cir.setReturnValue(true);
         }
     }
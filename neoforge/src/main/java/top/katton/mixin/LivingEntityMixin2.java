@@ -47,23 +47,25 @@ public abstract class LivingEntityMixin2 {
     @WrapOperation(method = "die", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/entity/Entity;killedEntity(Lnet/minecraft/server/level/ServerLevel;Lnet/minecraft/world/entity/LivingEntity;Lnet/minecraft/world/damagesource/DamageSource;)Z"))
     private boolean onEntityKilledOther(Entity entity, ServerLevel serverLevel, @Nullable LivingEntity attacker, DamageSource damageSource, Operation<Boolean> original) {
         boolean result = original.call(entity, serverLevel, attacker, damageSource);
-        ServerEntityCombatEvent.onAfterKilledOtherEntity.invoke(new AfterKilledOtherEntityArg(serverLevel, entity, attacker, damageSource));
+        if (ServerEntityCombatEvent.onAfterKilledOtherEntity.hasHandlers()) ServerEntityCombatEvent.onAfterKilledOtherEntity.invoke(new AfterKilledOtherEntityArg(serverLevel, entity, attacker, damageSource));
         return result;
     }
 
     @Inject(method = "die", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/level/Level;broadcastEntityEvent(Lnet/minecraft/world/entity/Entity;B)V"))
     private void notifyDeath(DamageSource source, CallbackInfo ci) {
-        ServerLivingEntityEvent.onAfterDeath.invoke(new AfterDeathArg((LivingEntity) (Object) this, source));
+        if (ServerLivingEntityEvent.onAfterDeath.hasHandlers()) ServerLivingEntityEvent.onAfterDeath.invoke(new AfterDeathArg((LivingEntity) (Object) this, source));
     }
 
     @Redirect(method = "hurtServer", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/entity/LivingEntity;isDeadOrDying()Z", ordinal = 1))
     boolean beforeEntityKilled(LivingEntity livingEntity, ServerLevel level, DamageSource source, float amount) {
-        return isDeadOrDying() && ServerLivingEntityEvent.onAllowDeath.invoke(new AllowDeathArg(livingEntity, source, amount)).emptyOrTrue();
+        return isDeadOrDying() && (!ServerLivingEntityEvent.onAllowDeath.hasHandlers()
+                || ServerLivingEntityEvent.onAllowDeath.invoke(new AllowDeathArg(livingEntity, source, amount)).emptyOrTrue());
     }
 
     @Inject(method = "hurtServer", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/entity/LivingEntity;isSleeping()Z"), cancellable = true)
     private void beforeDamage(ServerLevel level, DamageSource source, float amount, CallbackInfoReturnable<Boolean> cir) {
-        if (!ServerLivingEntityEvent.onAllowDamage.invoke(new AllowDamageArg((LivingEntity) (Object) this, source, amount)).notEmptyAndTrue()) {
+        if (ServerLivingEntityEvent.onAllowDamage.hasHandlers()
+                && !ServerLivingEntityEvent.onAllowDamage.invoke(new AllowDamageArg((LivingEntity) (Object) this, source, amount)).notEmptyAndTrue()) {
             cir.setReturnValue(false);
         }
     }
@@ -75,13 +77,13 @@ public abstract class LivingEntityMixin2 {
             if(cir.getReturnValue()) {
                  originalDamage = this.lastHurt;
             }
-            ServerLivingEntityEvent.onAfterDamage.invoke(new AfterDamageArg((LivingEntity) (Object) this, source, originalDamage, amount, blocked));
+            if (ServerLivingEntityEvent.onAfterDamage.hasHandlers()) ServerLivingEntityEvent.onAfterDamage.invoke(new AfterDamageArg((LivingEntity) (Object) this, source, originalDamage, amount, blocked));
         }
     }
 
     @Inject(method = "startSleeping", at = @At("RETURN"))
     private void onSleep(BlockPos pos, CallbackInfo ci) {
-        LivingBehaviorEvent.onStartSleeping.invoke(new SleepingArg((LivingEntity) (Object) this, pos));
+        if (LivingBehaviorEvent.onStartSleeping.hasHandlers()) LivingBehaviorEvent.onStartSleeping.invoke(new SleepingArg((LivingEntity) (Object) this, pos));
     }
 
     @Inject(method = "stopSleeping", at = @At("HEAD"))
@@ -90,12 +92,15 @@ public abstract class LivingEntityMixin2 {
 
         // If actually asleep - this method is often called with data loading, syncing etc. "just to be sure"
         if (sleepingPos != null) {
-            LivingBehaviorEvent.onStopSleeping.invoke(new SleepingArg((LivingEntity) (Object) this, sleepingPos));
+            if (LivingBehaviorEvent.onStopSleeping.hasHandlers()) LivingBehaviorEvent.onStopSleeping.invoke(new SleepingArg((LivingEntity) (Object) this, sleepingPos));
         }
     }
 
     @Inject(method = "checkBedExists", at = @At("RETURN"), cancellable = true)
     private void onIsSleepingInBed(CallbackInfoReturnable<Boolean> info) {
+        if (!LivingBehaviorEvent.onAllowBed.hasHandlers()) {
+            return;
+        }
         BlockPos sleepingPos = getSleepingPos().orElse(null);
         if (sleepingPos == null) {
             return;
@@ -114,6 +119,9 @@ public abstract class LivingEntityMixin2 {
         if (original == null) {
             return null;
         }
+        if (!LivingBehaviorEvent.onModifySleepingDirection.hasHandlers()) {
+            return original;
+        }
 
         BlockPos sleepingPos = this.getSleepingPos().orElse(null);
         if (sleepingPos == null) {
@@ -51,6 +51,11 @@ class LootTableMixin implements FabricLootTable {
             this.holder = LootUtil.getEntryOrDirect(context.getLevel(), (LootTable) (Object) this);
         }
 
+        if (!LootTableEvent.onLootTableModifyDrops.hasHandlers()) {
+            original.call(context, lootConsumer);
+            return;
+        }
+
         List<ItemStack> list = new ObjectArrayList<>();
         original.call(context, (Consumer<ItemStack>) list::add);
         LootTableEvent.onLootTableModifyDrops.invoke(new LootTableModifyDropsArg(
@@ -28,7 +28,7 @@ public class MinecraftServerMixin {
 
     @Inject(method = "reloadResources", at = @At("HEAD"))
     private void startResourceReload(Collection<String> collection, CallbackInfoReturnable<CompletableFuture<Void>> cir) {
-        ServerEvent.onStartDatapackReload.invoke(new StartDatapackReloadArg((MinecraftServer) (Object) this, this.resources.resourceManager()));
+        if (ServerEvent.onStartDatapackReload.hasHandlers()) ServerEvent.onStartDatapackReload.invoke(new StartDatapackReloadArg((MinecraftServer) (Object) this, this.resources.resourceManager()));
     }
 
     @Inject(method = "reloadResources", at = @At("TAIL"))
@@ -38,7 +38,7 @@ public class MinecraftServerMixin {
             MinecraftServer server = (MinecraftServer) (Object) this;
             boolean success = throwable == null;
 
-            ServerEvent.onEndDatapackReload.invoke(new EndDatapackReloadArg(server, this.resources.resourceManager(), success));
+            if (ServerEvent.onEndDatapackReload.hasHandlers()) ServerEvent.onEndDatapackReload.invoke(new EndDatapackReloadArg(server, this.resources.resourceManager(), success));
             Katton.globalState = LoadState.END_DATA_PACK_RELOAD;
 
             if (success) {
@@ -55,11 +55,11 @@ public class MinecraftServerMixin {
 
     @Inject(method = "saveAllChunks", at = @At("HEAD"))
     private void startSave(boolean suppressLogs, boolean flush, boolean force, CallbackInfoReturnable<Boolean> cir) {
-        ServerEvent.onBeforeSave.invoke(new ServerSaveArg((MinecraftServer) (Object) this, flush, force));
+        if (ServerEvent.onBeforeSave.hasHandlers()) ServerEvent.onBeforeSave.invoke(new ServerSaveArg((MinecraftServer) (Object) this, flush, force));
     }
 
     @Inject(method = "saveAllChunks", at = @At("TAIL"))
     private void endSave(boolean suppressLogs, boolean flush, boolean force, CallbackInfoReturnable<Boolean> cir) {
-        ServerEvent.onAfterSave.invoke(new ServerSaveArg((MinecraftServer) (Object) this, flush, force));
+        if (ServerEvent.onAfterSave.hasHandlers()) ServerEvent.onAfterSave.invoke(new ServerSaveArg((MinecraftServer) (Object) this, flush, force));
     }
 }
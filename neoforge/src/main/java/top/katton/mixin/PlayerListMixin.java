@@ -21,7 +21,7 @@ public class PlayerListMixin {
             at = @At(value = "NEW", target = "net/minecraft/network/protocol/game/ClientboundUpdateRecipesPacket")
     )
     private void hookOnPlayerConnect(Connection connection, ServerPlayer player, CommonListenerCookie arg, CallbackInfo ci) {
-        ServerEvent.onSyncDatapackContents.invoke(new SyncDatapackContentsArg(player, true));
+        if (ServerEvent.onSyncDatapackContents.hasHandlers()) ServerEvent.onSyncDatapackContents.invoke(new SyncDatapackContentsArg(player, true));
     }
 
     @Inject(
@@ -30,27 +30,27 @@ public class PlayerListMixin {
     )
     private void hookOnDataPacksReloaded(CallbackInfo ci) {
         for (ServerPlayer player : ((PlayerList) (Object) this).getPlayers()) {
-            ServerEvent.onSyncDatapackContents.invoke(new SyncDatapackContentsArg(player, false));
+            if (ServerEvent.onSyncDatapackContents.hasHandlers()) ServerEvent.onSyncDatapackContents.invoke(new SyncDatapackContentsArg(player, false));
         }
     }
 
     @Inject(method = "respawn", at = @At("TAIL"))
     private void afterRespawn(ServerPlayer oldPlayer, boolean alive, Entity.RemovalReason removalReason, CallbackInfoReturnable<ServerPlayer> cir) {
         ServerPlayer newPlayer = cir.getReturnValue();
-        ServerPlayerEvent.onAfterPlayerRespawn.invoke(new ServerPlayerAfterRespawnArg(oldPlayer, newPlayer, alive));
+        if (ServerPlayerEvent.onAfterPlayerRespawn.hasHandlers()) ServerPlayerEvent.onAfterPlayerRespawn.invoke(new ServerPlayerAfterRespawnArg(oldPlayer, newPlayer, alive));
 
         if (oldPlayer.level() != newPlayer.level()) {
-            ServerEntityEvent.onAfterPlayerChangeLevel.invoke(new AfterPlayerChangeLevelArg(newPlayer, oldPlayer.level(), newPlayer.level()));
+            if (ServerEntityEvent.onAfterPlayerChangeLevel.hasHandlers()) ServerEntityEvent.onAfterPlayerChangeLevel.invoke(new AfterPlayerChangeLevelArg(newPlayer, oldPlayer.level(), newPlayer.level()));
         }
     }
 
     @Inject(method = "placeNewPlayer", at = @At("RETURN"))
     private void firePlayerJoinEvent(Connection connection, ServerPlayer player, CommonListenerCookie clientData, CallbackInfo ci) {
-        ServerPlayerEvent.onPlayerJoin.invoke(new PlayerArg(player));
+        if (ServerPlayerEvent.onPlayerJoin.hasHandlers()) ServerPlayerEvent.onPlayerJoin.invoke(new PlayerArg(player));
     }
 
     @Inject(method = "remove", at = @At("HEAD"))
     private void firePlayerLeaveEvent(ServerPlayer player, CallbackInfo ci) {
-        ServerPlayerEvent.onPlayerLeave.invoke(new PlayerArg(player));
+        if (ServerPlayerEvent.onPlayerLeave.hasHandlers()) ServerPlayerEvent.onPlayerLeave.invoke(new PlayerArg(player));
     }
 }
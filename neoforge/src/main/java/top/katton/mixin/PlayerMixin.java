@@ -35,6 +35,9 @@ import top.katton.api.event.LivingBehaviorEvent;
 abstract class PlayerMixin {
     @Inject(method = "startSleepInBed", at = @At("HEAD"), cancellable = true)
     private void onStartSleepInBed(BlockPos pos, CallbackInfoReturnable<Either<Player.BedSleepingProblem, Unit>> info) {
+        if (!LivingBehaviorEvent.onAllowSleeping.hasHandlers()) {
+            return;
+        }
         var result = LivingBehaviorEvent.onAllowSleeping.invoke(new AllowSleepingArg((Player) (Object) this, pos)).getOrNull();
 
         if (result != null) {
@@ -44,7 +47,7 @@ abstract class PlayerMixin {
 
     @Inject(method = "isSleepingLongEnough", at = @At("RETURN"), cancellable = true)
     private void onIsSleepingLongEnough(CallbackInfoReturnable<Boolean> info) {
-        if (info.getReturnValueZ()) {
+        if (info.getReturnValueZ() && LivingBehaviorEvent.onAllowResettingTime.hasHandlers()) {
             var result = LivingBehaviorEvent.onAllowResettingTime.invoke(new AllowResettingTimeArg((Player) (Object) this));
             info.setReturnValue(result.emptyOrTrue());
         }
@@ -93,7 +93,9 @@ abstract class ReloadableServerRegistriesMixin {
         // Populated above.
         HolderLookup.Provider provider = WRAPPERS.get(ops);
         // Invoke the REPLACE event for the current loot table.
-        LootTable replacement = LootTableEvent.onLootTableReplace.invoke(new LootTableReplaceArg(key, table, provider)).getOrNull();
+        LootTable replacement = LootTableEvent.onLootTableReplace.hasHandlers()
+                ? LootTableEvent.onLootTableReplace.invoke(new LootTableReplaceArg(key, table, provider)).getOrNull()
+                : null;
 
         if (replacement != null) {
             table = replacement;
@@ -101,7 +103,7 @@ abstract class ReloadableServerRegistriesMixin {
 
         // Turn the current table into a modifiable builder and invoke the MODIFY event.
         LootTable.Builder builder = FabricLootTableBuilder.copyOf(table);
-        LootTableEvent.onLootTableModify.invoke(new LootTableModifyArg(key, builder, provider));
+        if (LootTableEvent.onLootTableModify.hasHandlers()) LootTableEvent.onLootTableModify.invoke(new LootTableModifyArg(key, builder, provider));
 
         return (T) builder.build();
     }
@@ -113,7 +115,7 @@ abstract class ReloadableServerRegistriesMixin {
 
         Registry<LootTable> lootTableRegistry = (Registry<LootTable>) cir.getReturnValue();
 
-        LootTableEvent.onLootTableAllLoad.invoke(new LootTableAllLoadArg(resourceManager, lootTableRegistry));
+        if (LootTableEvent.onLootTableAllLoad.hasHandlers()) LootTableEvent.onLootTableAllLoad.invoke(new LootTableAllLoadArg(resourceManager, lootTableRegistry));
        lootTableRegistry.listElements().forEach(reference -> ((FabricLootTable) reference.value()).fabric$setHolder(reference));
     }
 }
@@ -65,7 +65,9 @@ public abstract class ServerGamePacketListenerImplMixin {
      */
     @WrapOperation(method = "handlePickItemFromBlock", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/level/block/state/BlockState;getCloneItemStack(Lnet/minecraft/core/BlockPos;Lnet/minecraft/world/level/LevelReader;ZLnet/minecraft/world/entity/player/Player;)Lnet/minecraft/world/item/ItemStack;"))
     public ItemStack onPickItemFromBlock(BlockState state, BlockPos pos, LevelReader level, boolean includeData, Player p, Operation<ItemStack> operation, @Local(argsOnly = true) ServerboundPickItemFromBlockPacket packet) {
-        ItemStack stack = ServerPlayerEvent.onPickFromBlock.invoke(new PlayerPickFromBlockArg(player, pos, state, packet.includeData())).getOrNull();
+        ItemStack stack = ServerPlayerEvent.onPickFromBlock.hasHandlers()
+                ? ServerPlayerEvent.onPickFromBlock.invoke(new PlayerPickFromBlockArg(player, pos, state, packet.includeData())).getOrNull()
+                : null;
 
         if (stack == null) {
             return operation.call(state, pos, level, includeData, p);
@@ -85,7 +87,9 @@ public abstract class ServerGamePacketListenerImplMixin {
      */
     @WrapOperation(method = "handlePickItemFromEntity", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/entity/Entity;getPickResult()Lnet/minecraft/world/item/ItemStack;"))
     public ItemStack onPickItemFromEntity(Entity entity, Operation<ItemStack> operation, @Local(argsOnly = true) ServerboundPickItemFromEntityPacket packet) {
-        ItemStack stack = ServerPlayerEvent.onPickFromEntity.invoke(new PlayerPickFromEntityArg(player, entity, packet.includeData())).getOrNull();
+        ItemStack stack = ServerPlayerEvent.onPickFromEntity.hasHandlers()
+                ? ServerPlayerEvent.onPickFromEntity.invoke(new PlayerPickFromEntityArg(player, entity, packet.includeData())).getOrNull()
+                : null;
 
         if (stack == null) {
             return operation.call(entity);
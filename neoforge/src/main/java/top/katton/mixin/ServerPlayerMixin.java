@@ -63,8 +63,10 @@ abstract class ServerPlayerMixin extends LivingEntityMixin2 {
         // If the damage source that killed the player was an entity, then fire the event.
         if (attacker != null) {
             attacker.killedEntity(this.level(), (ServerPlayer) (Object) this, source);
-            ServerEntityCombatEvent.onAfterKilledOtherEntity.invoke(new AfterKilledOtherEntityArg(
-            this.level(), attacker, (ServerPlayer) (Object) this, source));
+            if (ServerEntityCombatEvent.onAfterKilledOtherEntity.hasHandlers()) {
+                ServerEntityCombatEvent.onAfterKilledOtherEntity.invoke(new AfterKilledOtherEntityArg(
+                this.level(), attacker, (ServerPlayer) (Object) this, source));
+            }
         }
     }
 
@@ -73,19 +75,21 @@ abstract class ServerPlayerMixin extends LivingEntityMixin2 {
      */
     @Inject(method = "triggerDimensionChangeTriggers(Lnet/minecraft/server/level/ServerLevel;)V", at = @At("TAIL"))
     private void afterLevelChanged(ServerLevel origin, CallbackInfo ci) {
-        ServerEntityEvent.onAfterPlayerChangeLevel.invoke(new AfterPlayerChangeLevelArg((ServerPlayer) (Object) this, origin, this.level()));
+        if (ServerEntityEvent.onAfterPlayerChangeLevel.hasHandlers()) ServerEntityEvent.onAfterPlayerChangeLevel.invoke(new AfterPlayerChangeLevelArg((ServerPlayer) (Object) this, origin, this.level()));
     }
 
     @Inject(method = "restoreFrom", at = @At("TAIL"))
     private void onCopyFrom(ServerPlayer oldPlayer, boolean alive, CallbackInfo ci) {
-        ServerPlayerEvent.onPlayerCopy.invoke(new ServerPlayerCopyArg(oldPlayer, (ServerPlayer) (Object) this, alive));
+        if (ServerPlayerEvent.onPlayerCopy.hasHandlers()) ServerPlayerEvent.onPlayerCopy.invoke(new ServerPlayerCopyArg(oldPlayer, (ServerPlayer) (Object) this, alive));
     }
 
     @SuppressWarnings("NullableProblems")
     @WrapOperation(method = "lambda$startSleepInBed$0", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/level/block/state/BlockState;getValue(Lnet/minecraft/world/level/block/state/properties/Property;)Ljava/lang/Comparable;"))
     private Comparable<?> redirectSleepDirection(BlockState instance, Property<Direction> property, Operation<Comparable<Direction>> original, BlockPos pos, @Cancellable CallbackInfoReturnable<Either<Player.BedSleepingProblem, Unit>> cir) {
         Direction initial = (Direction) (instance.hasProperty(property) ? original.call(instance, property) : null);
-        var dir = LivingBehaviorEvent.onModifySleepingDirection.invoke(new ModifySleepingDirectionArg((LivingEntity) (Object) this, pos, initial)).getOrNull();
+        var dir = LivingBehaviorEvent.onModifySleepingDirection.hasHandlers()
+                ? LivingBehaviorEvent.onModifySleepingDirection.invoke(new ModifySleepingDirectionArg((LivingEntity) (Object) this, pos, initial)).getOrNull()
+                : initial;
 
         if (dir == null) {
             cir.setReturnValue(Either.left(Player.BedSleepingProblem.OTHER_PROBLEM));
@@ -96,7 +100,8 @@ abstract class ServerPlayerMixin extends LivingEntityMixin2 {
 
     @WrapOperation(method = "lambda$startSleepInBed$0", at = @At(value = "INVOKE", target = "Lnet/minecraft/server/level/ServerPlayer;setRespawnPosition(Lnet/minecraft/server/level/ServerPlayer$RespawnConfig;Z)V"))
     private void onSetSpawnPoint(ServerPlayer player, ServerPlayer.RespawnConfig spawnPoint, boolean sendMessage, Operation<Void> original) {
-        if (LivingBehaviorEvent.onAllowSettingSpawn.invoke(new AllowSettingSpawnArg(player, spawnPoint.respawnData().pos())).emptyOrTrue()) {
+        if (!LivingBehaviorEvent.onAllowSettingSpawn.hasHandlers()
+                || LivingBehaviorEvent.onAllowSettingSpawn.invoke(new AllowSettingSpawnArg(player, spawnPoint.respawnData().pos())).emptyOrTrue()) {
             original.call(player, spawnPoint, sendMessage);
         }
     }
@@ -104,6 +109,9 @@ abstract class ServerPlayerMixin extends LivingEntityMixin2 {
     @WrapOperation(method = "lambda$startSleepInBed$0", at = @At(value = "INVOKE", target = "Ljava/util/List;isEmpty()Z"))
     private boolean hasNoMonstersNearby(List<Monster> monsters, Operation<Boolean> operation, @Local(argsOnly = true) BlockPos pos) {
         boolean vanillaResult = operation.call(monsters);
+        if (!LivingBehaviorEvent.onAllowNearbyMonsters.hasHandlers()) {
+            return vanillaResult;
+        }
         var result = LivingBehaviorEvent.onAllowNearbyMonsters.invoke(new AllowNearbyMonstersArg((Player) (Object) this, pos, vanillaResult));
         return result.emptyOrMatch(e -> e.allowAction(vanillaResult));
     }
@@ -65,7 +65,7 @@ public class EnchantmentUtil {
         // Reset the modified flag before invoking the event as we setup the builder above
         builderExtensions.fabric$resetModified();
 
-        ItemComponentEvent.onModifyEnchantment.invoke(new ModifyEnchantmentArg(key, builder));
+        if (ItemComponentEvent.onModifyEnchantment.hasHandlers()) ItemComponentEvent.onModifyEnchantment.invoke(new ModifyEnchantmentArg(key, builder));
 
         if (builderExtensions.fabric$didModify()) {
             LOGGER.debug("Enchantment {} was modified", key.identifier());
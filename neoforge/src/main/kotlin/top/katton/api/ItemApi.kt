@@ -7,9 +7,10 @@ import net.minecraft.world.item.enchantment.Enchantment
 import top.katton.api.event.AllowEnchantingArg
 import top.katton.api.event.ItemComponentEvent
 import top.katton.bridger.EnchantingContext
+import top.katton.util.invokeIfHandled
 
 fun ItemStack.canBeEnchantedWith(enchantment: Holder<Enchantment>, context: EnchantingContext): Boolean{
-    val result = ItemComponentEvent.onAllowEnchanting.invoke(AllowEnchantingArg(enchantment, this, context))
+    val result = ItemComponentEvent.onAllowEnchanting.invokeIfHandled { AllowEnchantingArg(enchantment, this, context) }
     return if(result.isFailure || result.getOrNull()!!.isDefault){
         this.item.canBeEnchantedWith(this, enchantment, context)
     } else {
@@ -24,6 +24,7 @@ import top.katton.util.DelegateEvent
 import top.katton.util.createCancellableUnit
 import top.katton.util.createUnit
 import top.katton.util.setCancel
+import top.katton.util.invokeIfHandled
 
 /**
  * Chunk, block, and explosion events for NeoForge platform.
@@ -43,7 +44,7 @@ object ChunkAndBlockEvent {
     private fun handleChunkLoad(e: ChunkEvent.Load) {
         val level = e.level as? ServerLevel ?: return
         val chunk = e.chunk as? LevelChunk ?: return
-        onChunkLoad(ChunkLoadArg(level, chunk, e.isNewChunk))
+        onChunkLoad.invokeIfHandled { ChunkLoadArg(level, chunk, e.isNewChunk) }
     }
 
     @JvmStatic
@@ -51,45 +52,46 @@ object ChunkAndBlockEvent {
     private fun handleChunkUnload(e: ChunkEvent.Unload) {
         val level = e.level as? ServerLevel ?: return
         val chunk = e.chunk as? LevelChunk ?: return
-        onChunkUnload(ChunkUnloadArg(level, chunk))
+        onChunkUnload.invokeIfHandled { ChunkUnloadArg(level, chunk) }
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handleChunkDataLoad(e: ChunkDataEvent.Load) {
         val level = e.level as? ServerLevel ?: return
-        onChunkDataLoad(NeoChunkDataLoadArg(level, e.chunk, e.data, e.type))
+        onChunkDataLoad.invokeIfHandled { NeoChunkDataLoadArg(level, e.chunk, e.data, e.type) }
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handleChunkDataSave(e: ChunkDataEvent.Save) {
         val level = e.level as? ServerLevel ?: return
-        onChunkDataSave(NeoChunkDataSaveArg(level, e.chunk, e.data))
+        onChunkDataSave.invokeIfHandled { NeoChunkDataSaveArg(level, e.chunk, e.data) }
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handleChunkWatch(e: ChunkWatchEvent.Watch) {
-        onChunkWatch(NeoChunkWatchArg(e.player, e.level, e.chunk))
+        onChunkWatch.invokeIfHandled { NeoChunkWatchArg(e.player, e.level, e.chunk) }
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handleChunkSent(e: ChunkWatchEvent.Sent) {
-        onChunkSent(NeoChunkWatchArg(e.player, e.level, e.chunk))
+        onChunkSent.invokeIfHandled { NeoChunkWatchArg(e.player, e.level, e.chunk) }
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handleChunkUnWatch(e: ChunkWatchEvent.UnWatch) {
-        onChunkUnWatch(NeoChunkUnWatchArg(e.player, e.level, e.pos))
+        onChunkUnWatch.invokeIfHandled { NeoChunkUnWatchArg(e.player, e.level, e.pos) }
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handleBlockBreak(e: BreakBlockEvent) {
         if (e.level is ServerLevel) {
+            if (!onBlockBreak.hasHandlers()) return
             val arg = BlockBreakArg(
                 e.level as ServerLevel,
                 e.player,
@@ -98,7 +100,7 @@ object ChunkAndBlockEvent {
                 e.level.getBlockEntity(e.pos)
             )
             onBlockBreak(arg)
-            setCancel(onBlockBreak, e)
+            setCancel(arg.isCancelled(), e)
         }
     }
 
@@ -106,6 +108,7 @@ object ChunkAndBlockEvent {
     @SubscribeEvent
     private fun handleBlockPlace(e: BlockEvent.EntityPlaceEvent) {
         if (e.level is ServerLevel) {
+            if (!onBlockPlace.hasHandlers()) return
             val arg = BlockPlaceArg(
                 e.level as ServerLevel,
                 e.entity as? Player,
@@ -114,7 +117,7 @@ object ChunkAndBlockEvent {
                 e.level.getBlockEntity(e.pos)
             )
             onBlockPlace(arg)
-            setCancel(onBlockPlace, e)
+            setCancel(arg.isCancelled(), e)
         }
     }
 
@@ -122,12 +125,13 @@ object ChunkAndBlockEvent {
     @SubscribeEvent
     private fun handleExplosionStart(e: ExplosionEvent.Start) {
         if (e.level is ServerLevel) {
+            if (!onExplosionStart.hasHandlers()) return
             val arg = ExplosionStartArg(
                 e.level as ServerLevel,
                 e.explosion
             )
             onExplosionStart(arg)
-            setCancel(onExplosionStart, e)
+            setCancel(arg.isCancelled(), e)
         }
     }
 
@@ -135,7 +139,7 @@ object ChunkAndBlockEvent {
     @SubscribeEvent
     private fun handleExplosionDetonate(e: ExplosionEvent.Detonate) {
         if (e.level is ServerLevel) {
-            onExplosionDetonate(ExplosionDetonateArg(e.level as ServerLevel, e.explosion, e.affectedEntities))
+            onExplosionDetonate.invokeIfHandled { ExplosionDetonateArg(e.level as ServerLevel, e.explosion, e.affectedEntities) }
         }
     }
 
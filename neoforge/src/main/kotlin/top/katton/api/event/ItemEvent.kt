@@ -8,6 +8,7 @@ import net.neoforged.neoforge.event.entity.player.PlayerInteractEvent
 import net.neoforged.neoforge.event.entity.player.UseItemOnBlockEvent
 import top.katton.Katton
 import top.katton.util.createReturnIfNot
+import top.katton.util.invokeIfHandled
 
 /**
  * Item interaction events for NeoForge platform.
@@ -29,7 +30,7 @@ object ItemEvent {
             return
         }
 
-        val result = onUseOn(ItemUseOnArg(e.useOnContext)).getOrNull() ?: return
+        val result = onUseOn.invokeIfHandled { ItemUseOnArg(e.useOnContext) }.getOrNull() ?: return
         if (result != InteractionResult.PASS) {
             e.cancelWithResult(result)
         }
@@ -42,7 +43,7 @@ object ItemEvent {
             return
         }
 
-        val result = onUse(ItemUseArg(e.level, e.entity, e.hand)).getOrNull() ?: return
+        val result = onUse.invokeIfHandled { ItemUseArg(e.level, e.entity, e.hand) }.getOrNull() ?: return
         if (result != InteractionResult.PASS) {
             e.cancellationResult = result
             e.isCanceled = true
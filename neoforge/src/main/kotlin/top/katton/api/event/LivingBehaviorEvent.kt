@@ -40,22 +40,25 @@ object LivingBehaviorEvent {
     @JvmStatic
     @SubscribeEvent
     private fun handleAnimalTame(e: AnimalTameEvent) {
+        if (!onAnimalTame.hasHandlers()) return
         val arg = AnimalTameArg(e.animal, e.tamer)
         onAnimalTame(arg)
-        setCancel(onAnimalTame, e)
+        setCancel(arg.isCancelled(), e)
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handleBabySpawn(e: BabyEntitySpawnEvent) {
+        if (!onBabySpawn.hasHandlers()) return
         val arg = BabySpawnArg(e.parentA, e.parentB, e.child)
         onBabySpawn(arg)
-        setCancel(onBabySpawn, e)
+        setCancel(arg.isCancelled(), e)
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handlePlayerWakeUp(e: PlayerWakeUpEvent) {
+        if (!onPlayerWakeUp.hasHandlers()) return
         val arg = PlayerWakeUpArg(e.entity, e.wakeImmediately(), e.updateLevel())
         onPlayerWakeUp(arg)
     }
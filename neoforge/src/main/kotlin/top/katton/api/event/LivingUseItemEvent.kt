@@ -28,30 +28,34 @@ object LivingUseItemEvent {
     @JvmStatic
     @SubscribeEvent
     private fun handleUseItemStart(e: LivingEntityUseItemEvent.Start) {
+        if (!onUseItemStart.hasHandlers()) return
         val arg = LivingUseItemStartArg(e.entity, e.item, e.hand, e.duration)
         onUseItemStart(arg)
-        setCancel(onUseItemStart, e)
+        setCancel(arg.isCancelled(), e)
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handleUseItemTick(e: LivingEntityUseItemEvent.Tick) {
+        if (!onUseItemTick.hasHandlers()) return
         val arg = LivingUseItemTickArg(e.entity, e.item, e.duration)
         onUseItemTick(arg)
-        setCancel(onUseItemTick, e)
+        setCancel(arg.isCancelled(), e)
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handleUseItemStop(e: LivingEntityUseItemEvent.Stop) {
+        if (!onUseItemStop.hasHandlers()) return
         val arg = LivingUseItemStopArg(e.entity, e.item, e.duration)
         onUseItemStop(arg)
-        setCancel(onUseItemStop, e)
+        setCancel(arg.isCancelled(), e)
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handleUseItemFinish(e: LivingEntityUseItemEvent.Finish) {
+        if (!onUseItemFinish.hasHandlers()) return
         val arg = LivingUseItemFinishArg(e.entity, e.item, e.duration, e.resultStack)
         onUseItemFinish(arg)
     }
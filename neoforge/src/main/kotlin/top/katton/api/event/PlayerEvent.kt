@@ -27,46 +27,52 @@ object PlayerEvent {
     @JvmStatic
     @SubscribeEvent
     private fun handleAttackEntity(e: AttackEntityEvent) {
+        if (!onAttackEntity.hasHandlers()) return
         val arg = NeoPlayerAttackEntityArg(e.entity, e.target)
         onAttackEntity(arg)
-        setCancel(onAttackEntity, e)
+        setCancel(arg.isCancelled(), e)
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handleEntityInteract(e: PlayerInteractEvent.EntityInteract) {
+        if (!onEntityInteract.hasHandlers()) return
         val arg = NeoPlayerInteractEntityArg(e.entity, e.target, e.hand)
         onEntityInteract(arg)
-        setCancel(onEntityInteract, e)
+        setCancel(arg.isCancelled(), e)
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handleBlockInteract(e: PlayerInteractEvent.RightClickBlock) {
+        if (!onBlockInteract.hasHandlers()) return
         val arg = NeoPlayerInteractBlockArg(e.entity, e.pos, e.face, e.hand)
         onBlockInteract(arg)
-        setCancel(onBlockInteract, e)
+        setCancel(arg.isCancelled(), e)
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handleItemInteract(e: PlayerInteractEvent.RightClickItem) {
+        if (!onItemInteract.hasHandlers()) return
         val arg = NeoPlayerInteractItemArg(e.entity, e.hand)
         onItemInteract(arg)
-        setCancel(onItemInteract, e)
+        setCancel(arg.isCancelled(), e)
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handleLeftClickBlock(e: PlayerInteractEvent.LeftClickBlock) {
+        if (!onLeftClickBlock.hasHandlers()) return
         val arg = NeoPlayerLeftClickBlockArg(e.entity, e.pos, e.face)
         onLeftClickBlock(arg)
-        setCancel(onLeftClickBlock, e)
+        setCancel(arg.isCancelled(), e)
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handleDestroyItem(e: PlayerDestroyItemEvent) {
+        if (!onDestroyItem.hasHandlers()) return
         val arg = PlayerDestroyItemArg(e.entity, e.original, e.hand)
         onDestroyItem(arg)
     }
@@ -8,6 +8,7 @@ import net.neoforged.neoforge.event.entity.player.CriticalHitEvent
 import top.katton.Katton
 import top.katton.util.createAll
 import top.katton.util.createUnit
+import top.katton.util.invokeIfHandled
 
 /**
  * Server entity combat events for NeoForge platform.
@@ -25,13 +26,13 @@ object ServerEntityCombatEvent {
     @JvmStatic
     @SubscribeEvent
     private fun handleCriticalHit(e: CriticalHitEvent) {
-        onCriticalHit(CriticalHitArg(e.entity, e.target, e.isVanillaCritical))
+        onCriticalHit.invokeIfHandled { CriticalHitArg(e.entity, e.target, e.isVanillaCritical) }
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handleShieldBlock(e: LivingShieldBlockEvent) {
-        val result = onShieldBlock(ShieldBlockArg(e.entity, e.damageSource, e.blockedDamage, e.originalBlock))
+        val result = onShieldBlock.invokeIfHandled { ShieldBlockArg(e.entity, e.damageSource, e.blockedDamage, e.originalBlock) }
         val blocked = result.getOrNull()
         if (blocked != null) {
             e.blocked = blocked
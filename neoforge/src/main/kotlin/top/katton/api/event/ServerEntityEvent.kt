@@ -12,6 +12,8 @@ import net.neoforged.neoforge.event.entity.living.EnderManAngerEvent
 import top.katton.util.createCancellableUnit
 import top.katton.util.createUnit
 import top.katton.util.setCancel
+import top.katton.util.invokeCancellable
+import top.katton.util.invokeIfHandled
 
 /**
  * Server entity lifecycle events for NeoForge platform.
@@ -30,8 +32,7 @@ object ServerEntityEvent {
     @SubscribeEvent
     private fun onEntityLoad(e: EntityJoinLevelEvent) {
         if (e.level is ServerLevel) {
-            onEntityLoad(EntityLoadArg(e.entity, e.level as ServerLevel))
-            setCancel(onEntityLoad, e)
+            setCancel(onEntityLoad.invokeCancellable { EntityLoadArg(e.entity, e.level as ServerLevel) }, e)
         }
     }
 
@@ -39,34 +40,26 @@ object ServerEntityEvent {
     @SubscribeEvent
     private fun onEntityUnload(e: EntityLeaveLevelEvent) {
         if (e.level is ServerLevel) {
-            onEntityUnload(EntityUnloadArg(e.entity, e.level as ServerLevel))
+            onEntityUnload.invokeIfHandled { EntityUnloadArg(e.entity, e.level as ServerLevel) }
         }
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun onEquipmentChange(e: LivingEquipmentChangeEvent) {
-        onEquipmentChange(
-            EquipmentChangeArg(e.entity, e.slot, e.from, e.to)
-        )
+        onEquipmentChange.invokeIfHandled { EquipmentChangeArg(e.entity, e.slot, e.from, e.to) }
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun onEntityTeleport(e: EntityTeleportEvent) {
-        onEntityTeleport(
-            EntityTeleportArg(e.entity, e.prevX, e.prevY, e.prevZ, e.targetX, e.targetY, e.targetZ)
-        )
-        setCancel(onEntityTeleport, e)
+        setCancel(onEntityTeleport.invokeCancellable { EntityTeleportArg(e.entity, e.prevX, e.prevY, e.prevZ, e.targetX, e.targetY, e.targetZ) }, e)
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun onEndermanAnger(e: EnderManAngerEvent) {
-        onEndermanAnger(
-            EndermanAngerArg(e.entity, e.player)
-        )
-        setCancel(onEndermanAnger, e)
+        setCancel(onEndermanAnger.invokeCancellable { EndermanAngerArg(e.entity, e.player) }, e)
     }
 
     // === Entity Lifecycle ===
@@ -15,7 +15,10 @@ import net.neoforged.neoforge.event.tick.ServerTickEvent
 import top.katton.Katton
 import top.katton.network.ServerItemRenderMarkerManager
 import top.katton.util.DelegateEvent
+import top.katton.util.EventBatcher
+import top.katton.util.HandlerBudget
 import top.katton.util.createUnit
+import top.katton.util.invokeIfHandled
 
 /**
  * Server lifecycle events for NeoForge platform.
@@ -33,25 +36,25 @@ object ServerEvent {
     @JvmStatic
     @SubscribeEvent
     private fun handleServerStarting(e: ServerStartingEvent) {
-        onServerStarting(ServerArg(e.server))
+        onServerStarting.invokeIfHandled { ServerArg(e.server) }
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handleServerStarted(e: ServerStartedEvent) {
-        onServerStarted(ServerArg(e.server))
+        onServerStarted.invokeIfHandled { ServerArg(e.server) }
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handleServerStopped(e: ServerStoppedEvent) {
-        onServerStopped(ServerArg(e.server))
+        onServerStopped.invokeIfHandled { ServerArg(e.server) }
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handleServerStopping(e: ServerStoppingEvent) {
-        onServerStopping(ServerArg(e.server))
+        onServerStopping.invokeIfHandled { ServerArg(e.server) }
     }
 
     @JvmStatic
@@ -59,32 +62,34 @@ object ServerEvent {
     private fun handleSyncDatapackContents(e: OnDatapackSyncEvent) {
         val player = e.player
         if (player != null) {
-            onSyncDatapackContents(SyncDatapackContentsArg(player, true))
+            onSyncDatapackContents.invokeIfHandled { SyncDatapackContentsArg(player, true) }
             return
         }
         e.relevantPlayers.forEach { relevantPlayer ->
-            onSyncDatapackContents(SyncDatapackContentsArg(relevantPlayer, false))
+            onSyncDatapackContents.invokeIfHandled { SyncDatapackContentsArg(relevantPlayer, false) }
         }
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handleStartServerTick(e: ServerTickEvent.Pre) {
-        onStartServerTick(ServerTickArg(e.server))
+        onStartServerTick.invokeIfHandled { ServerTickArg(e.server) }
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handleEndServerTick(e: ServerTickEvent.Post) {
         ServerItemRenderMarkerManager.tick()
-        onEndServerTick(ServerTickArg(e.server))
+        onEndServerTick.invokeIfHandled { ServerTickArg(e.server) }
+        EventBatcher.flush()
+        HandlerBudget.endTick()
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handleStartWorldTick(e: LevelTickEvent.Pre) {
         if (e.level is ServerLevel) {
-            onStartWorldTick(WorldTickArg(e.level as ServerLevel))
+            onStartWorldTick.invokeIfHandled { WorldTickArg(e.level as ServerLevel) }
         }
     }
 
@@ -92,7 +97,7 @@ object ServerEvent {
     @SubscribeEvent
     private fun handleEndWorldTick(e: LevelTickEvent.Post) {
         if (e.level is ServerLevel) {
-            onEndWorldTick(WorldTickArg(e.level as ServerLevel))
+            onEndWorldTick.invokeIfHandled { WorldTickArg(e.level as ServerLevel) }
         }
     }
 
@@ -100,21 +105,21 @@ object ServerEvent {
     @SubscribeEvent
     private fun handleLevelLoad(e: LevelEvent.Load) {
         val level = e.level as? ServerLevel ?: return
-        onLevelLoad(ServerLevelArg(level))
+        onLevelLoad.invokeIfHandled { ServerLevelArg(level) }
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handleLevelUnload(e: LevelEvent.Unload) {
         val level = e.level as? ServerLevel ?: return
-        onLevelUnload(ServerLevelArg(level))
+        onLevelUnload.invokeIfHandled { ServerLevelArg(level) }
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handleLevelSave(e: LevelEvent.Save) {
         val level = e.level as? ServerLevel ?: return
-        onLevelSave(ServerLevelArg(level))
+        onLevelSave.invokeIfHandled { ServerLevelArg(level) }
     }
 
     /**
@@ -15,6 +15,8 @@ import top.katton.util.createAll
 import top.katton.util.createCancellableUnit
 import top.katton.util.createUnit
 import top.katton.util.setCancel
+import top.katton.util.invokeCancellable
+import top.katton.util.invokeIfHandled
 
 /**
  * Server-side living entity events for NeoForge platform.
@@ -31,46 +33,43 @@ object ServerLivingEntityEvent {
     @JvmStatic
     @SubscribeEvent
     private fun onLivingHurt(e: LivingIncomingDamageEvent) {
-        onLivingHurt(LivingHurtArg(e.entity, e.source, e.amount))
-        setCancel(onLivingHurt, e)
+        setCancel(onLivingHurt.invokeCancellable { LivingHurtArg(e.entity, e.source, e.amount) }, e)
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun onLivingDrops(e: LivingDropsEvent) {
-        onLivingDrops(
+        setCancel(onLivingDrops.invokeCancellable {
             LivingDropsArg(
                 e.entity,
                 e.source,
                 e.drops.map { it.item }
             )
-        )
-        setCancel(onLivingDrops, e)
+        }, e)
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun onLivingFall(e: LivingFallEvent) {
-        onLivingFall(
+        setCancel(onLivingFall.invokeCancellable {
             LivingFallArg(
                 e.entity,
                 e.distance,
                 e.damageMultiplier
             )
-        )
-        setCancel(onLivingFall, e)
+        }, e)
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun onLivingJump(e: LivingEvent.LivingJumpEvent) {
-        onLivingJump(LivingJumpArg(e.entity))
+        onLivingJump.invokeIfHandled { LivingJumpArg(e.entity) }
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun onMobConversion(e: LivingConversionEvent.Post) {
-        onMobConversion(MobConversionArg(e.entity as Mob, e.outcome as Mob, null))
+        onMobConversion.invokeIfHandled { MobConversionArg(e.entity as Mob, e.outcome as Mob, null) }
     }
 
     /**
@@ -6,6 +6,7 @@ import net.neoforged.fml.common.EventBusSubscriber
 import net.neoforged.neoforge.event.ServerChatEvent
 import top.katton.util.createCancellableUnit
 import top.katton.util.setCancel
+import top.katton.util.invokeCancellable
 
 /**
  * Server-side message events for NeoForge platform.
@@ -22,8 +23,7 @@ object ServerMessageEvent {
     @JvmStatic
     @SubscribeEvent
     private fun onServerChat(e: ServerChatEvent) {
-        onServerChat(ServerChatArg(e.player, e.rawText, e.message))
-        setCancel(onServerChat, e)
+        setCancel(onServerChat.invokeCancellable { ServerChatArg(e.player, e.rawText, e.message) }, e)
     }
 
     /**
@@ -14,6 +14,8 @@ import top.katton.util.CancellableEventArg
 import top.katton.util.createCancellableUnit
 import top.katton.util.createUnit
 import top.katton.util.setCancel
+import top.katton.util.invokeCancellable
+import top.katton.util.invokeIfHandled
 
 /**
  * Mob effect events for NeoForge platform.
@@ -30,35 +32,25 @@ object ServerMobEffectEvent {
     @JvmStatic
     @SubscribeEvent
     private fun handleMobEffectApplicable(e: MobEffectEvent.Applicable) {
-        onMobEffectApplicable(
-            MobEffectApplicableArg(e.entity, e.effectInstance)
-        )
+        onMobEffectApplicable.invokeIfHandled { MobEffectApplicableArg(e.entity, e.effectInstance) }
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handleMobEffectAdd(e: MobEffectEvent.Added) {
-        onMobEffectAdd(
-            MobEffectAddArg(e.entity, e.effectInstance, e.effectSource)
-        )
+        onMobEffectAdd.invokeIfHandled { MobEffectAddArg(e.entity, e.effectInstance, e.effectSource) }
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handleMobEffectRemove(e: MobEffectEvent.Remove) {
-        onMobEffectRemove(
-            MobEffectRemoveArg(e.entity, e.effectInstance)
-        )
-        setCancel(onMobEffectRemove, e)
+        setCancel(onMobEffectRemove.invokeCancellable { MobEffectRemoveArg(e.entity, e.effectInstance) }, e)
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handleMobEffectExpire(e: MobEffectEvent.Expired) {
-        onMobEffectExpire(
-            MobEffectExpireArg(e.entity, e.effectInstance)
-        )
-        setCancel(onMobEffectExpire, e)
+        setCancel(onMobEffectExpire.invokeCancellable { MobEffectExpireArg(e.entity, e.effectInstance) }, e)
     }
 
     /**
@@ -20,6 +20,8 @@ import top.katton.util.createFirstNotNullOfOrNull
 import top.katton.util.createUnit
 import top.katton.util.setCancel
 import java.io.File
+import top.katton.util.invokeCancellable
+import top.katton.util.invokeIfHandled
 
 /**
  * Server player events for NeoForge platform.
@@ -40,14 +42,14 @@ object ServerPlayerEvent {
     @SubscribeEvent
     private fun handlePlayerJoin(e: PlayerEvent.PlayerLoggedInEvent) {
         val player = e.entity as? ServerPlayer ?: return
-        onPlayerJoin(PlayerArg(player))
+        onPlayerJoin.invokeIfHandled { PlayerArg(player) }
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handlePlayerLeave(e: PlayerEvent.PlayerLoggedOutEvent) {
         val player = e.entity as? ServerPlayer ?: return
-        onPlayerLeave(PlayerArg(player))
+        onPlayerLeave.invokeIfHandled { PlayerArg(player) }
     }
 
     @JvmStatic
@@ -57,7 +59,7 @@ object ServerPlayerEvent {
         val newPlayer = e.entity as? ServerPlayer ?: return
         val alive = !e.isWasDeath
         respawnStateByPlayerId[newPlayer.uuid] = RespawnState(oldPlayer, alive)
-        onPlayerCopy(ServerPlayerCopyArg(oldPlayer, newPlayer, alive))
+        onPlayerCopy.invokeIfHandled { ServerPlayerCopyArg(oldPlayer, newPlayer, alive) }
     }
 
     @JvmStatic
@@ -67,75 +69,67 @@ object ServerPlayerEvent {
         val state = respawnStateByPlayerId.remove(newPlayer.uuid)
         val oldPlayer = state?.oldPlayer ?: newPlayer
         val alive = state?.alive ?: e.isEndConquered
-        onAfterPlayerRespawn(ServerPlayerAfterRespawnArg(oldPlayer, newPlayer, alive))
+        onAfterPlayerRespawn.invokeIfHandled { ServerPlayerAfterRespawnArg(oldPlayer, newPlayer, alive) }
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handlePlayerXpChange(e: PlayerXpEvent.XpChange) {
-        onPlayerXpChange(
-            PlayerXpChangeArg(e.entity, e.amount)
-        )
-        setCancel(onPlayerXpChange, e)
+        setCancel(onPlayerXpChange.invokeCancellable { PlayerXpChangeArg(e.entity, e.amount) }, e)
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handlePlayerXpLevelChange(e: PlayerXpEvent.LevelChange) {
-        onPlayerXpLevelChange(
-            PlayerXpLevelChangeArg(e.entity, e.levels)
-        )
-        setCancel(onPlayerXpLevelChange, e)
+        setCancel(onPlayerXpLevelChange.invokeCancellable { PlayerXpLevelChangeArg(e.entity, e.levels) }, e)
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handlePlayerPickupXp(e: PlayerXpEvent.PickupXp) {
-        onPlayerPickupXp(
-            PlayerPickupXpArg(e.entity, e.orb)
-        )
-        setCancel(onPlayerPickupXp, e)
+        setCancel(onPlayerPickupXp.invokeCancellable { PlayerPickupXpArg(e.entity, e.orb) }, e)
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handleStartTracking(e: PlayerEvent.StartTracking) {
         val player = e.entity as? ServerPlayer ?: return
-        onStartTracking(PlayerTrackingArg(player, e.target))
+        onStartTracking.invokeIfHandled { PlayerTrackingArg(player, e.target) }
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handleStopTracking(e: PlayerEvent.StopTracking) {
         val player = e.entity as? ServerPlayer ?: return
-        onStopTracking(PlayerTrackingArg(player, e.target))
+        onStopTracking.invokeIfHandled { PlayerTrackingArg(player, e.target) }
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handlePlayerLoadFromFile(e: PlayerEvent.LoadFromFile) {
         val player = e.entity as? ServerPlayer ?: return
-        onPlayerLoadFromFile(PlayerFileArg(player, e.playerDirectory, e.playerUUID))
+        onPlayerLoadFromFile.invokeIfHandled { PlayerFileArg(player, e.playerDirectory, e.playerUUID) }
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handlePlayerSaveToFile(e: PlayerEvent.SaveToFile) {
         val player = e.entity as? ServerPlayer ?: return
-        onPlayerSaveToFile(PlayerFileArg(player, e.playerDirectory, e.playerUUID))
+        onPlayerSaveToFile.invokeIfHandled { PlayerFileArg(player, e.playerDirectory, e.playerUUID) }
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handleItemToss(e: ItemTossEvent) {
         val player = e.player as? ServerPlayer ?: return
-        onItemToss(ItemTossArg(player, e.entity))
+        onItemToss.invokeIfHandled { ItemTossArg(player, e.entity) }
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handleItemPickupPre(e: ItemEntityPickupEvent.Pre) {
         val player = e.player as? ServerPlayer ?: return
+        if (!onItemPickupPre.hasHandlers()) return
         val arg = PlayerItemPickupPreArg(player, e.itemEntity, e.canPickup())
         onItemPickupPre(arg)
         e.setCanPickup(arg.canPickup)
@@ -145,34 +139,35 @@ object ServerPlayerEvent {
     @SubscribeEvent
     private fun handleItemPickupPost(e: ItemEntityPickupEvent.Post) {
         val player = e.player as? ServerPlayer ?: return
-        onItemPickupPost(
+        onItemPickupPost.invokeIfHandled {
             PlayerItemPickupPostArg(
                 player,
                 e.itemEntity,
                 e.originalStack,
                 e.currentStack
             )
-        )
+        }
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handlePlayerItemCrafted(e: PlayerEvent.ItemCraftedEvent) {
         val player = e.entity as? ServerPlayer ?: return
-        onPlayerItemCrafted(PlayerCraftedItemArg(player, e.crafting, e.inventory))
+        onPlayerItemCrafted.invokeIfHandled { PlayerCraftedItemArg(player, e.crafting, e.inventory) }
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handlePlayerItemSmelted(e: PlayerEvent.ItemSmeltedEvent) {
         val player = e.entity as? ServerPlayer ?: return
-        onPlayerItemSmelted(PlayerSmeltedItemArg(player, e.smelting, e.amountRemoved))
+        onPlayerItemSmelted.invokeIfHandled { PlayerSmeltedItemArg(player, e.smelting, e.amountRemoved) }
     }
 
     @JvmStatic
     @SubscribeEvent
     private fun handlePlayerSpawnPhantoms(e: PlayerSpawnPhantomsEvent) {
         val player = e.entity as? ServerPlayer ?: return
+        if (!onPlayerSpawnPhantoms.hasHandlers()) return
         val arg = PlayerSpawnPhantomsArg(player, e.phantomsToSpawn, e.result)
         onPlayerSpawnPhantoms(arg)
         e.setPhantomsToSpawn(arg.phantomsToSpawn)
@@ -6,6 +6,7 @@ import net.neoforged.bus.api.IEventBus
 import net.neoforged.neoforge.common.NeoForge
 import org.slf4j.LoggerFactory
 import top.katton.pack.ScriptPackScope
+import top.katton.util.ScriptContext
 import top.katton.util.ScriptExecutionContext
 
 /**
@@ -40,6 +41,7 @@ object NeoForgeManagedEvents {
                 handler: (Any) -> Unit
             ): ManagedEventHandle {
                 val id = nextId++
+                val context = ScriptContext(owner, scope)
 
                 @Suppress("UNCHECKED_CAST")
                 val eventType = eventClass as Class<out Event>
@@ -54,10 +56,8 @@ object NeoForgeManagedEvents {
                     eventType
                 ) { event ->
                     try {
-                        ScriptExecutionContext.withScope(scope) {
-                            ScriptExecutionContext.withOwner(owner) {
-                                handler(event)
-                            }
+                        ScriptExecutionContext.withContext(context) {
+                            handler(event)
                         }
                     } catch (t: Throwable) {
                         LOGGER.warn("Managed NeoForge event handler failed for {}", owner, t)
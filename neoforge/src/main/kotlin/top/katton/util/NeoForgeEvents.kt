@@ -5,8 +5,8 @@ import net.neoforged.bus.api.ICancellableEvent
 import net.neoforged.neoforge.common.NeoForge
 import top.katton.KattonNeoForge
 
-fun setCancel(kattonEvent: Cancellable, neoEvent: ICancellableEvent) {
-    if (!neoEvent.isCanceled) neoEvent.isCanceled = kattonEvent.isCanceled()
+fun setCancel(cancelled: Boolean, neoEvent: ICancellableEvent) {
+    if (cancelled && !neoEvent.isCanceled) neoEvent.isCanceled = true
 }
 
 fun <T: Event> registerReloadable(event: T, register: (T) -> Unit) {
@@ -121,7 +121,7 @@ public class KattonPaperPlugin extends JavaPlugin implements Listener {
         getLogger().info("Katton Paper disabling...");
         final MinecraftServer server = Katton.server != null ? Katton.server : MinecraftServer.getServer();
         ServerEvent.onDisable(server);
-        ServerEvent.onServerStopped.invoke(new ServerArg(server));
+        if (ServerEvent.onServerStopped.hasHandlers()) ServerEvent.onServerStopped.invoke(new ServerArg(server));
         Katton.server = null;
         Katton.globalState = LoadState.SERVER_STOPPED;
         KattonRegistry.clearWorldRegistrations();
@@ -14,6 +14,7 @@ import top.katton.paper.PaperNmsBridge
 import top.katton.util.createAll
 import top.katton.util.createCancellableUnit
 import top.katton.util.createUnit
+import top.katton.util.invokeIfHandled
 
 /**
  * Chunk and block events for Paper (Bukkit) platform.
@@ -63,9 +64,9 @@ object ChunkAndBlockEvent {
             fun onChunkLoad(event: ChunkLoadEvent) {
                 val level = PaperNmsBridge.toNmsLevel(event.world)
                 val chunk = PaperNmsBridge.toNmsChunk(event.chunk) ?: return
-                onChunkLoad(ChunkLoadArg(level, chunk, event.isNewChunk))
+                onChunkLoad.invokeIfHandled { ChunkLoadArg(level, chunk, event.isNewChunk) }
                 chunk.blockEntities.values.forEach { blockEntity ->
-                    onBlockEntityLoad(BlockEntityLoadArg(blockEntity, level))
+                    onBlockEntityLoad.invokeIfHandled { BlockEntityLoadArg(blockEntity, level) }
                 }
             }
 
@@ -74,9 +75,9 @@ object ChunkAndBlockEvent {
                 val level = PaperNmsBridge.toNmsLevel(event.world)
                 val chunk = PaperNmsBridge.toNmsChunk(event.chunk) ?: return
                 chunk.blockEntities.values.forEach { blockEntity ->
-                    onBlockEntityUnload(BlockEntityLoadArg(blockEntity, level))
+                    onBlockEntityUnload.invokeIfHandled { BlockEntityLoadArg(blockEntity, level) }
                 }
-                onChunkUnload(ChunkUnloadArg(level, chunk))
+                onChunkUnload.invokeIfHandled { ChunkUnloadArg(level, chunk) }
             }
 
             @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
@@ -101,7 +102,7 @@ object ChunkAndBlockEvent {
                 val world = PaperNmsBridge.toNmsLevel(event.block.world)
                 val player = PaperNmsBridge.toNmsPlayer(event.player)
                 val pos = PaperNmsBridge.toNmsBlockPos(event.block.location)
-                onAfterBlockBreak(
+                onAfterBlockBreak.invokeIfHandled {
                     BlockBreakArg(
                         world,
                         player,
@@ -109,7 +110,7 @@ object ChunkAndBlockEvent {
                         world.getBlockState(pos),
                         world.getBlockEntity(pos)
                     )
-                )
+                }
             }
 
             @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = false)
@@ -121,7 +122,7 @@ object ChunkAndBlockEvent {
                 val world = PaperNmsBridge.toNmsLevel(event.block.world)
                 val player = PaperNmsBridge.toNmsPlayer(event.player)
                 val pos = PaperNmsBridge.toNmsBlockPos(event.block.location)
-                onCanceledBlockBreak(
+                onCanceledBlockBreak.invokeIfHandled {
                     BlockBreakArg(
                         world,
                         player,
@@ -129,11 +130,12 @@ object ChunkAndBlockEvent {
                         world.getBlockState(pos),
                         world.getBlockEntity(pos)
                     )
-                )
+                }
             }
 
             @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
             fun onPlace(event: BlockPlaceEvent) {
+                if (!onBlockPlace.hasHandlers()) return
                 val world = PaperNmsBridge.toNmsLevel(event.block.world)
                 val pos = PaperNmsBridge.toNmsBlockPos(event.block.location)
                 val arg = BlockPlaceArg(
@@ -151,6 +153,7 @@ object ChunkAndBlockEvent {
 
             @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
             fun onExplosionPrime(event: ExplosionPrimeEvent) {
+                if (!onExplosionStart.hasHandlers()) return
                 val world = PaperNmsBridge.toNmsWorld(event.entity.world)
                 val x = event.entity.location.x
                 val y = event.entity.location.y
@@ -175,7 +178,7 @@ object ChunkAndBlockEvent {
                 )
                     .mapNotNull { it as? org.bukkit.entity.LivingEntity }
                     .map { PaperNmsBridge.toNmsEntity(it) }
-                onExplosionDetonate(ExplosionDetonateArg(world, explosion, affected))
+                onExplosionDetonate.invokeIfHandled { ExplosionDetonateArg(world, explosion, affected) }
             }
         }, plugin)
     }
@@ -11,6 +11,7 @@ import org.bukkit.event.player.PlayerInteractEvent
 import org.bukkit.plugin.java.JavaPlugin
 import top.katton.paper.PaperNmsBridge
 import top.katton.util.createReturnIfNot
+import top.katton.util.invokeIfHandled
 
 /**
  * Item interaction events for Paper (Bukkit) platform.
@@ -41,13 +42,13 @@ object ItemEvent {
                             return
                         }
                         val hitResult = PaperNmsBridge.toBlockHitResult(event) ?: return
-                        val result = onUseOn(ItemUseOnArg(UseOnContext(player, hand, hitResult))).getOrNull()
+                        val result = onUseOn.invokeIfHandled { ItemUseOnArg(UseOnContext(player, hand, hitResult)) }.getOrNull()
                             ?: return
                         applyInteractionResult(event, result, applyToBlock = false, applyToItem = true)
                     }
 
                     Action.RIGHT_CLICK_AIR -> {
-                        val result = onUse(ItemUseArg(world, player, hand)).getOrNull() ?: return
+                        val result = onUse.invokeIfHandled { ItemUseArg(world, player, hand) }.getOrNull() ?: return
                         applyInteractionResult(event, result, applyToBlock = false, applyToItem = true)
                     }
 
@@ -17,6 +17,7 @@ import org.bukkit.plugin.java.JavaPlugin
 import top.katton.bridger.EventResult
 import top.katton.paper.PaperNmsBridge
 import top.katton.util.*
+import top.katton.util.invokeIfHandled
 
 /**
  * Living behavior events for Paper (Bukkit) platform.
@@ -91,6 +92,7 @@ object LivingBehaviorEvent {
         plugin.server.pluginManager.registerEvents(object : Listener {
             @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
             fun onTame(event: EntityTameEvent) {
+                if (!onAnimalTame.hasHandlers()) return
                 val owner = event.owner as? org.bukkit.entity.Player ?: return
                 val entity = PaperNmsBridge.toNmsEntity(event.entity) as? Animal ?: return
                 val arg = AnimalTameArg(entity, PaperNmsBridge.toNmsPlayer(owner))
@@ -102,6 +104,7 @@ object LivingBehaviorEvent {
 
             @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
             fun onBreed(event: EntityBreedEvent) {
+                if (!onBabySpawn.hasHandlers()) return
                 val child = PaperNmsBridge.toNmsEntity(event.entity) as? AgeableMob
                 val arg = BabySpawnArg(
                     PaperNmsBridge.toNmsLivingEntity(event.mother),
@@ -119,32 +122,30 @@ object LivingBehaviorEvent {
                 val player = PaperNmsBridge.toNmsPlayer(event.player)
                 val pos = PaperNmsBridge.toNmsBlockPos(event.bed.location)
                 val bedState = PaperNmsBridge.toNmsBlockState(event.bed)
-                val allowBed = onAllowBed(
-                    AllowBedArg(player, pos, bedState, true)
-                ).getOrElse { EventResult.PASS }
+                val allowBed = onAllowBed.invokeIfHandled { AllowBedArg(player, pos, bedState, true) }.getOrElse { EventResult.PASS }
                 if (allowBed == EventResult.DENY) {
                     event.isCancelled = true
                     return
                 }
-                if (onAllowSleeping(AllowSleepingArg(player, pos)).getOrNull() != null) {
+                if (onAllowSleeping.invokeIfHandled { AllowSleepingArg(player, pos) }.getOrNull() != null) {
                     event.isCancelled = true
                     return
                 }
 
-                if (!onAllowSettingSpawn(AllowSettingSpawnArg(player, pos)).getOrElse { true }) {
+                if (!onAllowSettingSpawn.invokeIfHandled { AllowSettingSpawnArg(player, pos) }.getOrElse { true }) {
                     event.isCancelled = true
                     return
                 }
 
-                onStartSleeping(SleepingArg(player, pos))
+                onStartSleeping.invokeIfHandled { SleepingArg(player, pos) }
             }
 
             @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
             fun onBedLeave(event: PlayerBedLeaveEvent) {
                 val player = PaperNmsBridge.toNmsPlayer(event.player)
                 val pos = PaperNmsBridge.toNmsBlockPos(event.bed.location)
-                onStopSleeping(SleepingArg(player, pos))
-                onPlayerWakeUp(PlayerWakeUpArg(player, false, false))
+                onStopSleeping.invokeIfHandled { SleepingArg(player, pos) }
+                onPlayerWakeUp.invokeIfHandled { PlayerWakeUpArg(player, false, false) }
             }
 
             @EventHandler(priority = EventPriority.MONITOR)
@@ -154,7 +155,7 @@ object LivingBehaviorEvent {
 
             @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
             fun onDeepSleep(event: PlayerDeepSleepEvent) {
-                if (!onAllowResettingTime(AllowResettingTimeArg(PaperNmsBridge.toNmsPlayer(event.player))).getOrElse { true }) {
+                if (!onAllowResettingTime.invokeIfHandled { AllowResettingTimeArg(PaperNmsBridge.toNmsPlayer(event.player)) }.getOrElse { true }) {
                     event.isCancelled = true
                 }
             }
@@ -163,12 +164,12 @@ object LivingBehaviorEvent {
             fun onGlide(event: EntityToggleGlideEvent) {
                 val living = event.entity as? org.bukkit.entity.LivingEntity ?: return
                 val entity = PaperNmsBridge.toNmsLivingEntity(living)
-                if (event.isGliding && !onElytraAllow(ElytraAllowArg(entity)).getOrElse { true }) {
+                if (event.isGliding && !onElytraAllow.invokeIfHandled { ElytraAllowArg(entity) }.getOrElse { true }) {
                     event.isCancelled = true
                     return
                 }
 
-                onElytraCustom(ElytraCustomArg(entity, event.isGliding))
+                onElytraCustom.invokeIfHandled { ElytraCustomArg(entity, event.isGliding) }
             }
         }, plugin)
     }
@@ -39,13 +39,16 @@ object LivingUseItemEvent {
                 val item = PaperNmsBridge.toNmsItemStack(event.item) ?: return
                 val hand = PaperNmsBridge.toNmsInteractionHand(event.hand)
 
-                val startArg = LivingUseItemStartArg(player, item, hand, 0)
-                onUseItemStart(startArg)
-                if (startArg.isCancelled()) {
-                    event.isCancelled = true
-                    return
+                if (onUseItemStart.hasHandlers()) {
+                    val startArg = LivingUseItemStartArg(player, item, hand, 0)
+                    onUseItemStart(startArg)
+                    if (startArg.isCancelled()) {
+                        event.isCancelled = true
+                        return
+                    }
                 }
 
+                if (!onUseItemFinish.hasHandlers()) return
                 val finishArg = LivingUseItemFinishArg(player, item, 0, item.copy())
                 onUseItemFinish(finishArg)
                 PaperNmsBridge.toBukkitItemStack(finishArg.result)?.let(event::setReplacement)
@@ -53,6 +56,7 @@ object LivingUseItemEvent {
 
             @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
             fun onStopUsingItem(event: PlayerStopUsingItemEvent) {
+                if (!onUseItemStop.hasHandlers()) return
                 val player = PaperNmsBridge.toNmsPlayer(event.player)
                 val item = PaperNmsBridge.toNmsItemStack(event.item) ?: return
                 val arg = PaperLivingUseItemStopArg(player, item, event.ticksHeldFor)
@@ -16,6 +16,7 @@ import org.bukkit.plugin.java.JavaPlugin
 import top.katton.paper.PaperNmsBridge
 import top.katton.util.createReturnIfNot
 import top.katton.util.createUnit
+import top.katton.util.invokeIfHandled
 
 /**
  * Player interaction events for Paper (Bukkit) platform.
@@ -67,32 +68,28 @@ object PlayerEvent {
                         val item = PaperNmsBridge.toNmsItemStack(event.item)
 
                         if (item != null && !item.isEmpty) {
-                            val useOnResult = onUseItemOn(
-                                UseItemOnArg(item, state, world, pos, player, hand, hitResult)
-                            )
+                            val useOnResult = onUseItemOn.invokeIfHandled { UseItemOnArg(item, state, world, pos, player, hand, hitResult) }
                                 .getOrElse { InteractionResult.PASS }
                             applyInteractionResult(event, useOnResult, applyToBlock = false, applyToItem = true)
                         } else {
-                            val withoutItemResult = onUseWithoutItem(
-                                UseWithoutItemOnArg(state, world, pos, player, hitResult)
-                            ).getOrElse { InteractionResult.PASS }
+                            val withoutItemResult = onUseWithoutItem.invokeIfHandled { UseWithoutItemOnArg(state, world, pos, player, hitResult) }.getOrElse { InteractionResult.PASS }
                             applyInteractionResult(event, withoutItemResult, applyToBlock = true, applyToItem = false)
                         }
 
-                        val blockResult = onBlockInteract(PlayerUseBlockArg(player, world, hand, hitResult))
+                        val blockResult = onBlockInteract.invokeIfHandled { PlayerUseBlockArg(player, world, hand, hitResult) }
                             .getOrElse { InteractionResult.PASS }
                         applyInteractionResult(event, blockResult, applyToBlock = true, applyToItem = false)
                     }
 
                     Action.RIGHT_CLICK_AIR -> {
-                        val result = onItemInteract(PlayerUseItemArg(player, world, hand))
+                        val result = onItemInteract.invokeIfHandled { PlayerUseItemArg(player, world, hand) }
                             .getOrElse { InteractionResult.PASS }
                         applyInteractionResult(event, result, applyToBlock = false, applyToItem = true)
                     }
 
                     Action.LEFT_CLICK_BLOCK -> {
                         val block = event.clickedBlock ?: return
-                        val result = onAttackBlock(
+                        val result = onAttackBlock.invokeIfHandled {
                             PlayerAttackBlockArg(
                                 player,
                                 world,
@@ -100,7 +97,7 @@ object PlayerEvent {
                                 PaperNmsBridge.toNmsBlockPos(block.location),
                                 PaperNmsBridge.toNmsDirection(event.blockFace)
                             )
-                        ).getOrElse { InteractionResult.PASS }
+                        }.getOrElse { InteractionResult.PASS }
                         applyInteractionResult(event, result, applyToBlock = true, applyToItem = false)
                     }
 
@@ -112,7 +109,7 @@ object PlayerEvent {
             fun onInteractEntity(event: PlayerInteractAtEntityEvent) {
                 val player = PaperNmsBridge.toNmsPlayer(event.player)
                 val entity = PaperNmsBridge.toNmsEntity(event.rightClicked)
-                val result = onEntityInteract(
+                val result = onEntityInteract.invokeIfHandled {
                     PlayerUseEntityArg(
                         player,
                         PaperNmsBridge.toNmsLevel(event.player.world),
@@ -120,7 +117,7 @@ object PlayerEvent {
                         entity,
                         PaperNmsBridge.toEntityHitResult(event.rightClicked)
                     )
-                ).getOrElse { InteractionResult.PASS }
+                }.getOrElse { InteractionResult.PASS }
                 if (result != InteractionResult.PASS) {
                     event.isCancelled = true
                 }
@@ -130,7 +127,7 @@ object PlayerEvent {
             fun handleAttackEntity(event: PrePlayerAttackEntityEvent) {
                 val player = PaperNmsBridge.toNmsPlayer(event.player)
                 val target = PaperNmsBridge.toNmsEntity(event.attacked)
-                val result = onAttackEntity(
+                val result = onAttackEntity.invokeIfHandled {
                     PlayerAttackEntityArg(
                         player,
                         PaperNmsBridge.toNmsLevel(event.player.world),
@@ -138,7 +135,7 @@ object PlayerEvent {
                         target,
                         PaperNmsBridge.toEntityHitResult(event.attacked)
                     )
-                ).getOrElse { InteractionResult.PASS }
+                }.getOrElse { InteractionResult.PASS }
                 if (result != InteractionResult.PASS) {
                     event.isCancelled = true
                 }
@@ -149,19 +146,19 @@ object PlayerEvent {
                 if (event.isAttack) {
                     return
                 }
-                onItemInteract(
+                onItemInteract.invokeIfHandled {
                     PlayerUseItemArg(
                         PaperNmsBridge.toNmsPlayer(event.player),
                         PaperNmsBridge.toNmsLevel(event.player.world),
                         PaperNmsBridge.toNmsInteractionHand(event.hand)
                     )
-                )
+                }
             }
 
             @EventHandler
             fun onItemBreak(event: PlayerItemBreakEvent) {
                 val item = PaperNmsBridge.toNmsItemStack(event.brokenItem) ?: return
-                onDestroyItem(PlayerDestroyItemArg(PaperNmsBridge.toNmsPlayer(event.player), item, null))
+                onDestroyItem.invokeIfHandled { PlayerDestroyItemArg(PaperNmsBridge.toNmsPlayer(event.player), item, null) }
             }
         }, plugin)
     }
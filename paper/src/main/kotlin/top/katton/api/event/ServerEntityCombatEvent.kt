@@ -10,6 +10,7 @@ import org.bukkit.plugin.java.JavaPlugin
 import top.katton.paper.PaperNmsBridge
 import top.katton.util.createAll
 import top.katton.util.createUnit
+import top.katton.util.invokeIfHandled
 
 /**
  * Server entity combat events for Paper (Bukkit) platform.
@@ -39,26 +40,26 @@ object ServerEntityCombatEvent {
                     lastDamage.damageSource
                 )
                 val killer = source.entity ?: source.directEntity ?: return
-                onAfterKilledOtherEntity(
+                onAfterKilledOtherEntity.invokeIfHandled {
                     AfterKilledOtherEntityArg(
                         PaperNmsBridge.toNmsLevel(event.entity.world),
                         killer,
                         PaperNmsBridge.toNmsLivingEntity(event.entity),
                         source
                     )
-                )
+                }
             }
 
             @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
             fun onDamageByEntity(event: EntityDamageByEntityEvent) {
                 if (event.damager is org.bukkit.entity.Player) {
-                    onCriticalHit(
+                    onCriticalHit.invokeIfHandled {
                         CriticalHitArg(
                             PaperNmsBridge.toNmsPlayer(event.damager as org.bukkit.entity.Player),
                             PaperNmsBridge.toNmsEntity(event.entity),
                             event.isCritical
                         )
-                    )
+                    }
                 }
 
                 if (event.entity !is org.bukkit.entity.LivingEntity) {
@@ -74,7 +75,7 @@ object ServerEntityCombatEvent {
                     return
                 }
 
-                onShieldBlock(
+                onShieldBlock.invokeIfHandled {
                     ShieldBlockArg(
                         PaperNmsBridge.toNmsLivingEntity(event.entity as org.bukkit.entity.LivingEntity),
                         PaperNmsBridge.toNmsDamageSource(
@@ -84,7 +85,7 @@ object ServerEntityCombatEvent {
                         blockedDamage,
                         true
                     )
-                )
+                }
             }
         }, plugin)
     }
@@ -16,6 +16,7 @@ import org.bukkit.plugin.java.JavaPlugin
 import top.katton.paper.PaperNmsBridge
 import top.katton.util.createCancellableUnit
 import top.katton.util.createUnit
+import top.katton.util.invokeIfHandled
 
 /**
  * Server entity events for Paper (Bukkit) platform.
@@ -54,22 +55,22 @@ object ServerEntityEvent {
         plugin.server.pluginManager.registerEvents(object : Listener {
             @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
             fun onEntityAdd(event: EntityAddToWorldEvent) {
-                onAfterEntityLoad(
+                onAfterEntityLoad.invokeIfHandled {
                     EntityLoadArg(
                         PaperNmsBridge.toNmsEntity(event.entity),
                         PaperNmsBridge.toNmsLevel(event.world)
                     )
-                )
+                }
             }
 
             @EventHandler(priority = EventPriority.MONITOR)
             fun onEntityRemove(event: EntityRemoveFromWorldEvent) {
-                onEntityUnload(
+                onEntityUnload.invokeIfHandled {
                     EntityUnloadArg(
                         PaperNmsBridge.toNmsEntity(event.entity),
                         PaperNmsBridge.toNmsLevel(event.world)
                     )
-                )
+                }
             }
 
             @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
@@ -78,12 +79,13 @@ object ServerEntityEvent {
                 event.equipmentChanges.forEach { (slot, change) ->
                     val oldItem = PaperNmsBridge.toNmsItemStack(change.oldItem()) ?: ItemStack.EMPTY
                     val newItem = PaperNmsBridge.toNmsItemStack(change.newItem()) ?: ItemStack.EMPTY
-                    onEquipmentChange(EquipmentChangeArg(entity, PaperNmsBridge.toNmsEquipmentSlot(slot), oldItem, newItem))
+                    onEquipmentChange.invokeIfHandled { EquipmentChangeArg(entity, PaperNmsBridge.toNmsEquipmentSlot(slot), oldItem, newItem) }
                 }
             }
 
             @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
             fun onTeleport(event: EntityTeleportEvent) {
+                if (!onEntityTeleport.hasHandlers()) return
                 val to = event.to ?: return
                 val arg = EntityTeleportArg(
                     PaperNmsBridge.toNmsEntity(event.entity),
@@ -102,13 +104,13 @@ object ServerEntityEvent {
 
             @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
             fun onPlayerChangedWorld(event: PlayerChangedWorldEvent) {
-                onAfterPlayerChangeLevel(
+                onAfterPlayerChangeLevel.invokeIfHandled {
                     AfterPlayerChangeLevelArg(
                         PaperNmsBridge.toNmsPlayer(event.player),
                         PaperNmsBridge.toNmsLevel(event.from),
                         PaperNmsBridge.toNmsLevel(event.player.world)
                     )
-                )
+                }
             }
 
             @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
@@ -127,19 +129,20 @@ object ServerEntityEvent {
                         return@Runnable
                     }
 
-                    onAfterEntityChangeLevel(
+                    onAfterEntityChangeLevel.invokeIfHandled {
                         AfterEntityChangeLevelArg(
                             original,
                             PaperNmsBridge.toNmsEntity(event.entity),
                             sourceLevel,
                             PaperNmsBridge.toNmsLevel(destinationWorld)
                         )
-                    )
+                    }
                 })
             }
 
             @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
             fun onEndermanAttack(event: EndermanAttackPlayerEvent) {
+                if (!onEndermanAnger.hasHandlers()) return
                 val arg = EndermanAngerArg(
                     PaperNmsBridge.toNmsEntity(event.entity) as net.minecraft.world.entity.monster.EnderMan,
                     PaperNmsBridge.toNmsPlayer(event.player)
@@ -14,7 +14,10 @@ import org.bukkit.event.world.WorldUnloadEvent
 import org.bukkit.plugin.java.JavaPlugin
 import top.katton.network.ServerItemRenderMarkerManager
 import top.katton.paper.PaperNmsBridge
+import top.katton.util.EventBatcher
+import top.katton.util.HandlerBudget
 import top.katton.util.createUnit
+import top.katton.util.invokeIfHandled
 
 /**
  * Server lifecycle events for Paper (Bukkit) platform.
@@ -78,8 +81,8 @@ object ServerEvent {
             @EventHandler
             fun onServerLoad(event: ServerLoadEvent) {
                 if (event.type == ServerLoadEvent.LoadType.STARTUP) {
-                    onServerStarting(ServerArg(PaperNmsBridge.toNmsServer(plugin.server)))
-                    onServerStarted(ServerArg(PaperNmsBridge.toNmsServer(plugin.server)))
+                    onServerStarting.invokeIfHandled { ServerArg(PaperNmsBridge.toNmsServer(plugin.server)) }
+                    onServerStarted.invokeIfHandled { ServerArg(PaperNmsBridge.toNmsServer(plugin.server)) }
                 }
             }
 
@@ -88,43 +91,45 @@ object ServerEvent {
             fun onReloaded(event: ServerResourcesReloadedEvent) {
                 val server = PaperNmsBridge.toNmsServer(plugin.server)
                 val resourceManager = PaperNmsBridge.getResourceManager(server)
-                onStartDatapackReload(StartDatapackReloadArg(server, resourceManager))
-                onEndDatapackReload(EndDatapackReloadArg(server, resourceManager, true))
+                onStartDatapackReload.invokeIfHandled { StartDatapackReloadArg(server, resourceManager) }
+                onEndDatapackReload.invokeIfHandled { EndDatapackReloadArg(server, resourceManager, true) }
             }
 
             @EventHandler
             @Suppress("unused")
             fun onServerTickStart(event: ServerTickStartEvent) {
                 val server = PaperNmsBridge.toNmsServer(plugin.server)
-                onStartServerTick(ServerTickArg(server))
-                server.allLevels.forEach { onStartWorldTick(WorldTickArg(it)) }
+                onStartServerTick.invokeIfHandled { ServerTickArg(server) }
+                server.allLevels.forEach { onStartWorldTick.invokeIfHandled { WorldTickArg(it) } }
             }
 
             @EventHandler
             @Suppress("unused")
             fun onServerTickEnd(event: ServerTickEndEvent) {
                 val server = PaperNmsBridge.toNmsServer(plugin.server)
-                server.allLevels.forEach { onEndWorldTick(WorldTickArg(it)) }
+                server.allLevels.forEach { onEndWorldTick.invokeIfHandled { WorldTickArg(it) } }
                 ServerItemRenderMarkerManager.tick()
-                onEndServerTick(ServerTickArg(server))
+                onEndServerTick.invokeIfHandled { ServerTickArg(server) }
+                EventBatcher.flush()
+                HandlerBudget.endTick()
             }
 
             @EventHandler
             fun onWorldLoad(event: WorldLoadEvent) {
-                onLevelLoad(ServerLevelArg(PaperNmsBridge.toNmsLevel(event.world)))
+                onLevelLoad.invokeIfHandled { ServerLevelArg(PaperNmsBridge.toNmsLevel(event.world)) }
             }
 
             @EventHandler
             fun onWorldUnload(event: WorldUnloadEvent) {
-                onLevelUnload(ServerLevelArg(PaperNmsBridge.toNmsLevel(event.world)))
+                onLevelUnload.invokeIfHandled { ServerLevelArg(PaperNmsBridge.toNmsLevel(event.world)) }
             }
 
             @EventHandler
             fun onWorldSave(event: WorldSaveEvent) {
                 val server = PaperNmsBridge.toNmsServer(plugin.server)
-                onBeforeSave(ServerSaveArg(server, false, false))
-                onLevelSave(ServerLevelArg(PaperNmsBridge.toNmsLevel(event.world)))
-                onAfterSave(ServerSaveArg(server, false, false))
+                onBeforeSave.invokeIfHandled { ServerSaveArg(server, false, false) }
+                onLevelSave.invokeIfHandled { ServerLevelArg(PaperNmsBridge.toNmsLevel(event.world)) }
+                onAfterSave.invokeIfHandled { ServerSaveArg(server, false, false) }
             }
         }, plugin)
     }
@@ -134,6 +139,6 @@ object ServerEvent {
 
     @JvmStatic
     fun onDisable(server: MinecraftServer) {
-        onServerStopping(ServerArg(server))
+        onServerStopping.invokeIfHandled { ServerArg(server) }
     }
 }
@@ -12,6 +12,7 @@ import top.katton.paper.PaperNmsBridge
 import top.katton.util.createAll
 import top.katton.util.createCancellableUnit
 import top.katton.util.createUnit
+import top.katton.util.invokeIfHandled
 
 /**
  * Server living entity events for Paper (Bukkit) platform.
@@ -58,13 +59,13 @@ object ServerLivingEntityEvent {
                 )
                 onLivingHurt(hurtArg)
 
-                val allowDamage = onAllowDamage(
+                val allowDamage = onAllowDamage.invokeIfHandled {
                     AllowDamageArg(
                         PaperNmsBridge.toNmsLivingEntity(living),
                         source,
                         event.damage.toFloat()
                     )
-                ).getOrElse { true }
+                }.getOrElse { true }
 
                 if (hurtArg.isCancelled() || !allowDamage) {
                     event.isCancelled = true
@@ -72,6 +73,7 @@ object ServerLivingEntityEvent {
                 }
 
                 if (event.cause == EntityDamageEvent.DamageCause.FALL) {
+                    if (!onLivingFall.hasHandlers()) return
                     val fallArg = LivingFallArg(
                         PaperNmsBridge.toNmsLivingEntity(living),
                         living.fallDistance.toDouble(),
@@ -87,7 +89,7 @@ object ServerLivingEntityEvent {
             @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
             fun handleAfterDamage(event: EntityDamageEvent) {
                 val living = event.entity as? org.bukkit.entity.LivingEntity ?: return
-                onAfterDamage(
+                onAfterDamage.invokeIfHandled {
                     AfterDamageArg(
                         PaperNmsBridge.toNmsLivingEntity(living),
                         PaperNmsBridge.toNmsDamageSource(
@@ -98,7 +100,7 @@ object ServerLivingEntityEvent {
                         event.finalDamage.toFloat(),
                         true
                     )
-                )
+                }
             }
 
             @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
@@ -108,13 +110,13 @@ object ServerLivingEntityEvent {
                     PaperNmsBridge.toNmsServer(plugin.server),
                     event.damageSource
                 )
-                val allow = onAllowDeath(
+                val allow = onAllowDeath.invokeIfHandled {
                     AllowDeathArg(
                         PaperNmsBridge.toNmsLivingEntity(event.entity),
                         source,
                         lastDamage?.damage?.toFloat() ?: 0f
                     )
-                ).getOrElse { true }
+                }.getOrElse { true }
                 if (!allow) {
                     event.isCancelled = true
                 }
@@ -122,7 +124,7 @@ object ServerLivingEntityEvent {
 
             @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
             fun handleAfterDeath(event: EntityDeathEvent) {
-                onAfterDeath(
+                onAfterDeath.invokeIfHandled {
                     AfterDeathArg(
                         PaperNmsBridge.toNmsLivingEntity(event.entity),
                         PaperNmsBridge.toNmsDamageSource(
@@ -130,14 +132,14 @@ object ServerLivingEntityEvent {
                             event.damageSource
                         )
                     )
-                )
+                }
             }
 
             @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
             fun handleTransform(event: EntityTransformEvent) {
                 val oldEntity = PaperNmsBridge.toNmsEntity(event.entity) as? Mob ?: return
                 val newEntity = PaperNmsBridge.toNmsEntity(event.transformedEntity) as? Mob ?: return
-                onMobConversion(MobConversionArg(oldEntity, newEntity, null))
+                onMobConversion.invokeIfHandled { MobConversionArg(oldEntity, newEntity, null) }
             }
         }, plugin)
     }
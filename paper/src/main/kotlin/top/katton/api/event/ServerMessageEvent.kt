@@ -14,6 +14,7 @@ import top.katton.paper.PaperNmsBridge
 import top.katton.util.createAll
 import top.katton.util.createCancellableUnit
 import top.katton.util.createUnit
+import top.katton.util.invokeIfHandled
 
 /**
  * Server message events for Paper (Bukkit) platform.
@@ -59,14 +60,16 @@ object ServerMessageEvent {
                 }
 
                 val plainText = PlainTextComponentSerializer.plainText().serialize(event.message())
-                val chatArg = ServerChatArg(player, plainText, PaperNmsBridge.toNmsComponent(plainText))
-                onServerChat(chatArg)
-                if (chatArg.isCancelled()) {
-                    event.isCancelled = true
-                    return
+                if (onServerChat.hasHandlers()) {
+                    val chatArg = ServerChatArg(player, plainText, PaperNmsBridge.toNmsComponent(plainText))
+                    onServerChat(chatArg)
+                    if (chatArg.isCancelled()) {
+                        event.isCancelled = true
+                        return
+                    }
                 }
 
-                onChatMessage(ChatMessageArg(chatMessage, player, chatTypeBound))
+                onChatMessage.invokeIfHandled { ChatMessageArg(chatMessage, player, chatTypeBound) }
             }
 
             @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
@@ -79,7 +82,7 @@ object ServerMessageEvent {
                     event.isCancelled = true
                     return
                 }
-                onGameMessage(GameMessageArg(server, component, false))
+                onGameMessage.invokeIfHandled { GameMessageArg(server, component, false) }
             }
 
             @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
@@ -93,7 +96,7 @@ object ServerMessageEvent {
                     event.isCancelled = true
                     return
                 }
-                onCommandMessage(CommandMessageArg(chatMessage, source, chatTypeBound))
+                onCommandMessage.invokeIfHandled { CommandMessageArg(chatMessage, source, chatTypeBound) }
             }
 
             @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
@@ -107,7 +110,7 @@ object ServerMessageEvent {
                     event.isCancelled = true
                     return
                 }
-                onCommandMessage(CommandMessageArg(chatMessage, source, chatTypeBound))
+                onCommandMessage.invokeIfHandled { CommandMessageArg(chatMessage, source, chatTypeBound) }
             }
 
             @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
@@ -121,7 +124,7 @@ object ServerMessageEvent {
                     event.isCancelled = true
                     return
                 }
-                onCommandMessage(CommandMessageArg(chatMessage, source, chatTypeBound))
+                onCommandMessage.invokeIfHandled { CommandMessageArg(chatMessage, source, chatTypeBound) }
             }
         }, plugin)
     }
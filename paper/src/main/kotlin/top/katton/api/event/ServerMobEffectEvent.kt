@@ -8,6 +8,7 @@ import org.bukkit.plugin.java.JavaPlugin
 import top.katton.paper.PaperNmsBridge
 import top.katton.util.createAll
 import top.katton.util.createUnit
+import top.katton.util.invokeIfHandled
 
 /**
  * Server mob effect events for Paper (Bukkit) platform.
@@ -47,22 +48,22 @@ object ServerMobEffectEvent {
                 when (event.action) {
                     EntityPotionEffectEvent.Action.ADDED,
                     EntityPotionEffectEvent.Action.CHANGED -> {
-                        val allow = onAllowAdd(MobEffectAllowAddArg(entity, effect)).getOrElse { true }
+                        val allow = onAllowAdd.invokeIfHandled { MobEffectAllowAddArg(entity, effect) }.getOrElse { true }
                         if (!allow) {
                             event.isCancelled = true
                             return
                         }
-                        onBeforeAdd(MobEffectAddArg(entity, effect))
+                        onBeforeAdd.invokeIfHandled { MobEffectAddArg(entity, effect) }
                     }
 
                     EntityPotionEffectEvent.Action.CLEARED,
                     EntityPotionEffectEvent.Action.REMOVED -> {
-                        val allow = onAllowEarlyRemove(MobEffectAllowEarlyRemoveArg(entity, effect)).getOrElse { true }
+                        val allow = onAllowEarlyRemove.invokeIfHandled { MobEffectAllowEarlyRemoveArg(entity, effect) }.getOrElse { true }
                         if (!allow) {
                             event.isCancelled = true
                             return
                         }
-                        onBeforeRemove(MobEffectBeforeRemoveArg(entity, effect))
+                        onBeforeRemove.invokeIfHandled { MobEffectBeforeRemoveArg(entity, effect) }
                     }
                 }
             }
@@ -75,9 +76,9 @@ object ServerMobEffectEvent {
 
                 when (event.action) {
                     EntityPotionEffectEvent.Action.ADDED,
-                    EntityPotionEffectEvent.Action.CHANGED -> onAfterAdd(MobEffectAddArg(entity, effect))
+                    EntityPotionEffectEvent.Action.CHANGED -> onAfterAdd.invokeIfHandled { MobEffectAddArg(entity, effect) }
                     EntityPotionEffectEvent.Action.CLEARED,
-                    EntityPotionEffectEvent.Action.REMOVED -> onAfterRemove(MobEffectAfterRemoveArg(entity, effect))
+                    EntityPotionEffectEvent.Action.REMOVED -> onAfterRemove.invokeIfHandled { MobEffectAfterRemoveArg(entity, effect) }
                 }
             }
         }, plugin)
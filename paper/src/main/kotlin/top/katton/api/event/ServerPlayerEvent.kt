@@ -20,6 +20,7 @@ import top.katton.paper.PaperNmsBridge
 import top.katton.util.createCancellableUnit
 import top.katton.util.createFirstNotNullOfOrNull
 import top.katton.util.createUnit
+import top.katton.util.invokeIfHandled
 
 /**
  * Server player events for Paper (Bukkit) platform.
@@ -111,28 +112,29 @@ object ServerPlayerEvent {
 
             @EventHandler
             fun onJoin(event: PlayerJoinEvent) {
-                onPlayerJoin(PlayerArg(PaperNmsBridge.toNmsPlayer(event.player)))
+                onPlayerJoin.invokeIfHandled { PlayerArg(PaperNmsBridge.toNmsPlayer(event.player)) }
             }
 
             @EventHandler
             fun onQuit(event: PlayerQuitEvent) {
-                onPlayerLeave(PlayerArg(PaperNmsBridge.toNmsPlayer(event.player)))
+                onPlayerLeave.invokeIfHandled { PlayerArg(PaperNmsBridge.toNmsPlayer(event.player)) }
             }
 
             @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
             fun onRespawn(event: PlayerPostRespawnEvent) {
                 val player = PaperNmsBridge.toNmsPlayer(event.player)
-                onAfterPlayerRespawn(ServerPlayerAfterRespawnArg(player, player, false))
+                onAfterPlayerRespawn.invokeIfHandled { ServerPlayerAfterRespawnArg(player, player, false) }
             }
 
             @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
             fun onPlayerCopy(event: PlayerRespawnEvent) {
                 val player = PaperNmsBridge.toNmsPlayer(event.player)
-                onPlayerCopy(ServerPlayerCopyArg(player, player, true))
+                onPlayerCopy.invokeIfHandled { ServerPlayerCopyArg(player, player, true) }
             }
 
             @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
             fun onExpChange(event: PlayerExpChangeEvent) {
+                if (!onPlayerXpChange.hasHandlers()) return
                 val arg = PlayerXpChangeArg(PaperNmsBridge.toNmsPlayer(event.player), event.amount)
                 onPlayerXpChange(arg)
                 if (arg.isCancelled()) {
@@ -142,6 +144,7 @@ object ServerPlayerEvent {
 
             @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
             fun onLevelChange(event: PlayerLevelChangeEvent) {
+                if (!onPlayerXpLevelChange.hasHandlers()) return
                 val arg = PlayerXpLevelChangeArg(
                     PaperNmsBridge.toNmsPlayer(event.player),
                     event.newLevel - event.oldLevel
@@ -151,6 +154,7 @@ object ServerPlayerEvent {
 
             @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
             fun onPickupXp(event: PlayerPickupExperienceEvent) {
+                if (!onPlayerPickupXp.hasHandlers()) return
                 val arg = PlayerPickupXpArg(
                     PaperNmsBridge.toNmsPlayer(event.player),
                     PaperNmsBridge.toNmsExpOrb(event.experienceOrb)
@@ -166,18 +170,14 @@ object ServerPlayerEvent {
                 val player = PaperNmsBridge.toNmsPlayer(event.player)
                 val pos = PaperNmsBridge.toNmsBlockPos(event.block.location)
                 val state = PaperNmsBridge.toNmsWorld(event.player.world).getBlockState(pos)
-                onPickFromBlock(
-                    PlayerPickFromBlockArg(player, pos, state, event.isIncludeData)
-                )
+                onPickFromBlock.invokeIfHandled { PlayerPickFromBlockArg(player, pos, state, event.isIncludeData) }
             }
 
             @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
             fun onPickEntity(event: PlayerPickEntityEvent) {
                 val player = PaperNmsBridge.toNmsPlayer(event.player)
                 val entity = PaperNmsBridge.toNmsEntity(event.entity)
-                onPickFromEntity(
-                    PlayerPickFromEntityArg(player, entity, event.isIncludeData)
-                )
+                onPickFromEntity.invokeIfHandled { PlayerPickFromEntityArg(player, entity, event.isIncludeData) }
             }
 
             @EventHandler(priority = EventPriority.MONITOR)
@@ -7,6 +7,7 @@ import org.bukkit.plugin.EventExecutor
 import org.bukkit.plugin.java.JavaPlugin
 import org.slf4j.LoggerFactory
 import top.katton.pack.ScriptPackScope
+import top.katton.util.ScriptContext
 import top.katton.util.ScriptExecutionContext
 
 /**
@@ -44,15 +45,14 @@ object PaperManagedEvents {
                 handler: (Any) -> Unit
             ): ManagedEventHandle {
                 val id = nextId++
+                val context = ScriptContext(owner, scope)
 
                 val listener = object : org.bukkit.event.Listener {}
 
                 val executor = EventExecutor { _, event ->
                     try {
-                        ScriptExecutionContext.withScope(scope) {
-                            ScriptExecutionContext.withOwner(owner) {
-                                handler(event)
-                            }
+                        ScriptExecutionContext.withContext(context) {
+                            handler(event)
                         }
                     } catch (t: Throwable) {
                         LOGGER.warn("Managed Paper event handler failed for {}", owner, t)